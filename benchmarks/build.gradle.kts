@@ -0,0 +1,33 @@
+plugins {
+    `java-library`
+}
+
+dependencies {
+    implementation(project(":darklaf-core"))
+    implementation(project(":darklaf-theme"))
+    implementation(project(":darklaf-property-loader"))
+    implementation("com.formdev:svgSalamander")
+    implementation("org.openjdk.jmh:jmh-core")
+    annotationProcessor(platform(project(":darklaf-dependencies-bom")))
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess")
+}
+
+val jmhResults = layout.buildDirectory.file("reports/jmh/results.json")
+
+val jmh by tasks.registering(JavaExec::class) {
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    description = "Runs the JMH benchmarks. Benchmarks can be filtered using -PjmhInclude=<regex>. " +
+        "Additional JMH options can be passed using -PjmhArgs=\"<options>\""
+
+    main = "org.openjdk.jmh.Main"
+    classpath(sourceSets.main.map { it.runtimeClasspath })
+    outputs.file(jmhResults)
+    outputs.upToDateWhen { false }
+    doFirst {
+        jmhResults.get().asFile.parentFile.mkdirs()
+    }
+    project.findProperty("jmhInclude")?.let { args(it) }
+    project.findProperty("jmhArgs")?.let { args(it.toString().trim().split(Regex("\\s+"))) }
+    args("-rf", "json", "-rff", jmhResults.get().asFile)
+    systemProperty("java.awt.headless", "true")
+}
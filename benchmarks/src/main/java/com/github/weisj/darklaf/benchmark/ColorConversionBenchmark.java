@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.darklaf.color.ColorConversion;
+import com.github.weisj.darklaf.color.DarkColorModel;
+import com.github.weisj.darklaf.color.DarkColorModelCMYK;
+import com.github.weisj.darklaf.color.DarkColorModelHSB;
+import com.github.weisj.darklaf.color.DarkColorModelHSL;
+
+/**
+ * Compares converting colors through {@link Color} objects and the value arrays of the color models with the primitive
+ * conversions of {@link ColorConversion}. Each invocation converts a batch of colors there and back.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ColorConversionBenchmark {
+
+    private static final int COLOR_COUNT = 1024;
+
+    @Param({"HSB", "HSL", "CMYK"})
+    public String space;
+
+    private DarkColorModel model;
+    private int[] rgb;
+    private Color[] colors;
+    private int[] values;
+    private double[] components;
+    private int[] result;
+
+    @Setup
+    public void setup() {
+        switch (space) {
+            case "HSB":
+                model = DarkColorModelHSB.getInstance();
+                break;
+            case "HSL":
+                model = DarkColorModelHSL.getInstance();
+                break;
+            case "CMYK":
+                model = DarkColorModelCMYK.getInstance();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown color space " + space);
+        }
+        Random random = new Random(0);
+        rgb = new int[COLOR_COUNT];
+        colors = new Color[COLOR_COUNT];
+        for (int i = 0; i < COLOR_COUNT; i++) {
+            rgb[i] = random.nextInt() | 0xFF000000;
+            colors[i] = new Color(rgb[i]);
+        }
+        values = new int[model.getCount()];
+        components = new double[COLOR_COUNT * model.getCount()];
+        result = new int[COLOR_COUNT];
+    }
+
+    @Benchmark
+    public void modelColor(final Blackhole blackhole) {
+        for (Color color : colors) {
+            blackhole.consume(model.getColorFromValues(model.getValuesFromColor(color)));
+        }
+    }
+
+    @Benchmark
+    public void modelRGB(final Blackhole blackhole) {
+        for (int color : rgb) {
+            blackhole.consume(model.getRGBFromValues(model.getValuesFromRGB(color, values)));
+        }
+    }
+
+    @Benchmark
+    public int[] batch() {
+        switch (space) {
+            case "HSB":
+                ColorConversion.rgbToHSB(rgb, 0, components, 0, COLOR_COUNT);
+                ColorConversion.hsbToRGB(components, 0, result, 0, COLOR_COUNT);
+                break;
+            case "HSL":
+                ColorConversion.rgbToHSL(rgb, 0, components, 0, COLOR_COUNT);
+                ColorConversion.hslToRGB(components, 0, result, 0, COLOR_COUNT);
+                break;
+            default:
+                ColorConversion.rgbToCMYK(rgb, 0, components, 0, COLOR_COUNT);
+                ColorConversion.cmykToRGB(components, 0, result, 0, COLOR_COUNT);
+                break;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.tree.DefaultMutableTreeNode;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.LafManager;
+
+/**
+ * Measures painting whole components into a {@link BufferedImage} of several sizes. The components contain enough
+ * data to fill the largest size.
+ * <p>
+ * Painting happens on the event dispatch thread, hence the measured time includes handing off to it.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ComponentPaintBenchmark {
+
+    private static final int ROW_COUNT = 200;
+    private static final int COLUMN_COUNT = 8;
+    private static final int TAB_COUNT = 20;
+
+    @Param({"list", "tree", "table", "tabbedPane"})
+    public String component;
+
+    @Param({"320x240", "800x600", "1920x1080"})
+    public String size;
+
+    private final Runnable paintTask = this::paintTarget;
+    private JComponent target;
+    private BufferedImage image;
+
+    @Setup
+    public void setup() throws Exception {
+        int separator = size.indexOf('x');
+        int width = Integer.parseInt(size.substring(0, separator));
+        int height = Integer.parseInt(size.substring(separator + 1));
+        SwingUtilities.invokeAndWait(() -> {
+            LafManager.install();
+            target = createComponent(component);
+            target.setSize(width, height);
+            layout(target);
+        });
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static JComponent createComponent(final String name) {
+        switch (name) {
+            case "list" :
+                DefaultListModel<String> listModel = new DefaultListModel<>();
+                for (int i = 0; i < ROW_COUNT; i++) {
+                    listModel.addElement("Item " + i);
+                }
+                JList<String> list = new JList<>(listModel);
+                list.setSelectionInterval(2, 4);
+                return list;
+            case "tree" :
+                DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+                for (int i = 0; i < ROW_COUNT / 10; i++) {
+                    DefaultMutableTreeNode node = new DefaultMutableTreeNode("Node " + i);
+                    for (int j = 0; j < 10; j++) {
+                        node.add(new DefaultMutableTreeNode("Leaf " + j));
+                    }
+                    root.add(node);
+                }
+                JTree tree = new JTree(root);
+                for (int row = 0; row < tree.getRowCount(); row++) {
+                    tree.expandRow(row);
+                }
+                tree.setSelectionRow(3);
+                return tree;
+            case "table" :
+                DefaultTableModel tableModel = new DefaultTableModel(ROW_COUNT, COLUMN_COUNT);
+                for (int row = 0; row < ROW_COUNT; row++) {
+                    for (int column = 0; column < COLUMN_COUNT; column++) {
+                        tableModel.setValueAt(row * COLUMN_COUNT + column, row, column);
+                    }
+                }
+                JTable table = new JTable(tableModel);
+                table.setRowSelectionInterval(2, 4);
+                return table;
+            case "tabbedPane" :
+                JTabbedPane tabbedPane = new JTabbedPane();
+                for (int i = 0; i < TAB_COUNT; i++) {
+                    tabbedPane.addTab("Tab " + i, new JLabel("Content " + i));
+                }
+                return tabbedPane;
+            default :
+                throw new IllegalArgumentException("Unknown component " + name);
+        }
+    }
+
+    private static void layout(final Container c) {
+        c.doLayout();
+        for (Component child : c.getComponents()) {
+            if (child instanceof Container) layout((Container) child);
+        }
+    }
+
+    @Benchmark
+    public BufferedImage paint() throws Exception {
+        SwingUtilities.invokeAndWait(paintTask);
+        return image;
+    }
+
+    private void paintTarget() {
+        Graphics2D g = image.createGraphics();
+        g.setClip(0, 0, image.getWidth(), image.getHeight());
+        target.paint(g);
+        g.dispose();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.icons.DarkSVGIcon;
+import com.github.weisj.darklaf.icons.IconLoader;
+import com.kitfox.svg.app.beans.SVGIcon;
+
+/**
+ * Measures loading the same set of svg icons in several sizes. The auxiliary counters {@code iconRequests} and
+ * {@code svgLoads} report the number of requested icons and the number of svg documents which had to be loaded for
+ * them. Ideally every path is only loaded once regardless of the number of requested sizes.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class IconLoaderBenchmark {
+
+    private static final String[] ICONS = {"icons/navigation/add.svg", "icons/navigation/arrowLeft.svg",
+                                           "icons/navigation/horizontalGrip.svg", "icons/frame/help.svg",
+                                           "icons/frame/minimize.svg", "icons/frame/maximize.svg",
+                                           "icons/dialog/errorDialog.svg", "icons/dialog/warningDialog.svg"};
+    private static final int[] SIZES = {12, 16, 20, 24, 32};
+
+    @Param({"false", "true"})
+    public boolean themed;
+
+    private IconLoader loader;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LoadCounter {
+        public long iconRequests;
+        public long svgLoads;
+    }
+
+    @Setup
+    public void setup() {
+        loader = IconLoader.get(DarkLaf.class);
+    }
+
+    @Benchmark
+    public Icon loadMixedSizes(final LoadCounter counter) {
+        loader.clearCache();
+        Set<SVGIcon> loaded = Collections.newSetFromMap(new IdentityHashMap<>());
+        Icon icon = null;
+        for (int size : SIZES) {
+            for (String path : ICONS) {
+                icon = loader.getIcon(path, size, size, themed);
+                if (icon instanceof DarkSVGIcon) {
+                    loaded.add(((DarkSVGIcon) icon).getSVGIcon());
+                }
+            }
+        }
+        counter.iconRequests += ICONS.length * SIZES.length;
+        counter.svgLoads += loaded.size();
+        return icon;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.plaf.metal.MetalLookAndFeel;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.task.ThemeDefaultsInitTask;
+import com.github.weisj.darklaf.theme.Theme;
+
+/**
+ * Measures parsing all bundled property files of a theme. Precompiled snapshots are disabled, so every iteration
+ * goes through {@link com.github.weisj.darklaf.PropertyLoader}.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PropertyLoaderBenchmark {
+
+    @Param({"DarculaTheme", "IntelliJTheme", "OneDarkTheme", "SolarizedDarkTheme", "SolarizedLightTheme",
+            "HighContrastDarkTheme", "HighContrastLightTheme"})
+    public String themeName;
+
+    private Theme theme;
+    private UIDefaults baseDefaults;
+    private ThemeDefaultsInitTask task;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        System.setProperty(ThemeDefaultsInitTask.SNAPSHOT_FLAG, "false");
+        theme = (Theme) Class.forName(Theme.class.getPackage().getName() + "." + themeName)
+                             .getDeclaredConstructor().newInstance();
+        baseDefaults = new MetalLookAndFeel().getDefaults();
+        task = new ThemeDefaultsInitTask();
+    }
+
+    @Benchmark
+    public UIDefaults loadThemeDefaults() {
+        UIDefaults defaults = new UIDefaults(baseDefaults.size(), 0.75f);
+        defaults.putAll(baseDefaults);
+        task.run(theme, defaults);
+        return defaults;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.icons.DarkSVGIcon;
+import com.github.weisj.darklaf.icons.IconLoader;
+
+/**
+ * Measures rasterizing already loaded svg icons at several sizes. The raster cache is bypassed, so every invocation
+ * renders the svg document.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SVGIconRasterBenchmark {
+
+    @Param({"icons/navigation/add.svg", "icons/frame/help.svg", "icons/dialog/errorDialog.svg"})
+    public String path;
+
+    @Param({"16", "32", "64", "128"})
+    public int size;
+
+    private DarkSVGIcon icon;
+    private Dimension dimension;
+
+    @Setup
+    public void setup() {
+        icon = (DarkSVGIcon) IconLoader.get(DarkLaf.class).getIcon(path, size, size);
+        icon.getSVGIcon();
+        dimension = new Dimension(size, size);
+    }
+
+    @Benchmark
+    public Image rasterize() {
+        return icon.createImage(dimension);
+    }
+}
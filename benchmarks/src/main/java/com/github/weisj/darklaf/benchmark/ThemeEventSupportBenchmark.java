@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.event.ThemeChangeEvent;
+import com.github.weisj.darklaf.theme.event.ThemeChangeListener;
+import com.github.weisj.darklaf.theme.event.ThemeEventSupport;
+
+/**
+ * Measures dispatching a theme event to many listeners using {@link ThemeEventSupport} and compares it with iterating a
+ * synchronized list, which was used before. Additionally measures adding and removing a listener while many listeners
+ * are registered.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ThemeEventSupportBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    public int listenerCount;
+
+    @Param({"false", "true"})
+    public boolean weak;
+
+    private ThemeEventSupport<ThemeChangeEvent, ThemeChangeListener> eventSupport;
+    private List<ThemeChangeListener> synchronizedList;
+    // Strong references to the listeners, which are needed by the weak listeners.
+    private List<ThemeChangeListener> listeners;
+    private ThemeChangeListener extraListener;
+    private ThemeChangeEvent event;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        eventSupport = new ThemeEventSupport<>();
+        synchronizedList = Collections.synchronizedList(new ArrayList<>());
+        listeners = new ArrayList<>(listenerCount);
+        for (int i = 0; i < listenerCount; i++) {
+            ThemeChangeListener listener = new ConsumingListener(blackhole);
+            listeners.add(listener);
+            synchronizedList.add(listener);
+            if (weak) {
+                eventSupport.addWeakListener(listener, i % 3);
+            } else {
+                eventSupport.addListener(listener, i % 3);
+            }
+        }
+        extraListener = new ConsumingListener(blackhole);
+        event = new ThemeChangeEvent(null, new DarculaTheme());
+    }
+
+    @Benchmark
+    public void dispatch() {
+        eventSupport.dispatchEvent(event, ThemeChangeListener::themeInstalled);
+    }
+
+    @Benchmark
+    public void dispatchSynchronizedList() {
+        for (ThemeChangeListener listener : synchronizedList) {
+            if (listener != null) listener.themeInstalled(event);
+        }
+    }
+
+    @Benchmark
+    public void addAndRemove() {
+        eventSupport.addListener(extraListener);
+        eventSupport.removeListener(extraListener);
+    }
+
+    private static final class ConsumingListener implements ThemeChangeListener {
+
+        private final Blackhole blackhole;
+
+        private ConsumingListener(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void themeChanged(final ThemeChangeEvent e) {
+            blackhole.consume(e);
+        }
+
+        @Override
+        public void themeInstalled(final ThemeChangeEvent e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.Theme;
+
+/**
+ * Measures installing a theme and switching between themes. Switching updates the ui of a small component hierarchy
+ * which contains one component of each commonly used type.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ThemeInstallBenchmark {
+
+    @Param({"IntelliJTheme", "OneDarkTheme", "SolarizedLightTheme", "HighContrastDarkTheme"})
+    public String themeName;
+
+    private Theme theme;
+    private Theme otherTheme;
+    private JComponent content;
+
+    @Setup
+    public void setup() throws Exception {
+        theme = (Theme) Class.forName(Theme.class.getPackage().getName() + "." + themeName)
+                             .getDeclaredConstructor().newInstance();
+        otherTheme = new DarculaTheme();
+        SwingUtilities.invokeAndWait(() -> {
+            LafManager.install(otherTheme);
+            content = createContent();
+        });
+    }
+
+    private static JComponent createContent() {
+        JPanel panel = new JPanel(new GridLayout(0, 4));
+        panel.add(new JButton("Button"));
+        panel.add(new JCheckBox("CheckBox"));
+        panel.add(new JRadioButton("RadioButton"));
+        panel.add(new JToggleButton("ToggleButton"));
+        panel.add(new JTextField("TextField"));
+        panel.add(new JPasswordField("PasswordField"));
+        panel.add(new JComboBox<>(new String[] {"A", "B", "C"}));
+        panel.add(new JSpinner());
+        panel.add(new JSlider());
+        panel.add(new JProgressBar());
+        panel.add(new JScrollPane(new JList<>(new String[] {"A", "B", "C"})));
+        panel.add(new JScrollPane(new JTree()));
+        panel.add(new JScrollPane(new JTable(10, 4)));
+        panel.add(new JScrollPane(new JTextArea("TextArea")));
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.addTab("Tab 1", new JLabel("Label"));
+        tabbedPane.addTab("Tab 2", new JLabel("Label"));
+        panel.add(tabbedPane);
+        panel.add(new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, new JLabel("Left"), new JLabel("Right")));
+        return panel;
+    }
+
+    /*
+     * Uses a fresh copy of the theme to ensure all properties are loaded again.
+     */
+    @Benchmark
+    public Theme installTheme() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            LafManager.setTheme(theme.copy());
+            LafManager.install();
+        });
+        return LafManager.getTheme();
+    }
+
+    @Benchmark
+    public JComponent switchTheme() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            LafManager.installTheme(LafManager.getTheme() == theme ? otherTheme : theme);
+            SwingUtilities.updateComponentTreeUI(content);
+        });
+        return content;
+    }
+}
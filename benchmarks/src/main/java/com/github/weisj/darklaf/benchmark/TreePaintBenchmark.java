@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.LafManager;
+
+/**
+ * Measures painting a fixed size viewport of fully expanded trees of increasing size. The time per paint should not
+ * depend on the size of the tree.
+ * <p>
+ * Painting happens on the event dispatch thread, hence the measured time includes handing off to it.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TreePaintBenchmark {
+
+    private static final int CHILD_COUNT = 100;
+    private static final int VIEWPORT_WIDTH = 400;
+    private static final int VIEWPORT_HEIGHT = 600;
+
+    @Param({"1000", "10000", "100000", "200000"})
+    public int nodeCount;
+
+    private final Runnable paintTask = this::paintTree;
+    private JTree tree;
+    private BufferedImage image;
+    private Rectangle clip;
+
+    @Setup
+    public void setup() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            LafManager.install();
+            DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+            DefaultMutableTreeNode parent = null;
+            for (int i = 0; i < nodeCount; i++) {
+                if (i % CHILD_COUNT == 0) {
+                    parent = new DefaultMutableTreeNode("Node " + i);
+                    root.add(parent);
+                }
+                parent.add(new DefaultMutableTreeNode("Leaf " + i));
+            }
+            tree = new JTree(new DefaultTreeModel(root));
+            for (int row = 0; row < tree.getRowCount(); row++) {
+                tree.expandRow(row);
+            }
+            tree.setSize(tree.getPreferredSize());
+            tree.doLayout();
+            // Paint the middle of the tree.
+            clip = new Rectangle(0, tree.getHeight() / 2, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        });
+        image = new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Benchmark
+    public BufferedImage paintViewport() throws Exception {
+        SwingUtilities.invokeAndWait(paintTask);
+        return image;
+    }
+
+    private void paintTree() {
+        Graphics2D g = image.createGraphics();
+        g.translate(-clip.x, -clip.y);
+        g.setClip(clip);
+        tree.paint(g);
+        g.dispose();
+    }
+}
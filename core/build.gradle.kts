@@ -22,9 +22,52 @@ dependencies {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("performance")
+    }
+    workingDir = File(project.rootDir, "build/test_results")
+    workingDir.mkdirs()
+}
+
+val paintPerformanceTest by tasks.registering(Test::class) {
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    description = "Measures the paint cost of the ui delegates and compares it against the committed baseline"
+
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("performance")
+    }
     workingDir = File(project.rootDir, "build/test_results")
     workingDir.mkdirs()
+    // Run with -Ddarklaf.updatePaintBaseline to replace the committed baseline with the current results
+    systemProperty(
+        "darklaf.paintBaseline",
+        System.getProperty("darklaf.paintBaseline")
+            ?: file("src/test/resources/paint_performance/baseline.properties").absolutePath
+    )
+    for (name in listOf("darklaf.updatePaintBaseline", "darklaf.paintRegressionThreshold")) {
+        System.getProperty(name)?.let { systemProperty(name, it) }
+    }
+}
+
+val generateThemeSnapshots by tasks.registering(JavaExec::class) {
+    group = LifecycleBasePlugin.BUILD_GROUP
+    description = "Precompiles the defaults of the bundled themes into binary snapshots"
+
+    val outputDir = File(buildDir, "generated/snapshots")
+    inputs.files(sourceSets.main.map { it.runtimeClasspath })
+    outputs.dir(outputDir)
+    doFirst { outputDir.deleteRecursively() }
+
+    main = "com.github.weisj.darklaf.ThemeSnapshotGenerator"
+    classpath(sourceSets.main.map { it.runtimeClasspath })
+    args(outputDir.absolutePath)
+    systemProperty("java.awt.headless", "true")
+}
+
+tasks.jar {
+    from(generateThemeSnapshots)
 }
 
 val makeDocumentation by tasks.registering(JavaExec::class) {
@@ -24,6 +24,7 @@
  */
 package com.github.weisj.darklaf;
 
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,16 +48,18 @@ public class DarkLaf extends BasicLookAndFeel {
     public static final String SYSTEM_PROPERTY_PREFIX = "darklaf.";
     public static final String ALLOW_NATIVE_CODE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "allowNativeCode";
     private static final Logger LOGGER = LogUtil.getLogger(DarkLaf.class);
+    private static final ThemeDefaultsInitTask THEME_DEFAULTS_TASK = new ThemeDefaultsInitTask();
+    private static final UtilityDefaultsInitTask UTILITY_DEFAULTS_TASK = new UtilityDefaultsInitTask();
     /*
      * All tasks for initializing the ui defaults in order of execution.
      */
     private static final DefaultsInitTask[] INIT_TASKS = new DefaultsInitTask[]{new RemoveUnusedInitTask(),
-                                                                                new ThemeDefaultsInitTask(),
+                                                                                THEME_DEFAULTS_TASK,
                                                                                 new InputDefaultsInitTask(),
                                                                                 new IdeaDefaultsInitTask(),
                                                                                 new FontDefaultsInitTask(),
                                                                                 new StyleSheetInitTask(),
-                                                                                new UtilityDefaultsInitTask(),
+                                                                                UTILITY_DEFAULTS_TASK,
                                                                                 new SystemDefaultsInitTask(),
                                                                                 new PlatformDefaultsInitTask(),
                                                                                 new UserInitTask(),
@@ -127,14 +130,37 @@ public class DarkLaf extends BasicLookAndFeel {
         isInitialized = false;
     }
 
+    /*
+     * The defaults of the base look and feel without any modifications.
+     */
+    UIDefaults getBaseDefaults() {
+        return base.getDefaults();
+    }
+
+    /*
+     * Applies the accent colors of the given theme to the installed defaults without reloading them.
+     * Returns the keys of all changed defaults.
+     */
+    static Set<String> applyAccentColors(final Theme oldTheme, final Theme theme) {
+        UIDefaults defaults = UIManager.getLookAndFeelDefaults();
+        Set<String> changedKeys = THEME_DEFAULTS_TASK.applyAccentColors(oldTheme, theme, defaults);
+        UTILITY_DEFAULTS_TASK.run(theme, defaults);
+        return changedKeys;
+    }
+
     @Override
     public UIDefaults getDefaults() {
         final UIDefaults defaults = base.getDefaults();
         final Theme currentTheme = LafManager.getTheme();
         for (DefaultsInitTask task : INIT_TASKS) {
             if (task.onlyDuringInstallation() && !isInitialized) continue;
-            task.run(currentTheme, defaults);
+            if (task == THEME_DEFAULTS_TASK && isInitialized) {
+                THEME_DEFAULTS_TASK.install(currentTheme, defaults);
+            } else {
+                task.run(currentTheme, defaults);
+            }
         }
+        if (DefaultsLookupRecorder.isRequested()) return DefaultsLookupRecorder.instrument(defaults);
         return defaults;
     }
 
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.util.*;
+
+import javax.swing.*;
+import javax.swing.plaf.ComponentUI;
+
+/**
+ * Updates the components of all windows after some of the installed defaults have been changed in place.
+ * <p>
+ * Delegates read the defaults during installation, hence components whose delegate uses one of the changed values
+ * have their ui updated. All other components are only repainted. The defaults used by a delegate are determined by
+ * their key prefix, which is given by the ui class id of the component (e.g. "Button" for "ButtonUI") and the names of
+ * the darklaf delegate classes it extends (e.g. "Button" for DarkToggleButtonUI, which extends DarkButtonUI).
+ *
+ * @author Jannis Weis
+ */
+final class DefaultsChangeUpdater {
+
+    private static final String UI_SUFFIX = "UI";
+    private static final String DELEGATE_PREFIX = "Dark";
+    private static final String[] DELEGATE_SUFFIXES = new String[]{"UIBridge", "UIBase", UI_SUFFIX};
+    /*
+     * Prefixes read by delegates in addition to the ones derived from their classes.
+     */
+    private static final Map<String, String[]> ADDITIONAL_PREFIXES = new HashMap<>();
+
+    static {
+        ADDITIONAL_PREFIXES.put("Table", new String[]{"TextField"});
+        ADDITIONAL_PREFIXES.put("FileChooser", new String[]{"FileView", "Table"});
+    }
+
+    private final Map<String, Set<String>> delegatePrefixes = new HashMap<>();
+    private final Set<String> changedPrefixes = new HashSet<>();
+
+    private DefaultsChangeUpdater(final Collection<String> changedKeys) {
+        for (String key : changedKeys) {
+            int index = key.indexOf('.');
+            if (index > 0) changedPrefixes.add(key.substring(0, index));
+        }
+    }
+
+    /**
+     * Updates the components of all windows.
+     *
+     * @param changedKeys the keys of the changed defaults.
+     */
+    static void updateComponents(final Collection<String> changedKeys) {
+        DefaultsChangeUpdater updater = new DefaultsChangeUpdater(changedKeys);
+        for (Window window : Window.getWindows()) {
+            updater.updateComponentTree(window);
+            window.repaint();
+        }
+    }
+
+    private void updateComponentTree(final Component c) {
+        if (c instanceof JComponent) {
+            JComponent component = (JComponent) c;
+            if (isAffected(component)) component.updateUI();
+            JPopupMenu popupMenu = component.getComponentPopupMenu();
+            if (popupMenu != null) updateComponentTree(popupMenu);
+        }
+        Component[] children = null;
+        if (c instanceof JMenu) {
+            children = ((JMenu) c).getMenuComponents();
+        } else if (c instanceof Container) {
+            children = ((Container) c).getComponents();
+        }
+        if (children != null) {
+            for (Component child : children) {
+                updateComponentTree(child);
+            }
+        }
+    }
+
+    private boolean isAffected(final JComponent component) {
+        if (changedPrefixes.isEmpty()) return false;
+        Set<String> prefixes = delegatePrefixes.computeIfAbsent(component.getUIClassID(),
+                                                                DefaultsChangeUpdater::collectPrefixes);
+        for (String changed : changedPrefixes) {
+            for (String prefix : prefixes) {
+                if (changed.startsWith(prefix)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> collectPrefixes(final String uiClassID) {
+        Set<String> prefixes = new HashSet<>();
+        if (uiClassID.endsWith(UI_SUFFIX) && uiClassID.length() > UI_SUFFIX.length()) {
+            addPrefix(uiClassID.substring(0, uiClassID.length() - UI_SUFFIX.length()), prefixes);
+        }
+        Class<?> uiClass = UIManager.getDefaults().getUIClass(uiClassID);
+        for (Class<?> c = uiClass; c != null && c != ComponentUI.class; c = c.getSuperclass()) {
+            String name = c.getSimpleName();
+            if (!name.startsWith(DELEGATE_PREFIX)) continue;
+            for (String suffix : DELEGATE_SUFFIXES) {
+                if (name.endsWith(suffix) && name.length() > DELEGATE_PREFIX.length() + suffix.length()) {
+                    addPrefix(name.substring(DELEGATE_PREFIX.length(), name.length() - suffix.length()), prefixes);
+                    break;
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    private static void addPrefix(final String prefix, final Set<String> prefixes) {
+        prefixes.add(prefix);
+        String[] additional = ADDITIONAL_PREFIXES.get(prefix);
+        if (additional != null) prefixes.addAll(Arrays.asList(additional));
+    }
+}
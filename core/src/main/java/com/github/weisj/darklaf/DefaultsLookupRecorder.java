@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.*;
+
+import javax.swing.*;
+
+/**
+ * Instrumentation counting the lookups of the installed look and feel defaults. Used to verify that no defaults are
+ * looked up on hot paths, e.g. while painting.
+ * <p>
+ * Recording has to be enabled by setting the system property {@link #RECORD_LOOKUPS_FLAG} to true before the look
+ * and feel is installed. The installed defaults are then replaced by a copy which counts each lookup made on the
+ * thread which called {@link #startRecording()}. Lookups of values, which have been put into the developer defaults
+ * using {@link UIManager#put(Object, Object)}, don't reach the look and feel defaults and aren't counted.
+ *
+ * @author Jannis Weis
+ */
+public final class DefaultsLookupRecorder {
+
+    public static final String RECORD_LOOKUPS_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "recordDefaultsLookups";
+
+    private static final Map<String, Integer> lookups = new HashMap<>();
+    private static volatile Thread recordingThread;
+
+    private DefaultsLookupRecorder() {}
+
+    /**
+     * Returns whether lookups can be recorded i.e. the installed defaults are instrumented.
+     *
+     * @return true if lookups can be recorded.
+     */
+    public static boolean isEnabled() {
+        return UIManager.getLookAndFeelDefaults() instanceof RecordingDefaults;
+    }
+
+    /**
+     * Starts recording the lookups made by the current thread. Previously recorded lookups are discarded.
+     *
+     * @throws IllegalStateException if recording isn't enabled.
+     */
+    public static void startRecording() {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Recording defaults lookups requires installing the laf with -D"
+                                            + RECORD_LOOKUPS_FLAG + "=true");
+        }
+        synchronized (lookups) {
+            lookups.clear();
+        }
+        recordingThread = Thread.currentThread();
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return the number of lookups for each key since {@link #startRecording()} was called.
+     */
+    public static Map<String, Integer> stopRecording() {
+        recordingThread = null;
+        synchronized (lookups) {
+            Map<String, Integer> result = new TreeMap<>(lookups);
+            lookups.clear();
+            return result;
+        }
+    }
+
+    static boolean isRequested() {
+        return Boolean.getBoolean(RECORD_LOOKUPS_FLAG);
+    }
+
+    static UIDefaults instrument(final UIDefaults defaults) {
+        return new RecordingDefaults(defaults);
+    }
+
+    private static void record(final Object key) {
+        if (Thread.currentThread() != recordingThread) return;
+        synchronized (lookups) {
+            lookups.merge(String.valueOf(key), 1, Integer::sum);
+        }
+    }
+
+    /*
+     * Copy of the defaults which records each lookup. Keys which aren't contained in the copy e.g. values
+     * provided by resource bundles are resolved using the original defaults.
+     */
+    private static final class RecordingDefaults extends UIDefaults {
+
+        private final UIDefaults original;
+
+        private RecordingDefaults(final UIDefaults original) {
+            super(original.size(), 0.75f);
+            this.original = original;
+            setDefaultLocale(original.getDefaultLocale());
+            putAll(original);
+        }
+
+        @Override
+        public Object get(final Object key) {
+            record(key);
+            Object value = super.get(key);
+            return value != null ? value : original.get(key);
+        }
+
+        @Override
+        public Object get(final Object key, final Locale l) {
+            record(key);
+            Object value = super.get(key, l);
+            return value != null ? value : original.get(key, l);
+        }
+
+        @Override
+        public synchronized Object remove(final Object key) {
+            original.remove(key);
+            return super.remove(key);
+        }
+    }
+}
@@ -25,14 +25,13 @@
 package com.github.weisj.darklaf;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
+import java.util.*;
 import java.util.List;
 import java.util.logging.Level;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.icons.IconLoader;
 import com.github.weisj.darklaf.platform.DecorationsHandler;
 import com.github.weisj.darklaf.platform.ThemePreferencesHandler;
 import com.github.weisj.darklaf.settings.ThemeSettings;
@@ -54,6 +53,7 @@ public final class LafManager {
 
     private static ThemeProvider themeProvider;
     private static Theme theme;
+    private static boolean iconPreloadingEnabled = true;
     private static final List<Theme> registeredThemes = new ArrayList<>();
     private static final Collection<DefaultsAdjustmentTask> uiDefaultsTasks = new ArrayList<>();
     private static final Collection<DefaultsInitTask> uiInitTasks = new ArrayList<>();
@@ -114,6 +114,26 @@ public final class LafManager {
         }
     }
 
+    /**
+     * Returns whether the svg icons of the look and feel are loaded in the background when installing a theme. This
+     * includes updating the colors of already loaded themed icons.
+     *
+     * @return true if icons are preloaded.
+     */
+    public static boolean isIconPreloadingEnabled() {
+        return iconPreloadingEnabled;
+    }
+
+    /**
+     * Sets whether the svg icons of the look and feel should be loaded in the background when installing a theme. This
+     * avoids loading them while painting them for the first time. By default, this is true.
+     *
+     * @param enabled true if icons should be preloaded.
+     */
+    public static void setIconPreloadingEnabled(final boolean enabled) {
+        iconPreloadingEnabled = enabled;
+    }
+
     /**
      * Enabled whether changes in the preferred theme style should be reported to {@link ThemePreferenceListener}s. On
      * some platforms this setting may do nothing.
@@ -171,6 +191,26 @@ public final class LafManager {
         eventSupport.addListener(listener);
     }
 
+    /**
+     * Adds a {@link ThemeChangeListener} with the given priority. Listeners with a higher priority are notified first.
+     *
+     * @param listener the listener to add.
+     * @param priority the priority of the listener.
+     */
+    public static void addThemeChangeListener(final ThemeChangeListener listener, final int priority) {
+        eventSupport.addListener(listener, priority);
+    }
+
+    /**
+     * Adds a weakly referenced {@link ThemeChangeListener}. The listener is removed automatically after it has been
+     * garbage collected. The caller has to keep a strong reference to the listener.
+     *
+     * @param listener the listener to add.
+     */
+    public static void addWeakThemeChangeListener(final ThemeChangeListener listener) {
+        eventSupport.addWeakListener(listener);
+    }
+
     /**
      * Removes a {@link ThemeChangeListener}.
      *
@@ -349,10 +389,41 @@ public final class LafManager {
      */
     public static void installTheme(final Theme theme) {
         if (theme == getTheme()) return;
+        if (canApplyAccentColors(getTheme(), theme)) {
+            applyAccentColors(theme);
+            return;
+        }
         setTheme(theme);
         install();
     }
 
+    /*
+     * Themes only differing in their accent colors can be switched without reinstalling the look and feel.
+     */
+    private static boolean canApplyAccentColors(final Theme oldTheme, final Theme theme) {
+        return isInstalled()
+               && getUserInitTasks().isEmpty()
+               && theme != null
+               && !Objects.equals(oldTheme.getAccentColorRule(), theme.getAccentColorRule())
+               && Objects.equals(oldTheme.getThemeClass(), theme.getThemeClass())
+               && Objects.equals(oldTheme.getColorToneRule(), theme.getColorToneRule())
+               && Objects.equals(oldTheme.getContrastRule(), theme.getContrastRule())
+               && Objects.equals(oldTheme.getFontSizeRule(), theme.getFontSizeRule());
+    }
+
+    /*
+     * Replaces the defaults depending on the accent colors in place and only updates the components
+     * using them.
+     */
+    private static void applyAccentColors(final Theme theme) {
+        Theme oldTheme = getTheme();
+        setTheme(theme);
+        Set<String> changedKeys = DarkLaf.applyAccentColors(oldTheme, theme);
+        if (isIconPreloadingEnabled()) IconLoader.updateThemedIcons();
+        DefaultsChangeUpdater.updateComponents(changedKeys);
+        eventSupport.dispatchEvent(new ThemeChangeEvent(null, getTheme()), ThemeChangeListener::themeInstalled);
+    }
+
     /**
      * Reloads the theme. Forces all properties to be reloaded.
      */
@@ -378,6 +449,7 @@ public final class LafManager {
         try {
             getTheme();
             UIManager.setLookAndFeel(DarkLaf.class.getCanonicalName());
+            if (isIconPreloadingEnabled()) preloadIcons();
             updateLaf();
             eventSupport.dispatchEvent(new ThemeChangeEvent(null, getTheme()),
                                        ThemeChangeListener::themeInstalled);
@@ -389,6 +461,15 @@ public final class LafManager {
         }
     }
 
+    private static void preloadIcons() {
+        IconLoader.updateThemedIcons();
+        List<Icon> icons = new ArrayList<>();
+        for (Object value : UIManager.getLookAndFeelDefaults().values()) {
+            if (value instanceof Icon) icons.add((Icon) value);
+        }
+        IconLoader.preloadIcons(icons);
+    }
+
     /**
      * Update the component ui classes for all current windows.
      */
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.task.RemoveUnusedInitTask;
+import com.github.weisj.darklaf.task.ThemeDefaultsInitTask;
+import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Build time tool to precompile the defaults of all registered themes into snapshots. The snapshots are written to
+ * the resource directory given as the first argument using the layout expected by {@link ThemeDefaultsInitTask}.
+ *
+ * @author Jannis Weis
+ */
+public final class ThemeSnapshotGenerator {
+
+    private static final Logger LOGGER = LogUtil.getLogger(ThemeSnapshotGenerator.class);
+
+    private ThemeSnapshotGenerator() {}
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: ThemeSnapshotGenerator <output directory>");
+        }
+        File outputDir = new File(args[0], DarkLaf.class.getPackage().getName().replace('.', '/'));
+        DarkLaf laf = new DarkLaf();
+        for (Theme theme : LafManager.getRegisteredThemes()) {
+            UIDefaults defaults = laf.getBaseDefaults();
+            new RemoveUnusedInitTask().run(theme, defaults);
+            File file = new File(outputDir, ThemeDefaultsInitTask.getSnapshotPath(theme));
+            if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+                throw new IOException("Could not create directory " + file.getParentFile());
+            }
+            try (OutputStream out = new FileOutputStream(file)) {
+                new ThemeDefaultsInitTask().writeSnapshot(theme, defaults, out);
+                LOGGER.info("Created snapshot for " + theme.getName());
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, "Could not create snapshot for " + theme.getName() + ". "
+                                          + e.getMessage(), e.getStackTrace());
+                if (!file.delete()) file.deleteOnExit();
+            }
+        }
+    }
+}
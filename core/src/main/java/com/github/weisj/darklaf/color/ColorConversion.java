@@ -0,0 +1,338 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.color;
+
+import java.awt.*;
+
+/**
+ * Conversions between packed rgb values and the hsb, hsl and cmyk color spaces. None of the methods allocate. Results
+ * are written into caller supplied buffers, which allows reusing them, e.g. while dragging a slider.
+ * <p>
+ * Packed rgb values use the layout of {@link Color#getRGB()}. The alpha channel is ignored on input and opaque on
+ * output. All components of the other color spaces are in the range [0,1].
+ *
+ * @author Jannis Weis
+ */
+public final class ColorConversion {
+
+    private ColorConversion() {}
+
+    /**
+     * Converts a packed rgb value to hsb.
+     *
+     * @param  rgb    the rgb value.
+     * @param  result buffer receiving hue, saturation and brightness.
+     * @return        the result buffer.
+     */
+    public static double[] rgbToHSB(final int rgb, final double[] result) {
+        rgbToHSB(rgb, result, 0);
+        return result;
+    }
+
+    /**
+     * Converts packed rgb values to hsb.
+     *
+     * @param rgb       the rgb values.
+     * @param rgbOffset the index of the first rgb value.
+     * @param hsb       buffer receiving three components for each color.
+     * @param hsbOffset the index in the buffer of the first component.
+     * @param count     the number of colors to convert.
+     */
+    public static void rgbToHSB(final int[] rgb, final int rgbOffset, final double[] hsb, final int hsbOffset,
+                                final int count) {
+        for (int i = 0; i < count; i++) {
+            rgbToHSB(rgb[rgbOffset + i], hsb, hsbOffset + 3 * i);
+        }
+    }
+
+    private static void rgbToHSB(final int rgb, final double[] hsb, final int offset) {
+        // Computed in float precision to produce the same values as Color#RGBtoHSB.
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+        int max = Math.max(Math.max(r, g), b);
+        int min = Math.min(Math.min(r, g), b);
+        float saturation = max != 0 ? ((float) (max - min)) / ((float) max) : 0;
+        float hue = 0;
+        if (saturation != 0) {
+            float range = max - min;
+            float red = ((float) (max - r)) / range;
+            float green = ((float) (max - g)) / range;
+            float blue = ((float) (max - b)) / range;
+            if (r == max) {
+                hue = blue - green;
+            } else if (g == max) {
+                hue = 2.0f + red - blue;
+            } else {
+                hue = 4.0f + green - red;
+            }
+            hue = hue / 6.0f;
+            if (hue < 0) hue = hue + 1.0f;
+        }
+        hsb[offset] = hue;
+        hsb[offset + 1] = saturation;
+        hsb[offset + 2] = ((float) max) / 255.0f;
+    }
+
+    /**
+     * Converts hsb values to a packed rgb value. The values are clamped to [0,1].
+     *
+     * @param  h the hue.
+     * @param  s the saturation.
+     * @param  b the brightness.
+     * @return   the rgb value.
+     */
+    public static int hsbToRGB(final double h, final double s, final double b) {
+        return Color.HSBtoRGB((float) clamp(h), (float) clamp(s), (float) clamp(b));
+    }
+
+    /**
+     * Converts hsb values to packed rgb values.
+     *
+     * @param hsb       the hsb values with three components for each color.
+     * @param hsbOffset the index of the first component.
+     * @param rgb       buffer receiving the rgb values.
+     * @param rgbOffset the index in the buffer of the first rgb value.
+     * @param count     the number of colors to convert.
+     */
+    public static void hsbToRGB(final double[] hsb, final int hsbOffset, final int[] rgb, final int rgbOffset,
+                                final int count) {
+        for (int i = 0; i < count; i++) {
+            int index = hsbOffset + 3 * i;
+            rgb[rgbOffset + i] = hsbToRGB(hsb[index], hsb[index + 1], hsb[index + 2]);
+        }
+    }
+
+    /**
+     * Converts a packed rgb value to hsl.
+     *
+     * @param  rgb    the rgb value.
+     * @param  result buffer receiving hue, saturation and lightness.
+     * @return        the result buffer.
+     */
+    public static double[] rgbToHSL(final int rgb, final double[] result) {
+        rgbToHSL(rgb, result, 0);
+        return result;
+    }
+
+    /**
+     * Converts packed rgb values to hsl.
+     *
+     * @param rgb       the rgb values.
+     * @param rgbOffset the index of the first rgb value.
+     * @param hsl       buffer receiving three components for each color.
+     * @param hslOffset the index in the buffer of the first component.
+     * @param count     the number of colors to convert.
+     */
+    public static void rgbToHSL(final int[] rgb, final int rgbOffset, final double[] hsl, final int hslOffset,
+                                final int count) {
+        for (int i = 0; i < count; i++) {
+            rgbToHSL(rgb[rgbOffset + i], hsl, hslOffset + 3 * i);
+        }
+    }
+
+    private static void rgbToHSL(final int rgb, final double[] hsl, final int offset) {
+        double r = ((rgb >> 16) & 0xFF) / 255.0;
+        double g = ((rgb >> 8) & 0xFF) / 255.0;
+        double b = (rgb & 0xFF) / 255.0;
+        double max = Math.max(Math.max(r, g), b);
+        double min = Math.min(Math.min(r, g), b);
+
+        double sum = max + min;
+        double saturation = max - min;
+        if (saturation > 0.0f) {
+            saturation /= (sum > 1.0f) ? 2.0f - sum : sum;
+        }
+        double hue = max - min;
+        if (hue > 0.0f) {
+            if (max == r) {
+                hue = (g - b) / hue;
+                if (hue < 0.0f) hue += 6.0f;
+            } else if (max == g) {
+                hue = 2.0f + (b - r) / hue;
+            } else {
+                hue = 4.0f + (r - g) / hue;
+            }
+            hue /= 6.0f;
+        }
+        hsl[offset] = hue;
+        // Rounding errors may push the saturation of fully saturated colors slightly above one.
+        hsl[offset + 1] = Math.min(saturation, 1.0);
+        hsl[offset + 2] = sum / 2.0;
+    }
+
+    /**
+     * Converts hsl values to a packed rgb value. The hue wraps around.
+     *
+     * @param  h the hue.
+     * @param  s the saturation.
+     * @param  l the lightness.
+     * @return   the rgb value.
+     */
+    public static int hslToRGB(final double h, final double s, final double l) {
+        double hue = h - Math.floor(h);
+        if (s > 0.0f) {
+            hue = (hue < 1.0f) ? hue * 6.0f : 0.0f;
+            double q = l + s * ((l > 0.5f) ? 1.0f - l : l);
+            double p = 2.0f * l - q;
+            return pack(255 * hslComponent(q, p, (hue < 4.0f) ? (hue + 2.0f) : (hue - 4.0f)),
+                        255 * hslComponent(q, p, hue),
+                        255 * hslComponent(q, p, (hue < 2.0f) ? (hue + 4.0f) : (hue - 2.0f)));
+        } else {
+            return pack(255 * l, 255 * l, 255 * l);
+        }
+    }
+
+    /**
+     * Converts hsl values to packed rgb values.
+     *
+     * @param hsl       the hsl values with three components for each color.
+     * @param hslOffset the index of the first component.
+     * @param rgb       buffer receiving the rgb values.
+     * @param rgbOffset the index in the buffer of the first rgb value.
+     * @param count     the number of colors to convert.
+     */
+    public static void hslToRGB(final double[] hsl, final int hslOffset, final int[] rgb, final int rgbOffset,
+                                final int count) {
+        for (int i = 0; i < count; i++) {
+            int index = hslOffset + 3 * i;
+            rgb[rgbOffset + i] = hslToRGB(hsl[index], hsl[index + 1], hsl[index + 2]);
+        }
+    }
+
+    private static double hslComponent(final double q, final double p, final double color) {
+        if (color < 1.0f) return p + (q - p) * color;
+        if (color < 3.0f) return q;
+        if (color < 4.0f) return p + (q - p) * (4.0f - color);
+        return p;
+    }
+
+    /**
+     * Converts a packed rgb value to cmyk.
+     *
+     * @param  rgb    the rgb value.
+     * @param  result buffer receiving cyan, magenta, yellow and black.
+     * @return        the result buffer.
+     */
+    public static double[] rgbToCMYK(final int rgb, final double[] result) {
+        rgbToCMYK(rgb, result, 0);
+        return result;
+    }
+
+    /**
+     * Converts packed rgb values to cmyk.
+     *
+     * @param rgb        the rgb values.
+     * @param rgbOffset  the index of the first rgb value.
+     * @param cmyk       buffer receiving four components for each color.
+     * @param cmykOffset the index in the buffer of the first component.
+     * @param count      the number of colors to convert.
+     */
+    public static void rgbToCMYK(final int[] rgb, final int rgbOffset, final double[] cmyk, final int cmykOffset,
+                                 final int count) {
+        for (int i = 0; i < count; i++) {
+            rgbToCMYK(rgb[rgbOffset + i], cmyk, cmykOffset + 4 * i);
+        }
+    }
+
+    private static void rgbToCMYK(final int rgb, final double[] cmyk, final int offset) {
+        double r = ((rgb >> 16) & 0xFF) / 255.0;
+        double g = ((rgb >> 8) & 0xFF) / 255.0;
+        double b = (rgb & 0xFF) / 255.0;
+        double max = Math.max(Math.max(r, g), b);
+        if (max > 0.0f) {
+            cmyk[offset] = 1.0f - r / max;
+            cmyk[offset + 1] = 1.0f - g / max;
+            cmyk[offset + 2] = 1.0f - b / max;
+        } else {
+            cmyk[offset] = 0;
+            cmyk[offset + 1] = 0;
+            cmyk[offset + 2] = 0;
+        }
+        cmyk[offset + 3] = 1.0f - max;
+    }
+
+    /**
+     * Converts cmyk values to a packed rgb value.
+     *
+     * @param  c the cyan component.
+     * @param  m the magenta component.
+     * @param  y the yellow component.
+     * @param  k the black component.
+     * @return   the rgb value.
+     */
+    public static int cmykToRGB(final double c, final double m, final double y, final double k) {
+        return pack(255 * (1 - c) * (1 - k), 255 * (1 - m) * (1 - k), 255 * (1 - y) * (1 - k));
+    }
+
+    /**
+     * Converts cmyk values to packed rgb values.
+     *
+     * @param cmyk       the cmyk values with four components for each color.
+     * @param cmykOffset the index of the first component.
+     * @param rgb        buffer receiving the rgb values.
+     * @param rgbOffset  the index in the buffer of the first rgb value.
+     * @param count      the number of colors to convert.
+     */
+    public static void cmykToRGB(final double[] cmyk, final int cmykOffset, final int[] rgb, final int rgbOffset,
+                                 final int count) {
+        for (int i = 0; i < count; i++) {
+            int index = cmykOffset + 4 * i;
+            rgb[rgbOffset + i] = cmykToRGB(cmyk[index], cmyk[index + 1], cmyk[index + 2], cmyk[index + 3]);
+        }
+    }
+
+    /**
+     * Packs the components into an opaque rgb value. The components are rounded and clamped to [0,255].
+     *
+     * @param  r the red component.
+     * @param  g the green component.
+     * @param  b the blue component.
+     * @return   the rgb value.
+     */
+    public static int pack(final double r, final double g, final double b) {
+        return pack((int) Math.round(r), (int) Math.round(g), (int) Math.round(b));
+    }
+
+    /**
+     * Packs the components into an opaque rgb value. The components are clamped to [0,255].
+     *
+     * @param  r the red component.
+     * @param  g the green component.
+     * @param  b the blue component.
+     * @return   the rgb value.
+     */
+    public static int pack(final int r, final int g, final int b) {
+        return 0xFF000000 | (clamp(r) << 16) | (clamp(g) << 8) | clamp(b);
+    }
+
+    private static int clamp(final int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static double clamp(final double value) {
+        return Math.max(Math.min(value, 1), 0);
+    }
+}
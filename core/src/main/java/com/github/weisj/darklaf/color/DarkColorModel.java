@@ -90,4 +90,27 @@ public abstract class DarkColorModel {
     public Color getColorFromValues(final int[] values) {
         return new Color(values[0], values[1], values[2]);
     }
+
+    /**
+     * Converts the rgb value to the values of this model without allocating.
+     *
+     * @param  rgb    the rgb value.
+     * @param  values buffer of at least {@link #getCount()} elements receiving the values.
+     * @return        the values buffer.
+     */
+    public int[] getValuesFromRGB(final int rgb, final int[] values) {
+        int[] result = getValuesFromColor(new Color(rgb));
+        System.arraycopy(result, 0, values, 0, getCount());
+        return values;
+    }
+
+    /**
+     * Converts the values of this model to an opaque rgb value without allocating.
+     *
+     * @param  values the values.
+     * @return        the rgb value.
+     */
+    public int getRGBFromValues(final int[] values) {
+        return getColorFromValues(values).getRGB();
+    }
 }
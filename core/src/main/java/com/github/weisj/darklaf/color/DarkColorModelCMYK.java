@@ -33,15 +33,14 @@ import com.github.weisj.darklaf.util.LazyValue;
  */
 public class DarkColorModelCMYK extends DarkColorModel {
 
-    private static final int[] cmyk = new int[4];
-    private static final int[] rgb = new int[3];
-
     private static final LazyValue<DarkColorModelCMYK> instance = new LazyValue<>(DarkColorModelCMYK::new);
 
     public static DarkColorModelCMYK getInstance() {
         return instance.get();
     }
 
+    private final double[] cmyk = new double[4];
+
     public DarkColorModelCMYK() {
         super("cmyk", "Cyan", "Magenta", "Yellow", "Black");
     }
@@ -73,34 +72,25 @@ public class DarkColorModelCMYK extends DarkColorModel {
 
     @Override
     public int[] getValuesFromColor(final Color color) {
-        return RGBtoCMYK(color.getRed(), color.getGreen(), color.getBlue());
+        return getValuesFromRGB(color.getRGB(), new int[getCount()]);
     }
 
-    private static int[] RGBtoCMYK(final int r, final int g, final int b) {
-        double max = DarkColorModelHSL.max(r / 255.0, g / 255.0, b / 255.0);
-        if (max > 0.0f) {
-            cmyk[0] = (int) Math.round((1.0f - (r / 255.0) / max) * 100);
-            cmyk[1] = (int) Math.round((1.0f - (g / 255.0) / max) * 100);
-            cmyk[2] = (int) Math.round((1.0f - (b / 255.0) / max) * 100);
-        } else {
-            cmyk[0] = 0;
-            cmyk[1] = 0;
-            cmyk[2] = 0;
+    @Override
+    public int[] getValuesFromRGB(final int rgb, final int[] values) {
+        ColorConversion.rgbToCMYK(rgb, cmyk);
+        for (int i = 0; i < 4; i++) {
+            values[i] = (int) Math.round(cmyk[i] * 100);
         }
-        cmyk[3] = (int) Math.round((1.0f - max) * 100);
-        return cmyk;
+        return values;
     }
 
     @Override
     public Color getColorFromValues(final int[] values) {
-        int[] rgb = CMYKtoRGB(values[0] / 100.0, values[1] / 100.0, values[2] / 100.0, values[3] / 100.0);
-        return new Color(rgb[0], rgb[1], rgb[2]);
+        return new Color(getRGBFromValues(values));
     }
 
-    private static int[] CMYKtoRGB(final double c, final double m, final double y, final double k) {
-        rgb[0] = (int) Math.round(255 * (1 - c) * (1 - k));
-        rgb[1] = (int) Math.round(255 * (1 - m) * (1 - k));
-        rgb[2] = (int) Math.round(255 * (1 - y) * (1 - k));
-        return rgb;
+    @Override
+    public int getRGBFromValues(final int[] values) {
+        return ColorConversion.cmykToRGB(values[0] / 100.0, values[1] / 100.0, values[2] / 100.0, values[3] / 100.0);
     }
 }
@@ -33,15 +33,14 @@ import com.github.weisj.darklaf.util.LazyValue;
  */
 public class DarkColorModelHSB extends DarkColorModel {
 
-    private static final float[] hsvVals = new float[3];
-    private static final int[] hsb = new int[3];
-
     private static final LazyValue<DarkColorModelHSB> instance = new LazyValue<>(DarkColorModelHSB::new);
 
     public static DarkColorModelHSB getInstance() {
         return instance.get();
     }
 
+    private final double[] hsb = new double[3];
+
     public DarkColorModelHSB() {
         super("hsv", "Hue", "Saturation", "Brightness");
     }
@@ -73,30 +72,33 @@ public class DarkColorModelHSB extends DarkColorModel {
 
     @Override
     public int[] getValuesFromColor(final Color color) {
-        return RGBtoHSB(color.getRed(), color.getGreen(), color.getBlue());
+        return getValuesFromRGB(color.getRGB(), new int[getCount()]);
     }
 
-    private static int[] RGBtoHSB(final int r, final int g, final int b) {
-        double[] values = RGBtoHSBValues(r, g, b);
-        hsb[0] = (int) Math.round(values[0] * 360);
-        hsb[1] = (int) Math.round(values[1] * 100);
-        hsb[1] = (int) Math.round(values[2] * 100);
-        return hsb;
+    @Override
+    public int[] getValuesFromRGB(final int rgb, final int[] values) {
+        ColorConversion.rgbToHSB(rgb, hsb);
+        values[0] = (int) Math.round(hsb[0] * 360);
+        values[1] = (int) Math.round(hsb[1] * 100);
+        values[2] = (int) Math.round(hsb[2] * 100);
+        return values;
     }
 
     public static double[] RGBtoHSBValues(final int r, final int g, final int b) {
-        float[] values = Color.RGBtoHSB(r, g, b, hsvVals);
-        return new double[]{values[0], values[1], values[2]};
+        return ColorConversion.rgbToHSB(ColorConversion.pack(r, g, b), new double[3]);
     }
 
     public static Color getColorFromHSBValues(final double h, final double s, final double b) {
-        return Color.getHSBColor((float) Math.max(Math.min(h, 1), 0),
-                                 (float) Math.max(Math.min(s, 1), 0),
-                                 (float) Math.max(Math.min(b, 1), 0));
+        return new Color(ColorConversion.hsbToRGB(h, s, b));
     }
 
     @Override
     public Color getColorFromValues(final int[] values) {
-        return getColorFromHSBValues(values[0] / 360.0, values[1] / 100.0, values[2] / 100.0);
+        return new Color(getRGBFromValues(values));
+    }
+
+    @Override
+    public int getRGBFromValues(final int[] values) {
+        return ColorConversion.hsbToRGB(values[0] / 360.0, values[1] / 100.0, values[2] / 100.0);
     }
 }
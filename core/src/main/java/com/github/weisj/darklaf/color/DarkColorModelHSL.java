@@ -33,15 +33,14 @@ import com.github.weisj.darklaf.util.LazyValue;
  */
 public class DarkColorModelHSL extends DarkColorModel {
 
-    private static final int[] hsl = new int[3];
-    private static final int[] rgb = new int[3];
-
     private static final LazyValue<DarkColorModelHSL> instance = new LazyValue<>(DarkColorModelHSL::new);
 
     public static DarkColorModelHSL getInstance() {
         return instance.get();
     }
 
+    private final double[] hsl = new double[3];
+
     public DarkColorModelHSL() {
         super("hsl", "Hue", "Saturation", "Lightness");
     }
@@ -73,38 +72,36 @@ public class DarkColorModelHSL extends DarkColorModel {
 
     @Override
     public int[] getValuesFromColor(final Color color) {
-        return RGBtoHSL(color.getRed(), color.getGreen(), color.getBlue());
+        return getValuesFromRGB(color.getRGB(), new int[getCount()]);
+    }
+
+    @Override
+    public int[] getValuesFromRGB(final int rgb, final int[] values) {
+        ColorConversion.rgbToHSL(rgb, hsl);
+        values[0] = (int) Math.round(360 * hsl[0]);
+        values[1] = (int) Math.round(100 * hsl[1]);
+        values[2] = (int) Math.round(100 * hsl[2]);
+        return values;
     }
 
     public static Color getColorFromHSLValues(final double h, final double s, final double l) {
-        int[] rgb = HSLtoRGB(h, s, l);
-        return new Color(rgb[0], rgb[1], rgb[2]);
+        return new Color(getRGBFromHSLValues(h, s, l));
+    }
+
+    /**
+     * Converts the hsl values to an opaque rgb value without allocating.
+     *
+     * @param  h the hue in the range [0,1].
+     * @param  s the saturation in the range [0,1].
+     * @param  l the lightness in the range [0,1].
+     * @return   the rgb value in the default color model.
+     */
+    public static int getRGBFromHSLValues(final double h, final double s, final double l) {
+        return ColorConversion.hslToRGB(h, s, l);
     }
 
     public static double[] RGBtoHSLValues(final int r, final int g, final int b) {
-        double max = max(r, g, b) / 255.0;
-        double min = min(r, g, b) / 255.0;
-
-        double summa = (max + min);
-        double saturation = (max - min);
-        if (saturation > 0.0f) {
-            saturation /= (summa > 1.0f)
-                    ? 2.0f - summa
-                    : summa;
-        }
-        return new double[]{
-                            getHue(r / 255.0, g / 255.0, b / 255.0, max, min),
-                            saturation,
-                            summa / 2.0
-        };
-    }
-
-    private static int[] RGBtoHSL(final int r, final int g, final int b) {
-        double[] values = RGBtoHSLValues(r, g, b);
-        hsl[0] = (int) Math.round(360 * values[0]);
-        hsl[1] = (int) Math.round(100 * values[1]);
-        hsl[2] = (int) Math.round(100 * values[2]);
-        return hsl;
+        return ColorConversion.rgbToHSL(ColorConversion.pack(r, g, b), new double[3]);
     }
 
     protected static double max(final double red, final double green, final double blue) {
@@ -117,61 +114,13 @@ public class DarkColorModelHSL extends DarkColorModel {
         return Math.min(min, blue);
     }
 
-    private static double getHue(final double red, final double green, final double blue,
-                                 final double max, final double min) {
-        double hue = max - min;
-        if (hue > 0.0f) {
-            if (max == red) {
-                hue = (green - blue) / hue;
-                if (hue < 0.0f) {
-                    hue += 6.0f;
-                }
-            } else if (max == green) {
-                hue = 2.0f + (blue - red) / hue;
-            } else /* max == blue */ {
-                hue = 4.0f + (red - green) / hue;
-            }
-            hue /= 6.0f;
-        }
-        return hue;
+    @Override
+    public Color getColorFromValues(final int[] values) {
+        return new Color(getRGBFromValues(values));
     }
 
     @Override
-    public Color getColorFromValues(final int[] values) {
-        int[] rgb = HSLtoRGB(values[0] / 360.0, values[1] / 100.0, values[2] / 100.0);
-        return new Color(rgb[0], rgb[1], rgb[2]);
-    }
-
-    private static int[] HSLtoRGB(final double h, final double saturation, final double lightness) {
-        double hue = h;
-        while (hue < 0)
-            hue += 1;
-        hue = hue - Math.floor(hue);
-        if (saturation > 0.0f) {
-            hue = (hue < 1.0f) ? hue * 6.0f : 0.0f;
-            double q = lightness + saturation * ((lightness > 0.5f) ? 1.0f - lightness : lightness);
-            double p = 2.0f * lightness - q;
-            rgb[0] = (int) Math.round(255 * normalize(q, p, (hue < 4.0f) ? (hue + 2.0f) : (hue - 4.0f)));
-            rgb[1] = (int) Math.round(255 * normalize(q, p, hue));
-            rgb[2] = (int) Math.round(255 * normalize(q, p, (hue < 2.0f) ? (hue + 4.0f) : (hue - 2.0f)));
-        } else {
-            rgb[0] = (int) Math.round(255 * lightness);
-            rgb[1] = rgb[0];
-            rgb[2] = rgb[0];
-        }
-        return rgb;
-    }
-
-    private static double normalize(final double q, final double p, final double color) {
-        if (color < 1.0f) {
-            return p + (q - p) * color;
-        }
-        if (color < 3.0f) {
-            return q;
-        }
-        if (color < 4.0f) {
-            return p + (q - p) * (4.0f - color);
-        }
-        return p;
+    public int getRGBFromValues(final int[] values) {
+        return ColorConversion.hslToRGB(values[0] / 360.0, values[1] / 100.0, values[2] / 100.0);
     }
 }
@@ -24,46 +24,77 @@
  */
 package com.github.weisj.darklaf.components;
 
+import java.awt.*;
 import java.awt.event.ActionEvent;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.graphics.Animator;
 import com.github.weisj.darklaf.icons.RotatableIcon;
 import com.github.weisj.darklaf.util.Alignment;
 
-public class RotatableIconAnimator extends Timer {
+public class RotatableIconAnimator extends Animator {
+
+    private static final int FRAME_DURATION = 100;
 
     private final RotatableIcon icon;
     private final JComponent parent;
-    private final int frameCount;
-    private int frame;
+    private int manualFrame;
 
     public RotatableIconAnimator(final RotatableIcon icon, final JComponent parent) {
         this(Alignment.values().length, icon, parent);
     }
 
     public RotatableIconAnimator(final int frames, final RotatableIcon icon, final JComponent parent) {
-        super(100, null);
+        super("Rotatable icon", frames, frames * FRAME_DURATION, true);
         if (icon == null) throw new IllegalArgumentException("Icon is null");
         if (parent == null) throw new IllegalArgumentException("Component is null");
-        addActionListener(this::onAction);
-        setRepeats(true);
         this.icon = icon;
-        this.frameCount = frames;
         this.parent = parent;
     }
 
-    public void resume() {
-        start();
+    /**
+     * Starts the animation.
+     *
+     * @deprecated The animator no longer is a {@link Timer}. Use {@link #resume()} instead.
+     */
+    @Deprecated
+    public void start() {
+        resume();
+    }
+
+    /**
+     * Stops the animation.
+     *
+     * @deprecated The animator no longer is a {@link Timer}. Use {@link #suspend()} instead.
+     */
+    @Deprecated
+    public void stop() {
+        suspend();
     }
 
+    /**
+     * Advances the animation by a single frame.
+     *
+     * @param      e the action event. May be null.
+     * @deprecated    The frames are advanced by the shared animation clock. Use {@link #resume()} to start the
+     *                animation.
+     */
+    @Deprecated
     public void onAction(final ActionEvent e) {
-        icon.setRotation(Math.PI * 2 * (((double) frame) / frameCount));
-        parent.repaint();
-        frame = (frame + 1) % frameCount;
+        int totalFrames = (int) getTotalFrames();
+        paintNow(manualFrame, totalFrames, 0);
+        manualFrame = (manualFrame + 1) % totalFrames;
+    }
+
+    @Override
+    public void paintNow(final int frame, final int totalFrames, final int cycle) {
+        icon.setRotation(Math.PI * 2 * (((double) frame) / totalFrames));
+        requestRepaint(parent);
     }
 
-    public void suspend() {
-        stop();
+    @Override
+    protected Component getAnimatedComponent() {
+        return parent;
     }
 }
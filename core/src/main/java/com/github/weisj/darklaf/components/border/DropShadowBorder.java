@@ -27,17 +27,20 @@ package com.github.weisj.darklaf.components.border;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.ConvolveOp;
-import java.awt.image.Kernel;
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.border.Border;
 
 import com.github.weisj.darklaf.graphics.ImageUtil;
 import com.github.weisj.darklaf.util.Disposable;
+import com.github.weisj.darklaf.util.LRUCache;
+import com.github.weisj.darklaf.util.LazyValue;
+import com.github.weisj.darklaf.util.Scale;
 
 /**
  * Implements a DropShadow for components. In general, the DropShadowBorder will work with any rectangular components
@@ -50,15 +53,19 @@ import com.github.weisj.darklaf.util.Disposable;
  * <p>
  * Note: Since generating drop shadows is relatively expensive operation,
  * {@code DropShadowBorder} keeps internal static cache that allows sharing same border for multiple re-rendering and
- * between different instances of the class. Since this cache is shared at class level and never reset, it might bleed
- * your app memory in case you tend to create many different borders rapidly.
+ * between different instances of the class. The cache is keyed by all parameters affecting the appearance of the
+ * shadow and only keeps the most recently used shadows. Shadows which are known to be needed soon can be generated in
+ * the background using {@link #preload()}.
  * </p>
  *
  * @author rbair Adaptions made by
  * @author Jannis Weis
  */
 public class DropShadowBorder implements Border, Serializable {
-    private static final Map<Integer, BufferedImage[]> CACHE = new HashMap<>();
+    private static final int CACHE_SIZE = 32;
+    private static final LRUCache<ShadowKey, BufferedImage[]> CACHE = new LRUCache<>(CACHE_SIZE);
+    private static final LazyValue<ExecutorService> preloadExecutor =
+            new LazyValue<>(DropShadowBorder::createPreloadExecutor);
     private Color shadowColor;
     private int shadowSize;
     private float shadowOpacity;
@@ -94,7 +101,8 @@ public class DropShadowBorder implements Border, Serializable {
     @Override
     public void paintBorder(final Component c, final Graphics graphics,
                             final int x, final int y, final int width, final int height) {
-        final BufferedImage[] images = getImages();
+        if (shadowSize <= 0) return;
+        final BufferedImage[] images = getImages(getScale((Graphics2D) graphics));
         final Graphics2D g2 = (Graphics2D) graphics.create();
 
         try (Disposable d = g2::dispose) {
@@ -213,114 +221,193 @@ public class DropShadowBorder implements Border, Serializable {
 
     protected void drawImage(final Graphics g, final Image image, final Point p) {
         if (p == null) return;
-        g.drawImage(image, p.x, p.y, null);
+        g.drawImage(image, p.x, p.y, shadowSize, shadowSize, null);
     }
 
     protected void drawImage(final Graphics g, final Image image, final int x, final int y, final int w, final int h) {
         g.drawImage(image, x, y, w, h, null);
     }
 
+    /**
+     * Generates the shadow images for the current parameters and the scale of the default screen in the background.
+     * This avoids generating them on the event dispatch thread when the border is painted for the first time.
+     */
+    public void preload() {
+        if (shadowSize <= 0) return;
+        ShadowKey key = createKey(Math.max(1, Math.max(Scale.SCALE_X, Scale.SCALE_Y)));
+        if (CACHE.peek(key) != null) return;
+        getPreloadExecutor().execute(() -> CACHE.computeIfAbsent(key, DropShadowBorder::createImages));
+    }
+
+    private static synchronized ExecutorService getPreloadExecutor() {
+        return preloadExecutor.get();
+    }
+
+    private static ExecutorService createPreloadExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(), r -> {
+                                                                 Thread thread = new Thread(r, "Shadow Preloader");
+                                                                 thread.setDaemon(true);
+                                                                 thread.setPriority(Thread.MIN_PRIORITY);
+                                                                 return thread;
+                                                             });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /*
+     * The images are generated in device pixels. Scales smaller than one are treated as one to keep the shadow from
+     * degenerating.
+     */
+    private static double getScale(final Graphics2D g) {
+        double scale = Math.max(Math.abs(Scale.getScaleX(g)), Math.abs(Scale.getScaleY(g)));
+        return Math.max(1, Math.round(scale * 100) / 100.0);
+    }
+
+    private ShadowKey createKey(final double scale) {
+        return new ShadowKey((int) Math.round(shadowSize * scale), (int) Math.round(cornerSize * scale),
+                             shadowOpacity, shadowColor.getRGB());
+    }
+
+    private BufferedImage[] getImages(final double scale) {
+        return CACHE.computeIfAbsent(createKey(scale), DropShadowBorder::createImages);
+    }
+
     @SuppressWarnings("SuspiciousNameCombination")
-    private BufferedImage[] getImages() {
-        // first, check to see if an image for this size has already been rendered
-        // if so, use the cache. Else, draw and save
-        BufferedImage[] images = CACHE.get(getBorderHash(shadowSize, shadowOpacity, shadowColor));
-        if (images == null) {
-            images = new BufferedImage[Position.count()];
-
-            /*
-             * To draw a drop shadow, I have to:
-             * 1) Create a rounded rectangle
-             * 2) Create a BufferedImage to draw the rounded rect in
-             * 3) Translate the graphics for the image, so that the rectangle
-             * is centered in the drawn space. The border around the rectangle
-             * needs to be shadowWidth wide, so that there is space for the
-             * shadow to be drawn.
-             * 4) Draw the rounded rect as shadowColor, with an opacity of shadowOpacity
-             * 5) Create the BLUR_KERNEL
-             * 6) Blur the image
-             * 7) copy off the corners, sides, etc into images to be used for
-             * drawing the Border
-             */
-            int rectWidth = cornerSize + 1;
-            RoundRectangle2D rect = new RoundRectangle2D.Double(0, 0, rectWidth, rectWidth, cornerSize, cornerSize);
-            int imageWidth = rectWidth + shadowSize * 2;
-            BufferedImage image = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
-            Graphics2D buffer = (Graphics2D) image.getGraphics();
-
-            try (Disposable d = buffer::dispose) {
-                buffer.setPaint(new Color(shadowColor.getRed(), shadowColor.getGreen(),
-                                          shadowColor.getBlue(), (int) (shadowOpacity * 255)));
-                buffer.translate(shadowSize, shadowSize);
-                buffer.fill(rect);
-            }
+    private static BufferedImage[] createImages(final ShadowKey key) {
+        int shadowSize = key.shadowSize;
+        int cornerSize = key.cornerSize;
+        BufferedImage[] images = new BufferedImage[Position.count()];
+
+        /*
+         * To draw a drop shadow, I have to:
+         * 1) Create a rounded rectangle
+         * 2) Create a BufferedImage to draw the rounded rect in
+         * 3) Translate the graphics for the image, so that the rectangle
+         * is centered in the drawn space. The border around the rectangle
+         * needs to be shadowWidth wide, so that there is space for the
+         * shadow to be drawn.
+         * 4) Draw the rounded rect with an opacity of shadowOpacity
+         * 5) Blur the alpha values of the image
+         * 6) copy off the corners, sides, etc into images to be used for
+         * drawing the Border
+         */
+        int rectWidth = cornerSize + 1;
+        RoundRectangle2D rect = new RoundRectangle2D.Double(0, 0, rectWidth, rectWidth, cornerSize, cornerSize);
+        int imageWidth = rectWidth + shadowSize * 2;
+        int rgb = key.rgb & 0x00FFFFFF;
+        BufferedImage image = new BufferedImage(imageWidth, imageWidth, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D buffer = image.createGraphics();
+
+        try (Disposable d = buffer::dispose) {
+            buffer.setPaint(new Color(rgb | ((int) (key.opacity * 255) << 24), true));
+            buffer.translate(shadowSize, shadowSize);
+            buffer.fill(rect);
+        }
 
-            float blurry = 1.0f / (float) (shadowSize * shadowSize);
-            float[] blurKernel = new float[shadowSize * shadowSize];
-            Arrays.fill(blurKernel, blurry);
-            ConvolveOp blur = new ConvolveOp(new Kernel(shadowSize, shadowSize, blurKernel));
-            BufferedImage targetImage = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
-            ((Graphics2D) targetImage.getGraphics()).drawImage(image, blur, -(shadowSize / 2), -(shadowSize / 2));
-
-            int x = 1;
-            int y = 1;
-            int w = shadowSize;
-            int h = shadowSize;
-            images[Position.TOP_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = 1;
-            y = h;
-            w = shadowSize;
-            h = 1;
-            images[Position.LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = 1;
-            y = rectWidth;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = cornerSize + 1;
-            y = rectWidth;
-            w = 1;
-            h = shadowSize;
-            images[Position.BOTTOM.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = x;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = cornerSize + 1;
-            w = shadowSize;
-            h = 1;
-            images[Position.RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = 1;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.TOP_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = shadowSize;
-            y = 1;
-            w = 1;
-            h = shadowSize;
-            images[Position.TOP.ordinal()] = getSubImage(targetImage, x, y, w, h);
-
-            image.flush();
-            CACHE.put(getBorderHash(shadowSize, shadowOpacity, shadowColor), images);
+        int[] pixels = image.getRGB(0, 0, imageWidth, imageWidth, null, 0, imageWidth);
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] >>>= 24;
+        }
+        blur(pixels, imageWidth, shadowSize);
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (pixels[i] << 24) | rgb;
         }
+        BufferedImage targetImage = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
+        targetImage.setRGB(0, 0, imageWidth, imageWidth, pixels, 0, imageWidth);
+
+        int x = 1;
+        int y = 1;
+        int w = shadowSize;
+        int h = shadowSize;
+        images[Position.TOP_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = 1;
+        y = h;
+        w = shadowSize;
+        h = 1;
+        images[Position.LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = 1;
+        y = rectWidth;
+        w = shadowSize;
+        h = shadowSize;
+        images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = cornerSize + 1;
+        y = rectWidth;
+        w = 1;
+        h = shadowSize;
+        images[Position.BOTTOM.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = rectWidth;
+        y = x;
+        w = shadowSize;
+        h = shadowSize;
+        images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = rectWidth;
+        y = cornerSize + 1;
+        w = shadowSize;
+        h = 1;
+        images[Position.RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = rectWidth;
+        y = 1;
+        w = shadowSize;
+        h = shadowSize;
+        images[Position.TOP_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = shadowSize;
+        y = 1;
+        w = 1;
+        h = shadowSize;
+        images[Position.TOP.ordinal()] = getSubImage(targetImage, x, y, w, h);
+
+        image.flush();
+        targetImage.flush();
         return images;
     }
 
-    private static int getBorderHash(final int shadowSize, final float opacity, final Color shadowColor) {
-        int result = shadowSize;
-        result = 31 * result + (opacity != +0.0f ? Float.floatToIntBits(opacity) : 0);
-        result = 31 * result + (shadowColor != null ? shadowColor.hashCode() : 0);
-        return result;
+    /**
+     * Blurs the square alpha mask with a box filter of the given size. The filter is applied as two separate passes
+     * using running sums, which makes the cost independent of the filter size. The result at (x, y) is the average of
+     * the square of the given size starting at (x, y). Pixels for which the square doesn't fit into the mask are
+     * transparent.
+     *
+     * @param alpha the alpha values of the mask.
+     * @param width the width and height of the mask.
+     * @param size  the size of the filter.
+     */
+    private static void blur(final int[] alpha, final int width, final int size) {
+        int end = width - size;
+        int[] horizontal = new int[alpha.length];
+        for (int y = 0; y < width; y++) {
+            int row = y * width;
+            int sum = 0;
+            for (int i = 0; i < size - 1; i++) {
+                sum += alpha[row + i];
+            }
+            for (int x = 0; x <= end; x++) {
+                sum += alpha[row + x + size - 1];
+                horizontal[row + x] = sum;
+                sum -= alpha[row + x];
+            }
+        }
+        int area = size * size;
+        Arrays.fill(alpha, 0);
+        for (int x = 0; x <= end; x++) {
+            int sum = 0;
+            for (int i = 0; i < size - 1; i++) {
+                sum += horizontal[i * width + x];
+            }
+            for (int y = 0; y <= end; y++) {
+                sum += horizontal[(y + size - 1) * width + x];
+                alpha[y * width + x] = Math.min(255, (sum + area / 2) / area);
+                sum -= horizontal[y * width + x];
+            }
+        }
     }
 
     /**
      * Returns a new BufferedImage that represents a subregion of the given BufferedImage. (Note that this method does
      * not use BufferedImage.getSubimage(), which will defeat image acceleration strategies on later JDKs.)
      */
-    private BufferedImage getSubImage(final BufferedImage img, final int x, final int y, final int w, final int h) {
+    private static BufferedImage getSubImage(final BufferedImage img, final int x, final int y,
+                                             final int w, final int h) {
         BufferedImage ret = ImageUtil.createCompatibleTranslucentImage(w, h);
         Graphics2D g2 = ret.createGraphics();
 
@@ -422,6 +509,41 @@ public class DropShadowBorder implements Border, Serializable {
         return this;
     }
 
+    private static final class ShadowKey {
+
+        private final int shadowSize;
+        private final int cornerSize;
+        private final float opacity;
+        private final int rgb;
+
+        private ShadowKey(final int shadowSize, final int cornerSize, final float opacity, final int rgb) {
+            this.shadowSize = shadowSize;
+            this.cornerSize = cornerSize;
+            this.opacity = opacity;
+            this.rgb = rgb;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShadowKey)) return false;
+            ShadowKey other = (ShadowKey) o;
+            return shadowSize == other.shadowSize
+                   && cornerSize == other.cornerSize
+                   && Float.compare(opacity, other.opacity) == 0
+                   && rgb == other.rgb;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = shadowSize;
+            result = 31 * result + cornerSize;
+            result = 31 * result + Float.floatToIntBits(opacity);
+            result = 31 * result + rgb;
+            return result;
+        }
+    }
+
     private enum Position {
         TOP,
         TOP_LEFT,
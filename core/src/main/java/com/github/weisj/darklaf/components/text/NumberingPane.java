@@ -25,7 +25,6 @@
 package com.github.weisj.darklaf.components.text;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import javax.swing.*;
 import javax.swing.text.*;
@@ -38,13 +37,13 @@ public class NumberingPane extends JComponent {
     public static final String KEY_ICONS = "icons";
     public static final String KEY_MIN_ICON_WIDTH = "minimumIconWidth";
     private JTextComponent textComponent;
-    private final Map<Position, Icon> iconMap;
-    private final Map<Position, List<IconListener>> listenerMap;
+    private final PositionIndex<Icon> iconMap;
+    private final PositionIndex<List<IconListener>> listenerMap;
     private int width;
 
     public NumberingPane() {
-        iconMap = new HashMap<>();
-        listenerMap = new HashMap<>();
+        iconMap = new PositionIndex<>();
+        listenerMap = new PositionIndex<>();
         updateUI();
     }
 
@@ -76,13 +75,15 @@ public class NumberingPane extends JComponent {
         return iconMap.size();
     }
 
+    /**
+     * Returns the icons with offsets in the given range ordered by their offset.
+     *
+     * @param  startOff the start offset (inclusive).
+     * @param  endOff   the end offset (inclusive).
+     * @return          the icons in range.
+     */
     public List<Map.Entry<Position, Icon>> getIconsInRange(final int startOff, final int endOff) {
-        return iconMap.entrySet().stream()
-                      .filter(e -> {
-                          Position pos = e.getKey();
-                          return pos.getOffset() >= startOff && pos.getOffset() <= endOff;
-                      })
-                      .collect(Collectors.toList());
+        return iconMap.getRange(startOff, endOff);
     }
 
     public Position addIconAtLine(final int lineIndex, final Icon icon) throws BadLocationException {
@@ -122,14 +123,17 @@ public class NumberingPane extends JComponent {
 
     public void removeIconListener(final int offset, final IconListener listener) throws BadLocationException {
         if (textComponent == null) return;
-        removeIconListener(textComponent.getDocument().createPosition(offset), listener);
+        for (Map.Entry<Position, List<IconListener>> entry : listenerMap.getRange(offset, offset)) {
+            removeIconListener(entry.getKey(), listener);
+        }
     }
 
     public void addIconListener(final Position position, final IconListener listener) {
-        if (!listenerMap.containsKey(position)) {
-            listenerMap.put(position, new ArrayList<>());
-        }
         List<IconListener> list = listenerMap.get(position);
+        if (list == null) {
+            list = new ArrayList<>();
+            listenerMap.put(position, list);
+        }
         list.add(listener);
     }
 
@@ -137,12 +141,13 @@ public class NumberingPane extends JComponent {
         List<IconListener> list = listenerMap.get(position);
         if (list != null) {
             list.remove(listener);
+            if (list.isEmpty()) listenerMap.remove(position);
         }
     }
 
     public List<IconListener> getIconListeners(final int offset) throws BadLocationException {
         if (textComponent == null) return new ArrayList<>();
-        return getIconListeners(textComponent.getDocument().createPosition(offset));
+        return getIconListeners(offset, offset);
     }
 
     public List<IconListener> getIconListeners(final Position position) {
@@ -151,14 +156,11 @@ public class NumberingPane extends JComponent {
     }
 
     public List<IconListener> getIconListeners(final int startOffset, final int endOffset) {
-        return listenerMap.entrySet().stream()
-                          .filter(entry -> {
-                              Position p = entry.getKey();
-                              return p.getOffset() >= startOffset && p.getOffset() <= endOffset;
-                          })
-                          .map(Map.Entry::getValue)
-                          .flatMap(List::stream)
-                          .collect(Collectors.toList());
+        List<IconListener> listeners = new ArrayList<>();
+        for (Map.Entry<Position, List<IconListener>> entry : listenerMap.getRange(startOffset, endOffset)) {
+            listeners.addAll(entry.getValue());
+        }
+        return listeners;
     }
 
     public void addIndexListener(final IndexListener listener) {
@@ -193,7 +195,11 @@ public class NumberingPane extends JComponent {
     }
 
     public List<IconListener> getIconListeners() {
-        return listenerMap.values().stream().flatMap(List::stream).collect(Collectors.toList());
+        List<IconListener> listeners = new ArrayList<>();
+        for (List<IconListener> list : listenerMap.values()) {
+            listeners.addAll(list);
+        }
+        return listeners;
     }
 
     public IndexListener[] getIndexListeners() {
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.util.*;
+
+import javax.swing.text.Position;
+
+/**
+ * Associates values with document positions and keeps them ordered by offset. Positions move with edits of the
+ * document but never change their relative order, hence the order stays valid without reordering and range queries
+ * only need a binary search.
+ *
+ * @param  <T> the value type.
+ * @author     Jannis Weis
+ */
+final class PositionIndex<T> {
+
+    private final Map<Position, Entry<T>> entryMap = new HashMap<>();
+    private final List<Entry<T>> entries = new ArrayList<>();
+
+    int size() {
+        return entries.size();
+    }
+
+    T get(final Position position) {
+        Entry<T> entry = entryMap.get(position);
+        return entry != null ? entry.value : null;
+    }
+
+    T put(final Position position, final T value) {
+        Entry<T> entry = entryMap.get(position);
+        if (entry != null) {
+            return entry.setValue(value);
+        }
+        entry = new Entry<>(position, value);
+        entries.add(upperBound(position.getOffset()), entry);
+        entryMap.put(position, entry);
+        return null;
+    }
+
+    T remove(final Position position) {
+        Entry<T> entry = entryMap.remove(position);
+        if (entry == null) return null;
+        int index = lowerBound(position.getOffset());
+        while (entries.get(index) != entry) {
+            index++;
+        }
+        entries.remove(index);
+        return entry.value;
+    }
+
+    /**
+     * Returns the entries with offsets in the given range in ascending order.
+     *
+     * @param  startOffset the start offset (inclusive).
+     * @param  endOffset   the end offset (inclusive).
+     * @return             the entries in range.
+     */
+    List<Map.Entry<Position, T>> getRange(final int startOffset, final int endOffset) {
+        if (startOffset > endOffset) return new ArrayList<>();
+        int start = lowerBound(startOffset);
+        int end = upperBound(endOffset);
+        return new ArrayList<>(entries.subList(start, Math.max(start, end)));
+    }
+
+    List<T> values() {
+        List<T> values = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    /*
+     * Index of the first entry with an offset >= the given offset.
+     */
+    private int lowerBound(final int offset) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).position.getOffset() < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * Index of the first entry with an offset > the given offset.
+     */
+    private int upperBound(final int offset) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).position.getOffset() <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Entry<T> implements Map.Entry<Position, T> {
+
+        private final Position position;
+        private T value;
+
+        private Entry(final Position position, final T value) {
+            this.position = position;
+            this.value = value;
+        }
+
+        @Override
+        public Position getKey() {
+            return position;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public T setValue(final T value) {
+            T old = this.value;
+            this.value = value;
+            return old;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.*;
+
+/**
+ * Frame clock shared by all {@link Animator}s. The clock only ticks while at least one animator is running and its
+ * component is showing. Each tick posts at most one event to the event dispatch thread, which advances all running
+ * animators and afterwards repaints the regions they requested, merged per component.
+ *
+ * @author Jannis Weis
+ */
+final class AnimationClock {
+
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    private static final AnimationClock INSTANCE = new AnimationClock();
+
+    private final ScheduledExecutorService scheduler = createScheduler();
+    private final List<Animator> animators = new CopyOnWriteArrayList<>();
+    private final Map<JComponent, Rectangle> dirtyRegions = new LinkedHashMap<>();
+    private final AtomicBoolean framePending = new AtomicBoolean(false);
+    private final Runnable frameTask = this::runFrame;
+    private ScheduledFuture<?> ticker;
+    private long frameInterval = -1;
+    private boolean inFrame;
+
+    private AnimationClock() {}
+
+    static AnimationClock get() {
+        return INSTANCE;
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, "Animations Thread");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    synchronized void start(final Animator animator) {
+        if (!animators.contains(animator)) animators.add(animator);
+        if (ticker == null) {
+            ticker = scheduler.scheduleAtFixedRate(this::requestFrame, 0, getFrameInterval(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    synchronized void stop(final Animator animator) {
+        animators.remove(animator);
+        if (animators.isEmpty() && ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    /*
+     * Ticks with the refresh rate of the default screen. The refresh rate isn't available in headless mode or for
+     * some displays, in which case a default of 60 frames per second is used.
+     */
+    private long getFrameInterval() {
+        if (frameInterval < 0) {
+            int refreshRate = DisplayMode.REFRESH_RATE_UNKNOWN;
+            if (!GraphicsEnvironment.isHeadless()) {
+                DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                                                      .getDefaultScreenDevice().getDisplayMode();
+                if (mode != null) refreshRate = mode.getRefreshRate();
+            }
+            if (refreshRate <= 0) refreshRate = DEFAULT_REFRESH_RATE;
+            frameInterval = TimeUnit.SECONDS.toNanos(1) / refreshRate;
+        }
+        return frameInterval;
+    }
+
+    private void requestFrame() {
+        if (framePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(frameTask);
+        }
+    }
+
+    private void runFrame() {
+        framePending.set(false);
+        inFrame = true;
+        try {
+            for (Animator animator : animators) {
+                if (animator.isPaused()) {
+                    // Leaves the clock until the component is showing again.
+                    animator.pause();
+                } else {
+                    animator.onTick();
+                }
+            }
+        } finally {
+            inFrame = false;
+            paintDirtyRegions();
+        }
+    }
+
+    /**
+     * Repaints the given region of the component. If called while advancing the animators the region is merged with
+     * all other regions requested for the component during the current frame and painted at the end of the frame.
+     *
+     * @param c the component.
+     * @param r the region to repaint.
+     */
+    void repaint(final JComponent c, final Rectangle r) {
+        if (inFrame) {
+            Rectangle dirty = dirtyRegions.get(c);
+            if (dirty == null) {
+                dirtyRegions.put(c, new Rectangle(r));
+            } else {
+                dirty.add(r);
+            }
+        } else if (SwingUtilities.isEventDispatchThread()) {
+            c.paintImmediately(r);
+        } else {
+            c.repaint(r);
+        }
+    }
+
+    private void paintDirtyRegions() {
+        Iterator<Map.Entry<JComponent, Rectangle>> iterator = dirtyRegions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<JComponent, Rectangle> entry = iterator.next();
+            iterator.remove();
+            entry.getKey().paintImmediately(entry.getValue());
+        }
+    }
+}
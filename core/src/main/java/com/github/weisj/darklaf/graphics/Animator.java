@@ -24,29 +24,31 @@
  */
 package com.github.weisj.darklaf.graphics;
 
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 
 import javax.swing.*;
 
 /**
+ * Base class for frame based animations. All running animators are advanced together by a shared frame clock on the
+ * event dispatch thread.
+ *
  * @author Konstantin Bulenkov
  */
 public abstract class Animator {
-    private final static ScheduledExecutorService scheduler = createScheduler();
     private final int totalFrames;
     private final int cycleDuration;
     private final boolean forward;
     private final boolean repeatable;
-    private ScheduledFuture<?> ticker;
+    private volatile boolean running;
     private int startFrame;
     private int currentFrame;
     private long startTime;
     private long stopTime;
     private volatile boolean disposed = false;
+    private Component pausedComponent;
+    private HierarchyListener showingListener;
 
     public Animator(final String name,
                     final int totalFrames,
@@ -79,19 +81,6 @@ public abstract class Animator {
         if (!forward) currentFrame = totalFrames - currentFrame;
     }
 
-    private static ScheduledExecutorService createScheduler() {
-        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
-            final Thread thread = new Thread(r, "Animations Thread");
-            thread.setDaemon(true);
-            thread.setPriority(Thread.MAX_PRIORITY);
-            return thread;
-        });
-        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
-        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
-        return executor;
-
-    }
-
     public void suspend() {
         resetTime();
         reset();
@@ -99,10 +88,11 @@ public abstract class Animator {
     }
 
     private void stopTicker() {
-        if (ticker != null) {
-            ticker.cancel(false);
-            ticker = null;
+        if (running) {
+            running = false;
+            AnimationClock.get().stop(this);
         }
+        removeShowingListener();
     }
 
     public void resume() {
@@ -117,22 +107,10 @@ public abstract class Animator {
             currentFrame = totalFrames - 1;
             paint();
             animationDone();
-        } else if (ticker == null) {
+        } else if (!running && !isDisposed()) {
             this.startFrame = startFrame;
-            ticker = scheduler.scheduleWithFixedDelay(new Runnable() {
-                final AtomicBoolean isScheduled = new AtomicBoolean(false);
-
-                @Override
-                public void run() {
-                    if (!isScheduled.get() && !isDisposed()) {
-                        isScheduled.set(true);
-                        SwingUtilities.invokeLater(() -> {
-                            onTick();
-                            isScheduled.set(false);
-                        });
-                    }
-                }
-            }, 0, cycleDuration * 1000 / totalFrames, TimeUnit.MICROSECONDS);
+            running = true;
+            AnimationClock.get().start(this);
         }
     }
 
@@ -142,15 +120,87 @@ public abstract class Animator {
 
     private void animationDone() {
         stopTicker();
-        SwingUtilities.invokeLater(this::paintCycleEnd);
+        if (SwingUtilities.isEventDispatchThread()) {
+            paintCycleEnd();
+        } else {
+            SwingUtilities.invokeLater(this::paintCycleEnd);
+        }
     }
 
     public boolean isDisposed() {
         return disposed;
     }
 
-    private void onTick() {
-        if (isDisposed() || ticker == null) return;
+    /**
+     * Returns the component this animator paints to. While the component isn't showing the animation is paused. If
+     * null the animation is never paused.
+     *
+     * @return the animated component.
+     */
+    protected Component getAnimatedComponent() {
+        return null;
+    }
+
+    boolean isPaused() {
+        Component c = getAnimatedComponent();
+        return c != null && !c.isShowing();
+    }
+
+    /*
+     * Called by the clock if the animated component isn't showing. The animator leaves the clock until the component
+     * is showing again, so hidden animations don't keep the clock ticking.
+     */
+    synchronized void pause() {
+        Component c = getAnimatedComponent();
+        if (c == null || showingListener != null) return;
+        AnimationClock.get().stop(this);
+        pausedComponent = c;
+        showingListener = e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && c.isShowing()) {
+                continueAfterPause();
+            }
+        };
+        c.addHierarchyListener(showingListener);
+        // The component may have become visible in the meantime.
+        if (c.isShowing()) continueAfterPause();
+    }
+
+    private synchronized void continueAfterPause() {
+        removeShowingListener();
+        if (running && !isDisposed()) AnimationClock.get().start(this);
+    }
+
+    private synchronized void removeShowingListener() {
+        if (showingListener != null) {
+            pausedComponent.removeHierarchyListener(showingListener);
+            showingListener = null;
+            pausedComponent = null;
+        }
+    }
+
+    /**
+     * Repaints the given region of the component. Regions requested by all animators during the same frame are
+     * merged and painted together at the end of the frame.
+     *
+     * @param c the component.
+     * @param r the region to repaint.
+     */
+    protected void requestRepaint(final JComponent c, final Rectangle r) {
+        AnimationClock.get().repaint(c, r);
+    }
+
+    /**
+     * Repaints the whole component.
+     *
+     * @param c the component.
+     * @see     #requestRepaint(JComponent, Rectangle)
+     */
+    protected void requestRepaint(final JComponent c) {
+        requestRepaint(c, new Rectangle(0, 0, c.getWidth(), c.getHeight()));
+    }
+
+    void onTick() {
+        if (isDisposed() || !running) return;
 
         if (startTime == -1) {
             startTime = System.currentTimeMillis();
@@ -161,7 +211,8 @@ public abstract class Animator {
         final double totalTime = stopTime - startTime;
 
         final int newFrame = (int) (passedTime * totalFrames / totalTime) + startFrame;
-        if (currentFrame > 0 && newFrame == currentFrame) return;
+        int frame = repeatable && forward ? newFrame % totalFrames : newFrame;
+        if (currentFrame > 0 && frame == currentFrame) return;
         currentFrame = newFrame;
 
         if (currentFrame >= totalFrames) {
@@ -188,7 +239,7 @@ public abstract class Animator {
     }
 
     public boolean isRunning() {
-        return ticker != null;
+        return running;
     }
 
     public final boolean isForward() {
@@ -25,6 +25,8 @@
 package com.github.weisj.darklaf.listener;
 
 import java.awt.*;
+import java.util.*;
+import java.util.List;
 
 import javax.swing.*;
 
@@ -37,40 +39,105 @@ import com.github.weisj.darklaf.theme.event.ThemeChangeListener;
  * This listener only needs to be used with the top most component.
  * This listener isn't needed for components that are part of a visible ui hierarchy.
  * The listener has to be added with {@link LafManager#addThemeChangeListener(ThemeChangeListener)}
+ * <p>
+ * Alternatively components can be registered using {@link #registerComponent(JComponent)}. Registered components are
+ * only weakly referenced and don't need to be removed in order to be garbage collected. After a theme has been
+ * installed all registered component trees are updated exactly once in a single pass on the event dispatch thread.
+ * Components nested inside another registered component or part of a window are skipped, as they are already updated
+ * with their parent.
  */
 public class UIUpdater implements ThemeChangeListener {
 
-    private static final String KEY_UPDATER = "JComponent.uiUpdaterLister";
+    private static final Map<JComponent, Boolean> registeredComponents = new WeakHashMap<>();
+    private static final ThemeChangeListener registryListener = new ThemeChangeListener() {
+        @Override
+        public void themeChanged(final ThemeChangeEvent e) {}
+
+        @Override
+        public void themeInstalled(final ThemeChangeEvent e) {
+            scheduleUpdate();
+        }
+    };
+    private static boolean listenerInstalled;
+    private static boolean updateScheduled;
 
     /**
-     * Creates and registers a new {@link UIUpdater} with the given component.
+     * Registers the given component to be updated after a new theme has been installed. The component is only weakly
+     * referenced. Registering a component more than once has no effect.
      *
      * @param component the component.
      */
     public static void registerComponent(final JComponent component) {
         if (component == null) return;
-        removeComponent(component);
-        UIUpdater updater = new UIUpdater(component);
-        component.putClientProperty(KEY_UPDATER, updater);
-        LafManager.addThemeChangeListener(new UIUpdater(component));
+        synchronized (registeredComponents) {
+            registeredComponents.put(component, Boolean.TRUE);
+            if (!listenerInstalled) {
+                LafManager.addThemeChangeListener(registryListener);
+                listenerInstalled = true;
+            }
+        }
     }
 
     /**
-     * Remove the registered {@link UIUpdater} from the component.
-     * This needs to be called in order for the component to be garbage collected.
+     * Remove the component from the registered components.
      *
      * @param component the component to unregister.
      */
     public static void removeComponent(final JComponent component) {
-        Object updater = component.getClientProperty(KEY_UPDATER);
-        if (updater instanceof UIUpdater) {
-            removeComponent(component, (UIUpdater) updater);
+        if (component == null) return;
+        synchronized (registeredComponents) {
+            registeredComponents.remove(component);
+        }
+    }
+
+    /**
+     * Returns the number of registered components, which haven't been garbage collected yet. This can be used to
+     * monitor components which are unintentionally kept alive.
+     *
+     * @return the number of live registrations.
+     */
+    public static int getRegisteredComponentCount() {
+        synchronized (registeredComponents) {
+            return registeredComponents.size();
         }
     }
 
-    private static void removeComponent(final JComponent component, final UIUpdater updater) {
-        component.putClientProperty(KEY_UPDATER, null);
-        LafManager.removeThemeChangeListener(updater);
+    private static void scheduleUpdate() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            updateRegisteredComponents();
+            return;
+        }
+        synchronized (registeredComponents) {
+            if (updateScheduled) return;
+            updateScheduled = true;
+        }
+        SwingUtilities.invokeLater(UIUpdater::updateRegisteredComponents);
+    }
+
+    private static void updateRegisteredComponents() {
+        List<JComponent> roots;
+        synchronized (registeredComponents) {
+            updateScheduled = false;
+            roots = new ArrayList<>(registeredComponents.size());
+            for (JComponent component : registeredComponents.keySet()) {
+                if (isUpdateRoot(component)) roots.add(component);
+            }
+        }
+        for (JComponent root : roots) {
+            SwingUtilities.updateComponentTreeUI(root);
+        }
+    }
+
+    /*
+     * Components inside a window are updated together with all windows during installation.
+     * Components inside another registered component are updated with it.
+     */
+    private static boolean isUpdateRoot(final JComponent component) {
+        for (Container parent = component.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent instanceof Window) return false;
+            if (parent instanceof JComponent && registeredComponents.containsKey(parent)) return false;
+        }
+        return true;
     }
 
     private final Component component;
@@ -29,7 +29,7 @@ import java.util.List;
 import java.util.Properties;
 import java.util.logging.Logger;
 
-import com.github.weisj.darklaf.color.DarkColorModelHSB;
+import com.github.weisj.darklaf.color.ColorConversion;
 import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.uiresource.DarkColorUIResource;
 import com.github.weisj.darklaf.util.LogUtil;
@@ -63,7 +63,7 @@ public class AccentColorAdjustmentTask extends ColorAdjustmentTask {
     private void adjustColors(final String listKey, final Color c,
                               final Properties listProperties, final Properties properties) {
         adjust(listKey, listProperties, list -> {
-            double[] hsb = DarkColorModelHSB.RGBtoHSBValues(c.getRed(), c.getGreen(), c.getBlue());
+            double[] hsb = ColorConversion.rgbToHSB(c.getRGB(), new double[3]);
             adjustColorList(list, hsb, properties);
         });
     }
@@ -110,10 +110,9 @@ public class AccentColorAdjustmentTask extends ColorAdjustmentTask {
     private Object mapColor(final ColorInfo info, final double[] hsbMatch, final Properties properties) {
         Object obj = properties.get(info.key);
         if (obj instanceof Color) {
-            Color color = DarkColorModelHSB.getColorFromHSBValues(mapValue(hsbMatch[0], info.hAdj),
-                                                                  mapValue(hsbMatch[1], info.sAdj),
-                                                                  mapValue(hsbMatch[2], info.bAdj));
-            return new DarkColorUIResource(color);
+            return new DarkColorUIResource(ColorConversion.hsbToRGB(mapValue(hsbMatch[0], info.hAdj),
+                                                                    mapValue(hsbMatch[1], info.sAdj),
+                                                                    mapValue(hsbMatch[2], info.bAdj)));
         }
         return obj;
     }
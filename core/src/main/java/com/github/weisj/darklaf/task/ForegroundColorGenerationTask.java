@@ -27,8 +27,9 @@ package com.github.weisj.darklaf.task;
 import java.awt.*;
 import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
-import com.github.weisj.darklaf.color.DarkColorModelHSB;
+import com.github.weisj.darklaf.color.ColorConversion;
 import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.theme.info.AccentColorRule;
 import com.github.weisj.darklaf.util.Pair;
@@ -58,22 +59,30 @@ public class ForegroundColorGenerationTask extends ColorAdjustmentTask {
     }
 
     private void adjustForegroundList(final List<?> list, final Properties properties) {
-        list.stream()
-            .filter(o -> o instanceof Pair<?, ?>)
-            .map(Pair.class::cast)
-            .filter(p -> p.getFirst() instanceof Color)
-            .forEach(p -> properties.put(p.getSecond(), makeForeground((Color) p.getFirst())));
+        List<Pair<?, ?>> entries = list.stream()
+                                       .filter(o -> o instanceof Pair<?, ?>)
+                                       .map(o -> (Pair<?, ?>) o)
+                                       .filter(p -> p.getFirst() instanceof Color)
+                                       .collect(Collectors.toList());
+        int count = entries.size();
+        int[] rgb = new int[count];
+        for (int i = 0; i < count; i++) {
+            rgb[i] = ((Color) entries.get(i).getFirst()).getRGB();
+        }
+        double[] hsb = new double[3 * count];
+        ColorConversion.rgbToHSB(rgb, 0, hsb, 0, count);
+        for (int i = 0; i < count; i++) {
+            properties.put(entries.get(i).getSecond(), makeForeground(hsb[3 * i], hsb[3 * i + 2]));
+        }
     }
 
-    private Color makeForeground(final Color c) {
-        double[] hsb = DarkColorModelHSB.RGBtoHSBValues(c.getRed(), c.getGreen(), c.getBlue());
-        double b = hsb[2];
+    private Color makeForeground(final double hue, final double b) {
         double brightness = 1 - b;
         double difference = Math.abs(brightness - b);
         if (difference < MIN_FOREGROUND_DIFFERENCE) {
             int bias = b < 0.5 ? 1 : -1;
             brightness += bias * (Math.abs(MIN_FOREGROUND_DIFFERENCE - difference));
         }
-        return DarkColorModelHSB.getColorFromHSBValues(hsb[0], 0, brightness);
+        return new Color(ColorConversion.hsbToRGB(hue, 0, brightness));
     }
 }
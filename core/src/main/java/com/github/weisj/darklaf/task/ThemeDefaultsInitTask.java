@@ -24,19 +24,29 @@
  */
 package com.github.weisj.darklaf.task;
 
-import java.util.HashMap;
-import java.util.Properties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.util.*;
 
 import javax.swing.*;
 
 import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.DefaultsSnapshot;
+import com.github.weisj.darklaf.LafManager;
 import com.github.weisj.darklaf.PropertyLoader;
+import com.github.weisj.darklaf.PropertyResolver;
 import com.github.weisj.darklaf.platform.DecorationsHandler;
 import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.theme.info.AccentColorRule;
 import com.github.weisj.darklaf.util.SystemInfo;
 
 public class ThemeDefaultsInitTask implements DefaultsInitTask {
 
+    public static final String SNAPSHOT_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "useDefaultsSnapshot";
+    private static final String SNAPSHOT_PATH = "snapshot/";
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
     private static final String GLOBAL_PREFIX = "global.";
     private static final String MAC_OS_MENU_BAR_KEY = "apple.laf.useScreenMenuBar";
     private static final String[] UI_PROPERTIES = new String[]{"borders", "button", "cell", "checkBox", "colorChooser",
@@ -54,14 +64,69 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
     private final DefaultsAdjustmentTask userPreferenceAdjustment = new UserDefaultsAdjustmentTask();
     private final DefaultsAdjustmentTask accentColorAdjustment = new AccentColorAdjustmentTask();
     private final DefaultsAdjustmentTask foregroundGeneration = new ForegroundColorGenerationTask();
+    /*
+     * The installed defaults and the resolver used to load them. The resolver is null if the defaults have been
+     * loaded from a snapshot and no incremental update has happened yet.
+     */
+    private WeakReference<UIDefaults> installedDefaults = new WeakReference<>(null);
+    private PropertyResolver installedResolver;
 
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
         loadThemeDefaults(currentTheme, defaults);
     }
 
-    private void loadThemeDefaults(final Theme currentTheme, final UIDefaults defaults) {
+    /**
+     * Loads the defaults of the given theme, which are about to be installed. Other than
+     * {@link #run(Theme, UIDefaults)} this keeps track of how the defaults have been loaded, so they can be updated by
+     * {@link #applyAccentColors(Theme, Theme, UIDefaults)} without parsing them again.
+     *
+     * @param currentTheme the theme being installed.
+     * @param defaults     the defaults to install.
+     */
+    public void install(final Theme currentTheme, final UIDefaults defaults) {
+        PropertyResolver resolver = loadThemeDefaults(currentTheme, defaults);
+        synchronized (this) {
+            installedDefaults = new WeakReference<>(defaults);
+            installedResolver = resolver;
+        }
+    }
+
+    private PropertyResolver loadThemeDefaults(final Theme currentTheme, final UIDefaults defaults) {
         Properties uiProps = new Properties();
+        PropertyResolver resolver = null;
+        if (!loadSnapshot(currentTheme, defaults, uiProps)) {
+            resolver = loadParsedDefaults(currentTheme, defaults, uiProps);
+        }
+
+        initPlatformProperties(currentTheme, defaults, uiProps);
+
+        DecorationsHandler.getSharedInstance().loadDecorationProperties(uiProps, defaults);
+        adjustPlatformSpecifics(uiProps);
+        defaults.putAll(uiProps);
+        return resolver;
+    }
+
+    /*
+     * Loads all platform independent properties. This is the part of the defaults which can be
+     * precompiled into a snapshot.
+     */
+    private PropertyResolver loadParsedDefaults(final Theme currentTheme, final UIDefaults defaults,
+                                                final Properties uiProps) {
+        loadThemeProperties(currentTheme, defaults, uiProps);
+
+        /*
+         * References between the remaining property files are resolved by their dependencies, hence the order
+         * of the files only matters for keys defined more than once.
+         */
+        PropertyResolver resolver = new PropertyResolver();
+        initGlobals(currentTheme, defaults, uiProps, resolver);
+        initUIProperties(currentTheme, defaults, uiProps, resolver);
+        initIconTheme(currentTheme, defaults, uiProps, resolver);
+        return resolver;
+    }
+
+    private void loadThemeProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
         currentTheme.loadDefaults(uiProps, defaults);
 
         /*
@@ -75,20 +140,194 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
          */
         accentColorAdjustment.run(currentTheme, uiProps);
         foregroundGeneration.run(currentTheme, uiProps);
+    }
 
-        initGlobals(currentTheme, defaults, uiProps);
-        initUIProperties(currentTheme, defaults, uiProps);
-        initIconTheme(currentTheme, defaults, uiProps);
-        initPlatformProperties(currentTheme, defaults, uiProps);
+    /**
+     * Applies the accent colors of the given theme to defaults which have been loaded by this task for a theme only
+     * differing in its accent colors. Only the values which depend on the accent colors are replaced. All other values
+     * are left untouched.
+     *
+     * @param  oldTheme the theme the defaults have been loaded for.
+     * @param  theme    the theme with the new accent colors.
+     * @param  defaults the defaults to update.
+     * @return          the keys of all changed values.
+     */
+    public Set<String> applyAccentColors(final Theme oldTheme, final Theme theme, final UIDefaults defaults) {
+        /*
+         * Only the scratch copy is passed to the property loader. Otherwise values parsed as null would be removed
+         * from the installed defaults.
+         */
+        UIDefaults scratchDefaults = new UIDefaults(defaults.size(), 0.75f);
+        scratchDefaults.putAll(defaults);
+        Properties oldProps = new Properties();
+        Properties newProps = new Properties();
+        loadThemeProperties(oldTheme, scratchDefaults, oldProps);
+        loadThemeProperties(theme, scratchDefaults, newProps);
 
-        DecorationsHandler.getSharedInstance().loadDecorationProperties(uiProps, defaults);
-        adjustPlatformSpecifics(uiProps);
-        defaults.putAll(uiProps);
+        Set<String> changed = new LinkedHashSet<>();
+        Set<Object> keys = new HashSet<>(oldProps.keySet());
+        keys.addAll(newProps.keySet());
+        for (Object key : keys) {
+            Object oldValue = oldProps.get(key);
+            Object newValue = newProps.get(key);
+            if (!(key instanceof String) || Objects.equals(oldValue, newValue)) continue;
+            // The value has been overwritten while loading the remaining properties.
+            if (!Objects.equals(defaults.get(key), oldValue)) continue;
+            if (newValue != null) {
+                defaults.put(key, newValue);
+            } else {
+                defaults.remove(key);
+            }
+            changed.add((String) key);
+        }
+        if (changed.isEmpty()) return changed;
+
+        PropertyResolver resolver = getPropertyResolver(defaults);
+        Map<String, Object> oldGlobals = getGlobals(defaults);
+        changed.addAll(resolver.update(changed, defaults, defaults));
+        changed.addAll(updateGlobals(oldGlobals, getGlobals(defaults), defaults));
+
+        Set<String> prefixes = new HashSet<>();
+        for (String key : changed) {
+            prefixes.add(getPrefix(key));
+        }
+        changed.addAll(resolver.reloadObjects(k -> prefixes.contains(getPrefix(k)), defaults, defaults));
+        return changed;
+    }
+
+    private synchronized PropertyResolver getPropertyResolver(final UIDefaults defaults) {
+        if (installedDefaults.get() != defaults || installedResolver == null) {
+            /*
+             * The defaults have been loaded from a snapshot or not through this task. Build the dependency graph
+             * without parsing the values again.
+             */
+            PropertyResolver resolver = new PropertyResolver();
+            resolver.putProperties(PropertyLoader.loadProperties(DarkLaf.class, "globals", "properties/"));
+            for (String property : UI_PROPERTIES) {
+                resolver.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/ui/"));
+            }
+            for (String property : ICON_PROPERTIES) {
+                resolver.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/icons/"));
+            }
+            resolver.assumeResolved(defaults);
+            installedDefaults = new WeakReference<>(defaults);
+            installedResolver = resolver;
+        }
+        return installedResolver;
+    }
+
+    private Map<String, Object> getGlobals(final UIDefaults defaults) {
+        Map<String, Object> globals = new HashMap<>();
+        for (Object key : defaults.keySet()) {
+            if (key instanceof String && ((String) key).startsWith(GLOBAL_PREFIX)) {
+                globals.put(((String) key).substring(GLOBAL_PREFIX.length()), defaults.get(key));
+            }
+        }
+        return globals;
+    }
+
+    /*
+     * Replaces the values installed by #installGlobals if the corresponding global value has changed.
+     */
+    private Set<String> updateGlobals(final Map<String, Object> oldGlobals, final Map<String, Object> newGlobals,
+                                      final UIDefaults defaults) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<Object, Object> entry : defaults.entrySet()) {
+            if (!(entry.getKey() instanceof String)) continue;
+            String key = (String) entry.getKey();
+            String globalKey = key.substring(key.lastIndexOf('.') + 1);
+            Object oldValue = oldGlobals.get(globalKey);
+            Object newValue = newGlobals.get(globalKey);
+            if (oldValue != null && newValue != null && oldValue != newValue && entry.getValue() == oldValue) {
+                entry.setValue(newValue);
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    private static String getPrefix(final String key) {
+        int index = key.indexOf('.');
+        return index >= 0 ? key.substring(0, index) : key;
+    }
+
+    private boolean loadSnapshot(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
+        if (!isSnapshotSupported(currentTheme) || !Boolean.parseBoolean(System.getProperty(SNAPSHOT_FLAG, "true"))) {
+            return false;
+        }
+        InputStream in = openSnapshot(currentTheme);
+        return DefaultsSnapshot.read(in, fingerprint(currentTheme, defaults), uiProps, defaults);
+    }
+
+    /**
+     * Opens the snapshot of the given theme.
+     *
+     * @param  theme the theme.
+     * @return       the stream of the snapshot or null if there is no snapshot for the theme.
+     * @see          #getSnapshotPath(Theme)
+     */
+    protected InputStream openSnapshot(final Theme theme) {
+        return DarkLaf.class.getResourceAsStream(getSnapshotPath(theme));
+    }
+
+    /**
+     * Writes the snapshot of the platform independent properties of the given theme. The snapshot is only valid for
+     * defaults equal to the given defaults i.e. the defaults of the base look and feel with unused properties
+     * removed.
+     *
+     * @param  currentTheme             the theme to write the snapshot for.
+     * @param  defaults                 the defaults to create the snapshot against.
+     * @param  out                      the stream to write the snapshot to.
+     * @throws IOException              if writing the snapshot fails.
+     * @throws IllegalStateException    if the theme depends on runtime customizations e.g. custom accent colors.
+     * @throws IllegalArgumentException if a value can't be stored in a snapshot.
+     * @see                             #getSnapshotPath(Theme)
+     */
+    public void writeSnapshot(final Theme currentTheme, final UIDefaults defaults,
+                              final OutputStream out) throws IOException {
+        if (!isSnapshotSupported(currentTheme)) {
+            throw new IllegalStateException("Theme " + currentTheme + " can't be stored as a snapshot.");
+        }
+        int fingerprint = fingerprint(currentTheme, defaults);
+        Map<Object, Object> initialDefaults = new HashMap<>(defaults);
+        Properties uiProps = new Properties();
+        DefaultsSnapshot.Recorder recorder = DefaultsSnapshot.startRecording();
+        try {
+            loadParsedDefaults(currentTheme, defaults, uiProps);
+        } finally {
+            recorder.stop();
+        }
+        DefaultsSnapshot.write(out, fingerprint, uiProps, initialDefaults, defaults, recorder);
+    }
+
+    /**
+     * Get the location of the snapshot for the given theme relative to {@link DarkLaf}.
+     *
+     * @param  theme the theme.
+     * @return       the path of the snapshot.
+     */
+    public static String getSnapshotPath(final Theme theme) {
+        return SNAPSHOT_PATH + theme.getThemeClass().getName() + SNAPSHOT_EXTENSION;
+    }
+
+    /*
+     * Snapshots can only be used if the result doesn't depend on customizations made at runtime.
+     */
+    private boolean isSnapshotSupported(final Theme currentTheme) {
+        AccentColorRule accentColorRule = currentTheme.getAccentColorRule();
+        return accentColorRule.getAccentColor() == null
+               && accentColorRule.getSelectionColor() == null
+               && LafManager.getUserDefaultsAdjustmentTasks().isEmpty();
+    }
+
+    private int fingerprint(final Theme currentTheme, final UIDefaults defaults) {
+        return DefaultsSnapshot.fingerprint(currentTheme.getThemeClass().getName(), defaults);
     }
 
-    private void initGlobals(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
-        PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, "globals", "properties/"), uiProps,
-                                     defaults);
+    private void initGlobals(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+                             final PropertyResolver resolver) {
+        resolver.putProperties(PropertyLoader.loadProperties(DarkLaf.class, "globals", "properties/"));
+        resolver.resolve(uiProps, defaults);
 
         currentTheme.customizeGlobals(uiProps, defaults);
         installGlobals(uiProps, defaults);
@@ -110,20 +349,22 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
                                          });
     }
 
-    private void initUIProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
+    private void initUIProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+                                  final PropertyResolver resolver) {
         for (String property : UI_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/ui/"),
-                                         uiProps, defaults);
+            resolver.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/ui/"));
         }
+        resolver.resolve(uiProps, defaults);
         currentTheme.customizeUIProperties(uiProps, defaults);
     }
 
-    private void initIconTheme(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
+    private void initIconTheme(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+                               final PropertyResolver resolver) {
         currentTheme.loadIconTheme(uiProps, defaults);
         for (String property : ICON_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/icons/"),
-                                         uiProps, defaults);
+            resolver.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/icons/"));
         }
+        resolver.resolve(uiProps, defaults);
         currentTheme.customizeIconTheme(uiProps, defaults);
     }
 
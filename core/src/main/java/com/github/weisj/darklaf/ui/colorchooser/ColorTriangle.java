@@ -38,13 +38,16 @@ import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
 import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.color.ColorConversion;
 import com.github.weisj.darklaf.color.DarkColorModel;
 import com.github.weisj.darklaf.color.DarkColorModelHSB;
 import com.github.weisj.darklaf.color.DarkColorModelHSL;
@@ -74,6 +77,8 @@ public class ColorTriangle extends JComponent {
     protected double saturationHSL;
     protected double lightnessHSL;
     protected double opacity = 1.0;
+    private final double[] hsbBuffer = new double[3];
+    private final double[] hslBuffer = new double[3];
 
     protected CircleInfo circleInfo = new CircleInfo();
     protected Shape circleShape;
@@ -81,6 +86,8 @@ public class ColorTriangle extends JComponent {
     protected AffineTransform triangleInverse;
     protected Shape outerIndicator;
     protected Shape innerIndicator;
+    protected InnerPaint innerPaint;
+    protected OuterPaint outerPaint;
 
     protected double centerX;
     protected double centerY;
@@ -264,7 +271,7 @@ public class ColorTriangle extends JComponent {
         if (isHSB) {
             return Color.HSBtoRGB((float) h, (float) s, (float) v);
         } else {
-            return DarkColorModelHSL.getColorFromHSLValues(h, s, v).getRGB();
+            return ColorConversion.hslToRGB(h, s, v);
         }
     }
 
@@ -313,9 +320,9 @@ public class ColorTriangle extends JComponent {
     protected void setColorFromRGB(final Object source, final int r, final int g, final int b) {
         if (isMessaging) return;
         this.color = new Color(r, g, b);
-        double[] hsb = DarkColorModelHSB.RGBtoHSBValues(r, g, b);
-        double[] hsl = DarkColorModelHSL.RGBtoHSLValues(r, g, b);
-        if (Color.getHSBColor((float) getHSBHue(), (float) hsb[1], (float) hsb[2]).equals(color)) {
+        double[] hsb = ColorConversion.rgbToHSB(color.getRGB(), hsbBuffer);
+        double[] hsl = ColorConversion.rgbToHSL(color.getRGB(), hslBuffer);
+        if (Color.HSBtoRGB((float) getHSBHue(), (float) hsb[1], (float) hsb[2]) == color.getRGB()) {
             hsb[0] = getHSBHue();
             hsl[0] = getHSLHue();
         }
@@ -329,8 +336,8 @@ public class ColorTriangle extends JComponent {
     protected void setColorFromHSL(final Object source, final double h, final double s, final double l) {
         if (isMessaging) return;
         setHSL(h, s, l);
-        color = DarkColorModelHSL.getColorFromHSLValues(h, s, l);
-        setHSB(DarkColorModelHSB.RGBtoHSBValues(color.getRed(), color.getGreen(), color.getBlue()));
+        color = new Color(ColorConversion.hslToRGB(h, s, l));
+        setHSB(ColorConversion.rgbToHSB(color.getRGB(), hsbBuffer));
         setHSBHue(h);
         rotation = -(getHue() * 2 * Math.PI) + Math.PI / 2;
         invalidateWheel();
@@ -340,8 +347,8 @@ public class ColorTriangle extends JComponent {
     protected void setColorFromHSB(final Object source, final double h, final double s, final double b) {
         if (isMessaging) return;
         setHSB(h, s, b);
-        color = DarkColorModelHSB.getColorFromHSBValues(h, s, b);
-        setHSL(DarkColorModelHSL.RGBtoHSLValues(color.getRed(), color.getGreen(), color.getBlue()));
+        color = new Color(ColorConversion.hsbToRGB(h, s, b));
+        setHSL(ColorConversion.rgbToHSL(color.getRGB(), hslBuffer));
         setHSLHue(h);
         rotation = -(getHue() * 2 * Math.PI) + Math.PI / 2;
         invalidateWheel();
@@ -360,11 +367,12 @@ public class ColorTriangle extends JComponent {
 
     protected void syncValues() {
         if (isHSB) {
-            color = Color.getHSBColor((float) getHSBHue(), (float) getHSBSaturation(), (float) getHSBValue());
-            setHSL(DarkColorModelHSL.RGBtoHSLValues(color.getRed(), color.getGreen(), color.getBlue()));
+            color = new Color(Color.HSBtoRGB((float) getHSBHue(), (float) getHSBSaturation(),
+                                             (float) getHSBValue()));
+            setHSL(ColorConversion.rgbToHSL(color.getRGB(), hslBuffer));
         } else {
-            color = DarkColorModelHSL.getColorFromHSLValues(getHSLHue(), getHSLSaturation(), getHSLValue());
-            setHSB(DarkColorModelHSB.RGBtoHSBValues(color.getRed(), color.getGreen(), color.getBlue()));
+            color = new Color(ColorConversion.hslToRGB(getHSLHue(), getHSLSaturation(), getHSLValue()));
+            setHSB(ColorConversion.rgbToHSB(color.getRGB(), hsbBuffer));
         }
     }
 
@@ -389,7 +397,7 @@ public class ColorTriangle extends JComponent {
         double rotation = getRotation(x, y, centerX, centerY);
         double hue = 0.25 - rotation / (2.0 * Math.PI);
         triangleInverse.transform(p, p);
-        Point2D sv = getSaturationAndValue(p.getX(), p.getY());
+        Point2D sv = getSaturationAndValue(p.getX(), p.getY(), p);
         PickArea area = PickArea.OUTSIDE;
         if (triangleShape.contains(x, y) || innerIndicator.contains(x, y)) {
             area = PickArea.TRIANGLE;
@@ -400,11 +408,16 @@ public class ColorTriangle extends JComponent {
     }
 
     protected Point2D getSaturationAndValue(final double x, final double y) {
+        return getSaturationAndValue(x, y, new Point2D.Double());
+    }
+
+    protected Point2D getSaturationAndValue(final double x, final double y, final Point2D result) {
         double x1 = (x - centerX) / innerRadius;
         double y1 = (y - centerY) / innerRadius;
         double sat = (1.0 - 2.0 * y1) / (SQRT3 * x1 - y1 + 2.0);
         double val = (SQRT3 * x1 - y1 + 2.0) / 3.0;
-        return new Point2D.Double(Math.max(Math.min(sat, 1), 0), Math.max(Math.min(val, 1), 0));
+        result.setLocation(Math.max(Math.min(sat, 1), 0), Math.max(Math.min(val, 1), 0));
+        return result;
     }
 
     protected static double getRotation(final double x, final double y, final double cx, final double cy) {
@@ -433,10 +446,12 @@ public class ColorTriangle extends JComponent {
         }
 
         g2d.setComposite(COMPOSITE.derive((float) opacity));
-        g2d.setPaint(new InnerPaint());
+        if (innerPaint == null) innerPaint = new InnerPaint();
+        if (outerPaint == null) outerPaint = new OuterPaint();
+        g2d.setPaint(innerPaint);
         g2d.fill(triangleShape);
 
-        g2d.setPaint(new OuterPaint());
+        g2d.setPaint(outerPaint);
         g2d.fill(circleShape);
         context.restoreComposite();
 
@@ -572,7 +587,7 @@ public class ColorTriangle extends JComponent {
         public PaintContext createContext(final ColorModel cm, final Rectangle deviceBounds,
                                           final Rectangle2D userBounds, final AffineTransform xform,
                                           final RenderingHints hints) {
-            context.setHints(deviceBounds, xform);
+            context.setHints(deviceBounds, userBounds, xform);
             return context;
         }
 
@@ -600,6 +615,8 @@ public class ColorTriangle extends JComponent {
         protected double cx;
         protected double cy;
         protected AffineTransform transform;
+        private WritableRaster tile;
+        private int[] tileData;
 
         public void setHints(final Rectangle deviceBounds, final AffineTransform transform) {
             this.deviceBounds = deviceBounds;
@@ -608,6 +625,19 @@ public class ColorTriangle extends JComponent {
             this.transform = transform;
         }
 
+        public void setHints(final Rectangle deviceBounds, final Rectangle2D userBounds,
+                             final AffineTransform transform) {
+            setHints(deviceBounds, transform);
+            /*
+             * The device bounds are clipped to the area being painted. Derive the center from the
+             * shape bounds instead, so partial repaints produce the same colors.
+             */
+            dummy.setLocation(userBounds.getCenterX(), userBounds.getCenterY());
+            transform.transform(dummy, dummy);
+            cx = dummy.getX();
+            cy = dummy.getY();
+        }
+
         @Override
         public void dispose() {}
 
@@ -616,50 +646,154 @@ public class ColorTriangle extends JComponent {
             return ColorModel.getRGBdefault();
         }
 
-        protected void setPixel(final WritableRaster raster, final int i, final int j, final int rgb) {
-            setPixel(raster, i, j, new int[]{(rgb >> 16) & 0xFF,
-                                             (rgb >> 8) & 0xFF,
-                                             (rgb) & 0xFF,
-                                             255});
+        /**
+         * Returns a raster of at least the given size. The raster is reused between calls, which allows the
+         * rendering pipeline to reuse its surface for every tile.
+         *
+         * @param  w the minimum width.
+         * @param  h the minimum height.
+         * @return   the tile raster.
+         */
+        protected WritableRaster getTile(final int w, final int h) {
+            if (tile == null || tile.getWidth() < w || tile.getHeight() < h) {
+                int width = tile != null ? Math.max(w, tile.getWidth()) : w;
+                int height = tile != null ? Math.max(h, tile.getHeight()) : h;
+                tile = getColorModel().createCompatibleWritableRaster(width, height);
+                tileData = ((DataBufferInt) tile.getDataBuffer()).getData();
+            }
+            return tile;
         }
 
-        protected void setPixel(final WritableRaster raster, final int i, final int j, final int[] vals) {
-            raster.setPixel(i, j, vals);
+        /**
+         * The pixel data of the raster returned by {@link #getTile(int, int)}. Rows are {@code tile.getWidth()}
+         * pixels apart.
+         *
+         * @return the pixel data.
+         */
+        protected int[] getTileData() {
+            return tileData;
         }
     }
 
     protected static class OuterPaintContext extends ColorWheelPaintContext {
 
+        private int[] wheel;
+        private int wheelX;
+        private int wheelY;
+        private int wheelWidth;
+        private int wheelHeight;
+        private double wheelCenterX;
+        private double wheelCenterY;
+
+        @Override
+        public void setHints(final Rectangle deviceBounds, final Rectangle2D userBounds,
+                             final AffineTransform transform) {
+            super.setHints(deviceBounds, userBounds, transform);
+            Rectangle bounds = transform.createTransformedShape(userBounds).getBounds();
+            wheelX = bounds.x;
+            wheelY = bounds.y;
+            double centerX = cx - wheelX;
+            double centerY = cy - wheelY;
+            if (wheel == null || bounds.width != wheelWidth || bounds.height != wheelHeight
+                || centerX != wheelCenterX || centerY != wheelCenterY) {
+                wheelWidth = bounds.width;
+                wheelHeight = bounds.height;
+                wheelCenterX = centerX;
+                wheelCenterY = centerY;
+                wheel = new int[wheelWidth * wheelHeight];
+                for (int j = 0; j < wheelHeight; j++) {
+                    int row = j * wheelWidth;
+                    for (int i = 0; i < wheelWidth; i++) {
+                        wheel[row + i] = getWheelRGB(i, j, centerX, centerY);
+                    }
+                }
+            }
+        }
+
         @Override
         public Raster getRaster(final int x, final int y, final int w, final int h) {
-            WritableRaster raster = getColorModel().createCompatibleWritableRaster(w, h);
+            WritableRaster raster = getTile(w, h);
+            int[] data = getTileData();
+            int stride = raster.getWidth();
+            boolean insideX = wheel != null && x >= wheelX && x + w <= wheelX + wheelWidth;
             for (int j = 0; j < h; j++) {
-                for (int i = 0; i < w; i++) {
-                    float hue = (float) ((getWheelHue(x + i, y + j, cx, cy)));
-                    int rgb = Color.HSBtoRGB(hue, 1.0f, 1.0f);
-                    setPixel(raster, i, j, rgb);
+                int row = j * stride;
+                int wy = y + j - wheelY;
+                if (insideX && wy >= 0 && wy < wheelHeight) {
+                    System.arraycopy(wheel, wy * wheelWidth + x - wheelX, data, row, w);
+                } else {
+                    for (int i = 0; i < w; i++) {
+                        data[row + i] = getWheelRGB(x + i, y + j, cx, cy);
+                    }
                 }
             }
             return raster;
         }
+
+        protected int getWheelRGB(final double x, final double y, final double cx, final double cy) {
+            return Color.HSBtoRGB((float) getWheelHue(x, y, cx, cy), 1.0f, 1.0f);
+        }
     }
 
     protected class InnerPaintContext extends ColorWheelPaintContext {
 
+        private final AffineTransform pixelToTriangle = new AffineTransform();
+        private boolean invertible;
+
         public InnerPaintContext() {}
 
+        @Override
+        public void setHints(final Rectangle deviceBounds, final AffineTransform transform) {
+            super.setHints(deviceBounds, transform);
+            try {
+                pixelToTriangle.setTransform(triangleInverse);
+                pixelToTriangle.concatenate(transform.createInverse());
+                invertible = true;
+            } catch (NoninvertibleTransformException e) {
+                invertible = false;
+            }
+        }
+
         @Override
         public Raster getRaster(final int x, final int y, final int w, final int h) {
-            WritableRaster raster = getColorModel().createCompatibleWritableRaster(w, h);
+            WritableRaster raster = getTile(w, h);
+            int[] data = getTileData();
+            int stride = raster.getWidth();
+            if (!invertible) {
+                for (int j = 0; j < h; j++) {
+                    Arrays.fill(data, j * stride, j * stride + w, 0);
+                }
+                return raster;
+            }
+            /*
+             * In the coordinates of the unrotated triangle saturation and value are quotients of
+             * functions, which are affine in the pixel position. Hence they can be stepped incrementally.
+             */
+            double r = innerRadius;
+            double hue = getHue();
+            double m00 = pixelToTriangle.getScaleX();
+            double m01 = pixelToTriangle.getShearX();
+            double m02 = pixelToTriangle.getTranslateX();
+            double m10 = pixelToTriangle.getShearY();
+            double m11 = pixelToTriangle.getScaleY();
+            double m12 = pixelToTriangle.getTranslateY();
+            double dx1 = m00 / r;
+            double dy1 = m10 / r;
+            double stepNum = -2.0 * dy1;
+            double stepDen = SQRT3 * dx1 - dy1;
             for (int j = 0; j < h; j++) {
+                double py = y + j;
+                double x1 = (m00 * x + m01 * py + m02 - centerX) / r;
+                double y1 = (m10 * x + m11 * py + m12 - centerY) / r;
+                double num = 1.0 - 2.0 * y1;
+                double den = SQRT3 * x1 - y1 + 2.0;
+                int row = j * stride;
                 for (int i = 0; i < w; i++) {
-                    dummy.setLocation((x + i), (y + j));
-                    try {
-                        transform.inverseTransform(dummy, dummy);
-                        triangleInverse.transform(dummy, dummy);
-                        Point2D sv = getSaturationAndValue(dummy.getX(), dummy.getY());
-                        setPixel(raster, i, j, getColorRGB(getHue(), sv.getX(), sv.getY()));
-                    } catch (NoninvertibleTransformException ignored) {}
+                    double sat = Math.max(Math.min(num / den, 1), 0);
+                    double val = Math.max(Math.min(den / 3.0, 1), 0);
+                    data[row + i] = getColorRGB(hue, sat, val);
+                    num += stepNum;
+                    den += stepDen;
                 }
             }
             return raster;
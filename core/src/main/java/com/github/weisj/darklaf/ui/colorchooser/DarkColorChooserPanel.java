@@ -56,6 +56,8 @@ public class DarkColorChooserPanel extends AbstractColorChooserPanel implements
     private final ColorPreviewComponent previewComponent;
 
     private JFormattedTextField[] valueFields;
+    private int[] fieldValues;
+    private int[] colorValues;
     private ColorValueFormatter[] formatters;
     private JLabel[] descriptors;
     private JLabel[] descriptorsAfter;
@@ -138,15 +140,15 @@ public class DarkColorChooserPanel extends AbstractColorChooserPanel implements
 
     protected Color getColorFromFields() {
         DarkColorModel model = getDarkColorModel();
-        int[] values = new int[model.getCount()];
-        for (int i = 0; i < values.length; i++) {
-            values[i] = (int) valueFields[i].getValue();
+        int count = model.getCount();
+        for (int i = 0; i < count; i++) {
+            fieldValues[i] = (int) valueFields[i].getValue();
         }
-        Color c = model.getColorFromValues(values);
+        int rgb = model.getRGBFromValues(fieldValues);
         if (isColorTransparencySelectionEnabled()) {
-            c = ColorUtil.toAlpha(c, getColorFromModel().getAlpha());
+            return new Color(ColorUtil.toAlpha(rgb, getColorFromModel().getAlpha()), true);
         }
-        return c;
+        return new Color(rgb);
     }
 
     @Override
@@ -177,9 +179,11 @@ public class DarkColorChooserPanel extends AbstractColorChooserPanel implements
 
     protected void applyColorToFields(final Color color) {
         DarkColorModel model = getDarkColorModel();
-        int[] values = model.getValuesFromColor(color);
-        for (int i = 0; i < values.length; i++) {
-            valueFields[i].setValue(values[i]);
+        // Setting a value notifies the listeners, which read the fields into a separate buffer.
+        model.getValuesFromRGB(color.getRGB(), colorValues);
+        int count = model.getCount();
+        for (int i = 0; i < count; i++) {
+            valueFields[i].setValue(colorValues[i]);
         }
     }
 
@@ -194,6 +198,8 @@ public class DarkColorChooserPanel extends AbstractColorChooserPanel implements
         hexFormatter.setTransparencyEnabled(isColorTransparencySelectionEnabled());
 
         valueFields = new JFormattedTextField[record];
+        fieldValues = new int[record];
+        colorValues = new int[record];
         formatters = new ColorValueFormatter[record];
 
         for (int i = 0; i < record; i++) {
@@ -53,6 +53,7 @@ class SlideComponent extends JComponent implements ColorListener {
     private final List<Consumer<Integer>> listeners = new ArrayList<>();
     protected Color borderColor;
     protected Color shadowColor;
+    private Color knobShadow;
     protected Color knobFill;
     private final boolean isOpacity;
     private int pointerValue = 0;
@@ -67,6 +68,7 @@ class SlideComponent extends JComponent implements ColorListener {
         this.color = Color.WHITE;
         this.borderColor = UIManager.getColor("ColorChooser.sliderBorderColor");
         this.shadowColor = UIManager.getColor("ColorChooser.sliderShadow");
+        this.knobShadow = ColorUtil.toAlpha(shadowColor, 0.5);
         this.knobFill = UIManager.getColor("ColorChooser.sliderKnobColor");
 
         toolTipContext.setAlignInside(false)
@@ -186,6 +188,7 @@ class SlideComponent extends JComponent implements ColorListener {
         super.updateUI();
         borderColor = UIManager.getColor("ColorChooser.sliderBorderColor");
         shadowColor = UIManager.getColor("ColorChooser.sliderShadow");
+        knobShadow = ColorUtil.toAlpha(shadowColor, 0.5);
         knobFill = UIManager.getColor("ColorChooser.sliderKnobColor");
         if (toolTipContext != null) toolTipContext.updateToolTipUI();
     }
@@ -227,7 +230,7 @@ class SlideComponent extends JComponent implements ColorListener {
             arrowShadow.addPoint(x + 7, y + 7);
             arrowShadow.addPoint(x - 5, y + 13);
 
-            g2d.setColor(ColorUtil.toAlpha(shadowColor, 0.5));
+            g2d.setColor(knobShadow);
             g2d.fill(arrowShadow);
 
             Polygon arrowHead = new Polygon();
@@ -245,7 +248,7 @@ class SlideComponent extends JComponent implements ColorListener {
             arrowShadow.addPoint(x + 13, y - 5);
             arrowShadow.addPoint(x + 7, y + 7);
 
-            g2d.setColor(ColorUtil.toAlpha(shadowColor, 0.5));
+            g2d.setColor(knobShadow);
             g2d.fill(arrowShadow);
 
             Polygon arrowHead = new Polygon();
@@ -287,7 +290,7 @@ class SlideComponent extends JComponent implements ColorListener {
 
     @Override
     public void colorChanged(final Color color, final Object source) {
-        this.color = ColorUtil.removeAlpha(color);
+        this.color = color.getAlpha() == 255 ? color : ColorUtil.removeAlpha(color);
         repaint();
     }
 
@@ -0,0 +1,441 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.filechooser;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileSystemView;
+import javax.swing.plaf.basic.BasicDirectoryModel;
+
+import sun.awt.shell.ShellFolder;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.SystemInfo;
+
+/**
+ * Directory model which loads the contents of a directory incrementally. Files are enumerated on a background thread
+ * and merged into the model in sorted chunks, so the file chooser can display the first entries of large directories
+ * right away and stays responsive while the remaining entries are loaded.
+ * <p>
+ * Reloading the current directory (e.g. after changing the file filter) keeps the known entries and only inserts new
+ * and removes vanished files once they are known.
+ *
+ * @author Jannis Weis
+ */
+public class DarkDirectoryModel extends BasicDirectoryModel {
+
+    private static final Logger LOGGER = LogUtil.getLogger(DarkDirectoryModel.class);
+    private static final int CHUNK_SIZE = 256;
+    private static final long CHUNK_INTERVAL = 100;
+    private static final String BUSY_PROPERTY = "busy";
+
+    private final JFileChooser fileChooser;
+    /*
+     * The entries of the model. Directories precede files and both are sorted using the name comparator of the
+     * directory. Only modified on the event dispatch thread.
+     */
+    private final List<File> fileCache = new ArrayList<>();
+    private final Set<File> fileSet = new HashSet<>();
+    private final Set<File> directorySet = new HashSet<>();
+    private int directoryCount;
+    private Vector<File> files;
+    private Vector<File> directories;
+
+    private File loadedDirectory;
+    private Comparator<File> comparator;
+    private Set<File> reloadedFiles;
+    private LoadFilesThread loadThread;
+    private int fetchId;
+    private boolean busy;
+
+    public DarkDirectoryModel(final JFileChooser fileChooser) {
+        super(fileChooser);
+        this.fileChooser = fileChooser;
+        validateFileCache();
+    }
+
+    @Override
+    public void validateFileCache() {
+        // Invoked by the super constructor before this model is initialized.
+        if (fileChooser == null) return;
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(this::validateFileCache);
+            return;
+        }
+        File currentDirectory = fileChooser.getCurrentDirectory();
+        if (currentDirectory == null) return;
+        stopLoading();
+        int fid = ++fetchId;
+        if (!currentDirectory.equals(loadedDirectory)) {
+            loadedDirectory = currentDirectory;
+            comparator = createComparator(currentDirectory);
+            reloadedFiles = null;
+            removeAll();
+        } else {
+            reloadedFiles = new HashSet<>();
+        }
+        setBusy(true);
+        loadThread = new LoadFilesThread(currentDirectory, comparator, fid);
+        loadThread.start();
+    }
+
+    @Override
+    public void invalidateFileCache() {
+        if (fileChooser == null) return;
+        stopLoading();
+    }
+
+    private void stopLoading() {
+        if (loadThread != null) {
+            loadThread.interrupt();
+            loadThread = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Comparator<File> createComparator(final File directory) {
+        Comparator<?> nameComparator = ShellFolder.getFolderColumns(directory)[0].getComparator();
+        return nameComparator != null ? (Comparator<File>) nameComparator : Comparator.naturalOrder();
+    }
+
+    /**
+     * Returns whether the model is currently loading the contents of the current directory.
+     *
+     * @return true if the directory is still being loaded.
+     */
+    public boolean isBusy() {
+        return busy;
+    }
+
+    private void setBusy(final boolean busy) {
+        if (this.busy == busy) return;
+        this.busy = busy;
+        firePropertyChange(BUSY_PROPERTY, !busy, busy);
+    }
+
+    @Override
+    public Vector<File> getDirectories() {
+        synchronized (fileCache) {
+            if (directories == null) getFiles();
+            return directories;
+        }
+    }
+
+    @Override
+    public Vector<File> getFiles() {
+        synchronized (fileCache) {
+            if (files != null) return files;
+            files = new Vector<>(fileCache.subList(directoryCount, fileCache.size()));
+            directories = new Vector<>(directoryCount + 1);
+            directories.addElement(fileChooser.getFileSystemView().createFileObject(fileChooser.getCurrentDirectory(),
+                                                                                   ".."));
+            directories.addAll(fileCache.subList(0, directoryCount));
+            return files;
+        }
+    }
+
+    @Override
+    public int getSize() {
+        synchronized (fileCache) {
+            return fileCache.size();
+        }
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        synchronized (fileCache) {
+            return fileSet.contains(o);
+        }
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        synchronized (fileCache) {
+            return fileSet.contains(o) ? fileCache.indexOf(o) : -1;
+        }
+    }
+
+    /**
+     * Returns whether the given entry of the model is a directory.
+     *
+     * @param  file the file.
+     * @return      true if the file is a directory, false if it is a file and null if it isn't part of the model.
+     */
+    public Boolean isDirectory(final File file) {
+        synchronized (fileCache) {
+            if (!fileSet.contains(file)) return null;
+            return directorySet.contains(file);
+        }
+    }
+
+    @Override
+    public Object getElementAt(final int index) {
+        synchronized (fileCache) {
+            return fileCache.get(index);
+        }
+    }
+
+    private void removeAll() {
+        int size;
+        synchronized (fileCache) {
+            size = fileCache.size();
+            if (size == 0) return;
+            fileCache.clear();
+            fileSet.clear();
+            directorySet.clear();
+            directoryCount = 0;
+            files = null;
+            directories = null;
+        }
+        fireIntervalRemoved(this, 0, size - 1);
+    }
+
+    private void addFiles(final int fid, final List<File> newDirectories, final List<File> newFiles) {
+        if (fid != fetchId) return;
+        if (reloadedFiles != null) {
+            reloadedFiles.addAll(newDirectories);
+            reloadedFiles.addAll(newFiles);
+        }
+        int[] directoryPositions = findInsertionPoints(newDirectories, 0, directoryCount);
+        int[] filePositions = findInsertionPoints(newFiles, directoryCount, fileCache.size());
+        /*
+         * Insert the files run by run starting at the top, so every event is consistent with the current state of the
+         * model.
+         */
+        int offset = insertRuns(newDirectories, directoryPositions, 0, true);
+        insertRuns(newFiles, filePositions, offset, false);
+    }
+
+    /*
+     * Computes the positions of the given sorted files in the given range of the current entries. Files which are
+     * already known are marked with -1.
+     */
+    private int[] findInsertionPoints(final List<File> sortedFiles, final int from, final int to) {
+        int[] positions = new int[sortedFiles.size()];
+        if (positions.length == 0) return positions;
+        ShellFolder.invoke((Callable<Void>) () -> {
+            int low = from;
+            for (int i = 0; i < positions.length; i++) {
+                File file = sortedFiles.get(i);
+                if (fileSet.contains(file)) {
+                    positions[i] = -1;
+                    continue;
+                }
+                int high = to;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (comparator.compare(fileCache.get(mid), file) <= 0) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                positions[i] = low;
+            }
+            return null;
+        });
+        return positions;
+    }
+
+    private int insertRuns(final List<File> sortedFiles, final int[] positions, int offset,
+                           final boolean isDirectory) {
+        int i = 0;
+        while (i < positions.length) {
+            if (positions[i] < 0) {
+                i++;
+                continue;
+            }
+            int position = positions[i];
+            int end = i + 1;
+            while (end < positions.length && positions[end] == position) {
+                end++;
+            }
+            List<File> run = new ArrayList<>(end - i);
+            for (int j = i; j < end; j++) {
+                if (positions[j] >= 0) run.add(sortedFiles.get(j));
+            }
+            int index = position + offset;
+            synchronized (fileCache) {
+                fileCache.addAll(index, run);
+                fileSet.addAll(run);
+                if (isDirectory) {
+                    directorySet.addAll(run);
+                    directoryCount += run.size();
+                }
+                files = null;
+                directories = null;
+            }
+            fireIntervalAdded(this, index, index + run.size() - 1);
+            offset += run.size();
+            i = end;
+        }
+        return offset;
+    }
+
+    private void finishLoading(final int fid, final boolean complete) {
+        if (fid != fetchId) return;
+        if (complete && reloadedFiles != null) {
+            // Remove the entries which didn't show up again, starting at the bottom to keep the indices valid.
+            Set<File> retained = reloadedFiles;
+            int end = fileCache.size() - 1;
+            while (end >= 0) {
+                if (retained.contains(fileCache.get(end))) {
+                    end--;
+                    continue;
+                }
+                int start = end;
+                while (start > 0 && !retained.contains(fileCache.get(start - 1))) {
+                    start--;
+                }
+                synchronized (fileCache) {
+                    List<File> removed = fileCache.subList(start, end + 1);
+                    fileSet.removeAll(removed);
+                    directorySet.removeAll(removed);
+                    directoryCount -= Math.max(0, Math.min(directoryCount, end + 1) - start);
+                    removed.clear();
+                    files = null;
+                    directories = null;
+                }
+                fireIntervalRemoved(this, start, end);
+                end = start - 1;
+            }
+        }
+        reloadedFiles = null;
+        loadThread = null;
+        setBusy(false);
+    }
+
+    protected class LoadFilesThread extends Thread {
+
+        private final File directory;
+        private final Comparator<File> comparator;
+        private final int fid;
+        private List<File> directoryChunk = new ArrayList<>();
+        private List<File> fileChunk = new ArrayList<>();
+        private long lastPublished;
+
+        protected LoadFilesThread(final File directory, final Comparator<File> comparator, final int fid) {
+            super("Darklaf File Loading Thread");
+            this.directory = directory;
+            this.comparator = comparator;
+            this.fid = fid;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            boolean complete = false;
+            try {
+                complete = loadFiles();
+            } finally {
+                boolean loaded = complete;
+                SwingUtilities.invokeLater(() -> finishLoading(fid, loaded));
+            }
+        }
+
+        private boolean loadFiles() {
+            FileSystemView fsv = fileChooser.getFileSystemView();
+            boolean useFileHiding = fileChooser.isFileHidingEnabled();
+            lastPublished = System.currentTimeMillis();
+            if (canStream(fsv)) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+                    for (Path path : stream) {
+                        if (isInterrupted()) return false;
+                        File file;
+                        try {
+                            file = ShellFolder.getShellFolder(path.toFile());
+                        } catch (FileNotFoundException | InternalError e) {
+                            continue;
+                        }
+                        if (useFileHiding && fsv.isHiddenFile(file)) continue;
+                        addFile(file);
+                    }
+                } catch (IOException | InvalidPathException | DirectoryIteratorException e) {
+                    LOGGER.log(Level.FINE, "Couldn't list contents of " + directory, e);
+                }
+            } else {
+                for (File file : fsv.getFiles(directory, useFileHiding)) {
+                    if (isInterrupted()) return false;
+                    addFile(file);
+                }
+            }
+            if (isInterrupted()) return false;
+            publish();
+            return true;
+        }
+
+        /*
+         * Only the default file system view is known to list the plain contents of the directory. Shell folders on
+         * windows may contain virtual entries, which aren't part of the file system.
+         */
+        private boolean canStream(final FileSystemView fsv) {
+            if (SystemInfo.isWindows) return false;
+            if (fsv.getClass() != FileSystemView.getFileSystemView().getClass()) return false;
+            if (directory instanceof ShellFolder && !((ShellFolder) directory).isFileSystem()) return false;
+            return fsv.isFileSystem(directory);
+        }
+
+        private void addFile(final File file) {
+            if (fileChooser.accept(file)) {
+                if (fileChooser.isTraversable(file)) {
+                    directoryChunk.add(file);
+                } else if (fileChooser.isFileSelectionEnabled()) {
+                    fileChunk.add(file);
+                }
+            }
+            if (directoryChunk.size() + fileChunk.size() >= CHUNK_SIZE
+                || System.currentTimeMillis() - lastPublished >= CHUNK_INTERVAL) {
+                publish();
+            }
+        }
+
+        private void publish() {
+            lastPublished = System.currentTimeMillis();
+            if (directoryChunk.isEmpty() && fileChunk.isEmpty()) return;
+            List<File> newDirectories = directoryChunk;
+            List<File> newFiles = fileChunk;
+            directoryChunk = new ArrayList<>();
+            fileChunk = new ArrayList<>();
+            ShellFolder.invoke((Callable<Void>) () -> {
+                newDirectories.sort(comparator);
+                newFiles.sort(comparator);
+                return null;
+            });
+            SwingUtilities.invokeLater(() -> addFiles(fid, newDirectories, newFiles));
+        }
+    }
+}
@@ -30,6 +30,17 @@ import java.awt.event.FocusEvent;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.accessibility.AccessibleContext;
 import javax.swing.*;
@@ -39,6 +50,7 @@ import javax.swing.event.ListDataListener;
 import javax.swing.filechooser.FileSystemView;
 import javax.swing.filechooser.FileView;
 import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.basic.BasicDirectoryModel;
 
 import sun.swing.FilePane;
 
@@ -47,12 +59,24 @@ import com.github.weisj.darklaf.components.tooltip.TooltipAwareToggleButton;
 import com.github.weisj.darklaf.ui.button.DarkButtonUI;
 import com.github.weisj.darklaf.ui.combobox.ComboBoxConstants;
 import com.github.weisj.darklaf.util.AlignmentExt;
+import com.github.weisj.darklaf.util.LRUCache;
+import com.github.weisj.darklaf.util.LazyValue;
+import com.github.weisj.darklaf.util.LogUtil;
 
 public class DarkFileChooserUI extends DarkFileChooserUIBridge {
 
     public static final String KEY_VIEW_TYPE = "viewType";
     private static final String MIME_TEXT = "text/";
     private static final String MIME_IMAGE = "image/";
+    private static final int MIME_TYPE_CACHE_SIZE = 512;
+    private static final int MIME_TYPE_THREAD_COUNT = 2;
+    private static final Logger LOGGER = LogUtil.getLogger(DarkFileChooserUI.class);
+    /*
+     * Content types by lower case file extension. Shared by all file choosers.
+     */
+    private static final LRUCache<String, String> MIME_TYPE_CACHE = new LRUCache<>(MIME_TYPE_CACHE_SIZE);
+    private static final LazyValue<ExecutorService> mimeTypeExecutor =
+            new LazyValue<>(DarkFileChooserUI::createMimeTypeExecutor);
 
     public DarkFileChooserUI(final JFileChooser b) {
         super(b);
@@ -60,6 +84,7 @@ public class DarkFileChooserUI extends DarkFileChooserUIBridge {
 
     protected AlignedLabel filesOfTypeLabel;
     protected BasicFileView fileView;
+    protected DarkDirectoryModel directoryModel;
     protected Icon textFileIcon;
     protected Icon imageFileIcon;
 
@@ -81,6 +106,19 @@ public class DarkFileChooserUI extends DarkFileChooserUIBridge {
         imageFileIcon = null;
     }
 
+    @Override
+    protected void createModel() {
+        if (directoryModel != null) {
+            directoryModel.invalidateFileCache();
+        }
+        directoryModel = new DarkDirectoryModel(getFileChooser());
+    }
+
+    @Override
+    public BasicDirectoryModel getModel() {
+        return directoryModel;
+    }
+
     @Override
     public void installComponents(final JFileChooser fc) {
         fc.setBorder(new EmptyBorder(10, 10, 7, 10));
@@ -385,6 +423,10 @@ public class DarkFileChooserUI extends DarkFileChooserUIBridge {
 
     protected class DarkFileView extends BasicFileView {
 
+        private final Set<File> pendingFiles = new HashSet<>();
+        private final Map<File, Icon> resolvedIcons = new HashMap<>();
+        private int generation;
+
         public Icon getIcon(final File f) {
             Icon icon = getCachedIcon(f);
             if (icon != null) {
@@ -403,21 +445,123 @@ public class DarkFileChooserUI extends DarkFileChooserUIBridge {
                 } else if (f.isDirectory()) {
                     icon = directoryIcon;
                 } else {
-                    try {
-                        String mimeType = Files.probeContentType(f.toPath());
-                        if (mimeType == null) mimeType = "";
-                        if (mimeType.startsWith(MIME_IMAGE)) {
-                            icon = imageFileIcon;
-                        } else if (mimeType.startsWith(MIME_TEXT)) {
-                            icon = textFileIcon;
-                        }
-                    } catch (IOException e) {
-                        e.printStackTrace();
+                    String extension = getExtension(f);
+                    String mimeType = extension != null ? MIME_TYPE_CACHE.get(extension) : null;
+                    if (mimeType == null) {
+                        // Use the generic file icon until the content type is known.
+                        resolveIcon(f, extension);
+                        return icon;
                     }
+                    icon = getIconForMimeType(mimeType);
                 }
             }
             cacheIcon(f, icon);
             return icon;
         }
+
+        @Override
+        public void clearIconCache() {
+            super.clearIconCache();
+            synchronized (pendingFiles) {
+                generation++;
+                pendingFiles.clear();
+                resolvedIcons.clear();
+            }
+        }
+
+        protected Icon getIconForMimeType(final String mimeType) {
+            if (mimeType.startsWith(MIME_IMAGE)) {
+                return imageFileIcon;
+            } else if (mimeType.startsWith(MIME_TEXT)) {
+                return textFileIcon;
+            }
+            return fileIcon;
+        }
+
+        private void resolveIcon(final File file, final String extension) {
+            int requestGeneration;
+            synchronized (pendingFiles) {
+                if (!pendingFiles.add(file)) return;
+                requestGeneration = generation;
+            }
+            getMimeTypeExecutor().execute(() -> {
+                if (!isCurrent(requestGeneration)) return;
+                String mimeType = extension != null ? MIME_TYPE_CACHE.peek(extension) : null;
+                if (mimeType == null) {
+                    mimeType = probeMimeType(file);
+                    if (extension != null) MIME_TYPE_CACHE.put(extension, mimeType);
+                }
+                Icon icon = getIconForMimeType(mimeType);
+                boolean scheduleUpdate;
+                synchronized (pendingFiles) {
+                    if (requestGeneration != generation) return;
+                    scheduleUpdate = resolvedIcons.isEmpty();
+                    resolvedIcons.put(file, icon);
+                }
+                if (scheduleUpdate) SwingUtilities.invokeLater(this::applyResolvedIcons);
+            });
+        }
+
+        private boolean isCurrent(final int requestGeneration) {
+            synchronized (pendingFiles) {
+                return requestGeneration == generation;
+            }
+        }
+
+        private void applyResolvedIcons() {
+            Map<File, Icon> icons;
+            synchronized (pendingFiles) {
+                icons = new HashMap<>(resolvedIcons);
+                resolvedIcons.clear();
+                pendingFiles.removeAll(icons.keySet());
+            }
+            for (Map.Entry<File, Icon> entry : icons.entrySet()) {
+                cacheIcon(entry.getKey(), entry.getValue());
+            }
+            DarkFilePaneUIBridge pane = filePane;
+            if (pane instanceof DarkFilePane) {
+                ((DarkFilePane) pane).repaintFiles(icons.keySet());
+            } else if (pane != null) {
+                pane.repaint();
+            }
+        }
+    }
+
+    private static String getExtension(final File file) {
+        String name = file.getName();
+        int index = name.lastIndexOf('.');
+        if (index <= 0 || index == name.length() - 1) return null;
+        return name.substring(index + 1).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String probeMimeType(final File file) {
+        try {
+            String mimeType = Files.probeContentType(file.toPath());
+            return mimeType != null ? mimeType : "";
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Couldn't determine content type of " + file, e);
+            return "";
+        }
+    }
+
+    private static synchronized ExecutorService getMimeTypeExecutor() {
+        return mimeTypeExecutor.get();
+    }
+
+    private static ExecutorService createMimeTypeExecutor() {
+        /*
+         * Probing may block for a long time on network mounts. Use a small bounded pool so a large directory
+         * can't flood the system with threads.
+         */
+        int threadCount = Math.max(1, Math.min(MIME_TYPE_THREAD_COUNT, Runtime.getRuntime().availableProcessors()));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 5, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(), r -> {
+                                                                 Thread thread = new Thread(r, "File Type Resolver");
+                                                                 thread.setDaemon(true);
+                                                                 thread.setPriority(Thread.MIN_PRIORITY);
+                                                                 return thread;
+                                                             });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 }
@@ -30,6 +30,7 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import javax.accessibility.AccessibleContext;
@@ -37,6 +38,7 @@ import javax.swing.*;
 import javax.swing.event.ListDataEvent;
 import javax.swing.event.ListDataListener;
 import javax.swing.event.TableModelEvent;
+import javax.swing.plaf.basic.BasicDirectoryModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.text.Position;
 
@@ -261,6 +263,45 @@ public class DarkFilePane extends DarkFilePaneUIBridge {
         return p;
     }
 
+    /**
+     * Repaints the visible cells displaying one of the given files.
+     *
+     * @param files the files to repaint.
+     */
+    public void repaintFiles(final Set<File> files) {
+        if (files.isEmpty()) return;
+        if (getViewType() == VIEWTYPE_DETAILS) {
+            if (detailsTable == null) return;
+            Rectangle visibleRect = detailsTable.getVisibleRect();
+            int first = detailsTable.rowAtPoint(visibleRect.getLocation());
+            int last = detailsTable.rowAtPoint(new Point(visibleRect.x, visibleRect.y + visibleRect.height - 1));
+            if (first < 0) return;
+            if (last < 0) last = detailsTable.getRowCount() - 1;
+            int column = detailsTable.convertColumnIndexToView(COLUMN_FILENAME);
+            if (column < 0) return;
+            BasicDirectoryModel model = getModel();
+            for (int row = first; row <= last; row++) {
+                int modelIndex = getRowSorter().convertRowIndexToModel(row);
+                if (modelIndex < 0 || modelIndex >= model.getSize()) continue;
+                if (files.contains(model.getElementAt(modelIndex))) {
+                    detailsTable.repaint(detailsTable.getCellRect(row, column, false));
+                }
+            }
+        } else {
+            if (list == null) return;
+            int first = list.getFirstVisibleIndex();
+            int last = list.getLastVisibleIndex();
+            if (first < 0) return;
+            ListModel<?> model = list.getModel();
+            for (int i = first; i <= last && i < model.getSize(); i++) {
+                if (files.contains(model.getElementAt(i))) {
+                    Rectangle cellBounds = list.getCellBounds(i, i);
+                    if (cellBounds != null) list.repaint(cellBounds);
+                }
+            }
+        }
+    }
+
     protected void cancelEdit() {
         if (editFile != null) {
             editFile = null;
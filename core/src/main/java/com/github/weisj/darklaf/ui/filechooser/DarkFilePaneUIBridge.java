@@ -82,6 +82,7 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
     protected static final Cursor waitCursor = Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR);
     protected static final int COLUMN_FILENAME = 0;
     protected static final int COLUMN_SIZE = 1;
+    private static final Object NO_VALUE = new Object();
     protected static final FocusListener repaintListener = new FocusListener() {
         public void focusGained(final FocusEvent fe) {
             repaintSelection(fe.getSource());
@@ -943,7 +944,11 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
                 applyEdit();
                 break;
             case "busy" :
-                setCursor((Boolean) e.getNewValue() ? waitCursor : null);
+                boolean busy = (Boolean) e.getNewValue();
+                if (busy && detailsTableModel != null) {
+                    detailsTableModel.clearColumnValues();
+                }
+                setCursor(busy ? waitCursor : null);
                 break;
             case PropertyKey.COMPONENT_ORIENTATION :
                 ComponentOrientation o = (ComponentOrientation) e.getNewValue();
@@ -1112,6 +1117,19 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         }
 
         public void tableChanged(final TableModelEvent e) {
+            int firstRow = e.getFirstRow();
+            int lastRow = e.getLastRow();
+            if (firstRow != TableModelEvent.HEADER_ROW && lastRow != Integer.MAX_VALUE
+                && getRowSorter().getSortKeys().isEmpty()) {
+                // Rows are shown in model order. Report the exact change so the selection is kept.
+                if (e.getType() == TableModelEvent.INSERT) {
+                    fireIntervalAdded(this, firstRow, lastRow);
+                    return;
+                } else if (e.getType() == TableModelEvent.DELETE) {
+                    fireIntervalRemoved(this, firstRow, lastRow);
+                    return;
+                }
+            }
             fireContentsChanged(this, 0, getSize());
         }
 
@@ -1137,6 +1155,11 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
 
         ShellFolderColumnInfo[] columns;
         int[] columnMap;
+        /*
+         * Column values are only read once a row is displayed or sorted and are kept until the directory is
+         * reloaded.
+         */
+        final Map<File, Object[]> columnValues = new HashMap<>();
 
         DetailsTableModel(final JFileChooser fc) {
             this.chooser = fc;
@@ -1171,6 +1194,7 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
             columns = new ShellFolderColumnInfo[visibleColumns.size()];
             visibleColumns.toArray(columns);
             columnMap = Arrays.copyOf(columnMap, columns.length);
+            clearColumnValues();
 
             List<? extends RowSorter.SortKey> sortKeys = (rowSorter == null) ? null : rowSorter.getSortKeys();
             fireTableStructureChanged();
@@ -1272,12 +1296,30 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         }
 
         protected Object getFileColumnValue(final File f, final int col) {
+            if (col == COLUMN_FILENAME) {
+                return f; // always return the file itself for the 1st column
+            }
+            Object[] values = columnValues.computeIfAbsent(f, k -> new Object[columns.length]);
+            if (col >= values.length) {
+                return readFileColumnValue(f, col);
+            }
+            Object value = values[col];
+            if (value == null) {
+                value = readFileColumnValue(f, col);
+                values[col] = value != null ? value : NO_VALUE;
+            }
+            return value != NO_VALUE ? value : null;
+        }
+
+        protected Object readFileColumnValue(final File f, final int col) {
             if (col == COLUMN_SIZE) {
                 return f.isDirectory() ? null : f.length();
             }
-            return (col == COLUMN_FILENAME)
-                    ? f // always return the file itself for the 1st column
-                    : ShellFolder.getFolderColumnValue(f, columnMap[col]);
+            return ShellFolder.getFolderColumnValue(f, columnMap[col]);
+        }
+
+        protected void clearColumnValues() {
+            columnValues.clear();
         }
 
         public void intervalAdded(final ListDataEvent e) {
@@ -1301,6 +1343,7 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         public void contentsChanged(final ListDataEvent e) {
             // Update the selection after the model has been updated
             new DelayedSelectionUpdater();
+            clearColumnValues();
             fireTableDataChanged();
         }
 
@@ -1313,7 +1356,30 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         public DetailsTableRowSorter() {
             SorterModelWrapper modelWrapper = new SorterModelWrapper();
             setModelWrapper(modelWrapper);
-            modelWrapper.getModel().addTableModelListener(e -> modelStructureChanged());
+            modelWrapper.getModel().addTableModelListener(this::detailsTableModelChanged);
+        }
+
+        /*
+         * Keep the sorter up to date if it isn't installed on the details table, which notifies the sorter itself.
+         * Only structural changes require all rows to be sorted again.
+         */
+        protected void detailsTableModelChanged(final TableModelEvent e) {
+            for (TableModelListener listener : getDetailsTableModel().getTableModelListeners()) {
+                if (listener instanceof JTable && ((JTable) listener).getRowSorter() == this) return;
+            }
+            int firstRow = e.getFirstRow();
+            int lastRow = e.getLastRow();
+            if (firstRow == TableModelEvent.HEADER_ROW) {
+                modelStructureChanged();
+            } else if (lastRow == Integer.MAX_VALUE) {
+                allRowsChanged();
+            } else if (e.getType() == TableModelEvent.INSERT) {
+                rowsInserted(firstRow, lastRow);
+            } else if (e.getType() == TableModelEvent.DELETE) {
+                rowsDeleted(firstRow, lastRow);
+            } else {
+                rowsUpdated(firstRow, lastRow);
+            }
         }
 
         public void updateComparators(final ShellFolderColumnInfo[] columns) {
@@ -1378,8 +1444,8 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
 
         public int compare(final File f1, final File f2) {
             if (f1 != null && f2 != null) {
-                boolean traversable1 = getFileChooser().isTraversable(f1);
-                boolean traversable2 = getFileChooser().isTraversable(f2);
+                boolean traversable1 = isTraversable(f1);
+                boolean traversable2 = isTraversable(f2);
                 // directories go first
                 if (traversable1 && !traversable2) {
                     return -1;
@@ -1396,6 +1462,16 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
             // column value) to the comparator
             return comparator.compare(f1, f2);
         }
+
+        protected boolean isTraversable(final File f) {
+            BasicDirectoryModel model = getModel();
+            if (model instanceof DarkDirectoryModel) {
+                // The directory model already knows which of its entries are directories.
+                Boolean directory = ((DarkDirectoryModel) model).isDirectory(f);
+                if (directory != null) return directory;
+            }
+            return getFileChooser().isTraversable(f);
+        }
     }
 
     protected class DetailsTableCellEditor extends DarkTableCellEditor {
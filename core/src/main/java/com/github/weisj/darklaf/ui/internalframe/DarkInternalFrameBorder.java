@@ -52,6 +52,10 @@ public class DarkInternalFrameBorder extends DropShadowBorder implements UIResou
         setShowBottomShadow(true);
         setShowLeftShadow(true);
         setShowRightShadow(true);
+        setShadowOpacity(inactiveOpacity);
+        preload();
+        setShadowOpacity(activeOpacity);
+        preload();
     }
 
     @Override
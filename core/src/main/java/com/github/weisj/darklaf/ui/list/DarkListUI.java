@@ -29,6 +29,7 @@ import java.awt.event.MouseEvent;
 import java.beans.PropertyChangeEvent;
 
 import javax.swing.*;
+import javax.swing.event.ListDataEvent;
 import javax.swing.plaf.ComponentUI;
 
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
@@ -47,11 +48,18 @@ public class DarkListUI extends DarkListUIBridge {
     public static final String KEY_SHRINK_WRAP = KEY_PREFIX + "shrinkWrap";
     public static final String KEY_FULL_ROW_SELECTION = KEY_PREFIX + "fullRowSelection";
     public static final String KEY_IS_EDITING = KEY_PREFIX + "isEditing";
+    public static final String KEY_LAZY_LAYOUT = KEY_PREFIX + "lazyLayout";
     public static final String RENDER_TYPE_CHECKBOX = "checkBox";
     public static final String RENDER_TYPE_RADIOBUTTON = "radioButton";
     public static final String KEY_IS_LIST_EDITOR = "JComponent.listCellEditor";
 
     protected DarkListCellRendererDelegate rendererDelegate;
+    protected Color alternativeRowColor;
+    /*
+     * Row heights used by the lazy layout. This is null if the lazy layout isn't used.
+     */
+    private RowHeightIndex rowHeightIndex;
+    private boolean revalidatePending;
 
     public static ComponentUI createUI(final JComponent list) {
         return new DarkListUI();
@@ -70,6 +78,7 @@ public class DarkListUI extends DarkListUIBridge {
         super.installDefaults();
         rendererDelegate = new DarkListCellRendererDelegate();
         PropertyUtil.installBooleanProperty(list, KEY_ALTERNATE_ROW_COLOR, "List.alternateRowColor");
+        alternativeRowColor = UIManager.getColor("List.alternateRowBackground");
     }
 
     protected CellRendererPane createCellRendererPane() {
@@ -113,6 +122,7 @@ public class DarkListUI extends DarkListUIBridge {
 
         // Determine how many columns we need to paint
         Rectangle paintBounds = g.getClipBounds();
+        measureRows(paintBounds.y, paintBounds.y + paintBounds.height);
 
         int startColumn, endColumn;
         if (c.getComponentOrientation().isLeftToRight()) {
@@ -153,6 +163,141 @@ public class DarkListUI extends DarkListUIBridge {
         rendererPane.removeAll();
     }
 
+    /**
+     * Returns whether the lazy layout is used. The lazy layout only measures rows when they are painted or their bounds
+     * are requested. The heights of all other rows are estimated. It is used if {@link #KEY_LAZY_LAYOUT} is set, the
+     * list is laid out vertically and the list doesn't have a fixed cell height.
+     *
+     * @return true if the lazy layout should be used.
+     */
+    protected boolean isLazyLayout() {
+        return layoutOrientation == JList.VERTICAL
+               && list.getFixedCellHeight() == -1
+               && PropertyUtil.getBooleanProperty(list, KEY_LAZY_LAYOUT);
+    }
+
+    @Override
+    protected void updateLayoutState() {
+        if (!isLazyLayout()) {
+            rowHeightIndex = null;
+            super.updateLayoutState();
+            return;
+        }
+        int fixedCellWidth = list.getFixedCellWidth();
+        cellWidth = fixedCellWidth != -1 ? fixedCellWidth : 0;
+        cellHeight = -1;
+        cellHeights = null;
+        columnCount = 1;
+
+        // Estimate the height of the rows by the average height of the first visible rows.
+        int size = list.getModel().getSize();
+        int sampleSize = Math.min(size, Math.max(1, list.getVisibleRowCount()));
+        int[] sample = new int[sampleSize];
+        int sampleHeight = 0;
+        for (int row = 0; row < sampleSize; row++) {
+            sample[row] = measureRowHeight(row);
+            sampleHeight += sample[row];
+        }
+        int estimate = sampleSize > 0 ? sampleHeight / sampleSize : 0;
+        rowHeightIndex = new RowHeightIndex(size, estimate);
+        for (int row = 0; row < sampleSize; row++) {
+            rowHeightIndex.setHeight(row, sample[row]);
+        }
+    }
+
+    /*
+     * Measures the height of the row and updates the cell width if it isn't fixed.
+     */
+    private int measureRowHeight(final int row) {
+        ListCellRenderer<Object> renderer = list.getCellRenderer();
+        if (renderer == null) return 0;
+        Object value = list.getModel().getElementAt(row);
+        Component c = renderer.getListCellRendererComponent(list, value, row, false, false);
+        rendererPane.add(c);
+        Dimension cellSize = c.getPreferredSize();
+        if (list.getFixedCellWidth() == -1) {
+            cellWidth = Math.max(cellSize.width, cellWidth);
+        }
+        return cellSize.height;
+    }
+
+    /*
+     * Measures the row if it hasn't been measured yet. Returns true if the layout has changed.
+     */
+    private boolean measureRow(final int row) {
+        if (rowHeightIndex.isMeasured(row)) return false;
+        int width = cellWidth;
+        return rowHeightIndex.setHeight(row, measureRowHeight(row)) || width != cellWidth;
+    }
+
+    /*
+     * Measures all rows intersecting the given vertical range.
+     */
+    private void measureRows(final int y0, final int y1) {
+        if (rowHeightIndex == null) return;
+        int top = list.getInsets().top;
+        int size = rowHeightIndex.size();
+        int row = Math.max(0, rowHeightIndex.getRow(y0 - top));
+        int y = rowHeightIndex.getY(row) + top;
+        boolean changed = false;
+        while (row < size && y < y1) {
+            changed |= measureRow(row);
+            y += rowHeightIndex.getHeight(row);
+            row++;
+        }
+        if (changed) scheduleRevalidate();
+    }
+
+    /*
+     * Rows are measured while painting or computing bounds. Changes of their sizes are collected and the list is
+     * revalidated once afterwards instead of starting a new layout for every measured row.
+     */
+    private void scheduleRevalidate() {
+        if (revalidatePending) return;
+        revalidatePending = true;
+        JList<Object> target = list;
+        SwingUtilities.invokeLater(() -> {
+            revalidatePending = false;
+            target.revalidate();
+        });
+    }
+
+    @Override
+    public int convertLocationToRow(final int x, final int y0, final boolean closest) {
+        if (rowHeightIndex == null) return super.convertLocationToRow(x, y0, closest);
+        int size = list.getModel().getSize();
+        if (size <= 0 || size != rowHeightIndex.size()) {
+            return -1;
+        }
+        int y = y0 - list.getInsets().top;
+        if (y < 0) {
+            return closest ? 0 : size - 1;
+        }
+        return Math.min(rowHeightIndex.getRow(y), size - 1);
+    }
+
+    @Override
+    protected int getHeight(final int column, final int row) {
+        if (rowHeightIndex == null) return super.getHeight(column, row);
+        if (column < 0 || column > columnCount || row < 0 || row >= rowHeightIndex.size()) {
+            return -1;
+        }
+        return rowHeightIndex.getHeight(row);
+    }
+
+    @Override
+    protected Rectangle getCellBounds(final JList<?> list, final int index) {
+        maybeUpdateLayoutState();
+        if (rowHeightIndex == null) return super.getCellBounds(list, index);
+        if (index < 0 || index >= rowHeightIndex.size() || index >= list.getModel().getSize()) {
+            return null;
+        }
+        if (measureRow(index)) scheduleRevalidate();
+        Insets insets = list.getInsets();
+        return new Rectangle(insets.left, insets.top + rowHeightIndex.getY(index),
+                             list.getWidth() - (insets.left + insets.right), rowHeightIndex.getHeight(index));
+    }
+
     protected ListCellRenderer<Object> getCellRenderer(final JList<Object> list) {
         ListCellRenderer<Object> renderer = list.getCellRenderer();
         rendererDelegate.setDelegate(renderer);
@@ -176,7 +321,6 @@ public class DarkListUI extends DarkListUIBridge {
 
         if (empty || bgWidth > 0) {
             boolean alternativeRow = PropertyUtil.getBooleanProperty(list, KEY_ALTERNATE_ROW_COLOR);
-            Color alternativeRowColor = UIManager.getColor("List.alternateRowBackground");
             Color normalColor = list.getBackground();
             Color background = alternativeRow && row % 2 == 1 ? alternativeRowColor : normalColor;
             Color c = g.getColor();
@@ -209,6 +353,51 @@ public class DarkListUI extends DarkListUIBridge {
             String key = e.getPropertyName();
             if (KEY_ALTERNATE_ROW_COLOR.equals(key)) {
                 list.repaint();
+            } else if (KEY_LAZY_LAYOUT.equals(key)) {
+                updateLayoutStateNeeded |= modelChanged;
+                redrawList();
+            }
+        }
+
+        /*
+         * If the lazy layout is up to date, changes to the model only update the affected rows.
+         */
+        @Override
+        public void intervalAdded(final ListDataEvent e) {
+            boolean incremental = rowHeightIndex != null && updateLayoutStateNeeded == 0;
+            super.intervalAdded(e);
+            int index = Math.min(e.getIndex0(), e.getIndex1());
+            int count = Math.abs(e.getIndex1() - e.getIndex0()) + 1;
+            if (incremental && index >= 0 && index <= rowHeightIndex.size()
+                && rowHeightIndex.size() + count == list.getModel().getSize()) {
+                rowHeightIndex.insert(index, count);
+                updateLayoutStateNeeded = 0;
+            }
+        }
+
+        @Override
+        public void intervalRemoved(final ListDataEvent e) {
+            boolean incremental = rowHeightIndex != null && updateLayoutStateNeeded == 0;
+            super.intervalRemoved(e);
+            int index = Math.min(e.getIndex0(), e.getIndex1());
+            int count = Math.abs(e.getIndex1() - e.getIndex0()) + 1;
+            if (incremental && index >= 0 && index + count <= rowHeightIndex.size()
+                && rowHeightIndex.size() - count == list.getModel().getSize()) {
+                rowHeightIndex.remove(index, count);
+                updateLayoutStateNeeded = 0;
+            }
+        }
+
+        @Override
+        public void contentsChanged(final ListDataEvent e) {
+            boolean incremental = rowHeightIndex != null && updateLayoutStateNeeded == 0;
+            super.contentsChanged(e);
+            int from = Math.min(e.getIndex0(), e.getIndex1());
+            int to = Math.max(e.getIndex0(), e.getIndex1());
+            if (incremental && from >= 0 && to < rowHeightIndex.size()
+                && rowHeightIndex.size() == list.getModel().getSize()) {
+                rowHeightIndex.invalidate(from, to);
+                updateLayoutStateNeeded = 0;
             }
         }
 
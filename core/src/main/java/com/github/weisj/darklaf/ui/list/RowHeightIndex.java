@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.list;
+
+import java.util.Arrays;
+
+/**
+ * Heights of the rows of a list with variable row heights. Rows which haven't been measured yet use an estimated
+ * height. The heights are kept in a Fenwick tree, so conversions between rows and y coordinates take logarithmic time.
+ * <p>
+ * The arrays grow geometrically and inserting or removing rows only recomputes the tree nodes after the modified index,
+ * hence appending rows takes amortized logarithmic time.
+ *
+ * @author Jannis Weis
+ */
+final class RowHeightIndex {
+
+    private final int estimate;
+    private int size;
+    private int[] heights;
+    private boolean[] measured;
+    /*
+     * 1-based Fenwick tree. tree[i] holds the sum of the heights of the rows (i - lowestOneBit(i), i].
+     */
+    private int[] tree;
+
+    RowHeightIndex(final int size, final int estimate) {
+        this.estimate = estimate;
+        this.size = size;
+        heights = new int[size];
+        measured = new boolean[size];
+        tree = new int[size + 1];
+        Arrays.fill(heights, estimate);
+        rebuild(0);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isMeasured(final int row) {
+        return measured[row];
+    }
+
+    int getHeight(final int row) {
+        return heights[row];
+    }
+
+    /**
+     * Sets the measured height of the row.
+     *
+     * @param  row    the row.
+     * @param  height the height.
+     * @return        true if the height has changed.
+     */
+    boolean setHeight(final int row, final int height) {
+        measured[row] = true;
+        int delta = height - heights[row];
+        if (delta == 0) return false;
+        heights[row] = height;
+        for (int i = row + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the y coordinate of the row, i.e. the sum of the heights of all preceding rows.
+     *
+     * @param  row the row. May be equal to the number of rows.
+     * @return     the y coordinate.
+     */
+    int getY(final int row) {
+        int y = 0;
+        for (int i = row; i > 0; i -= i & -i) {
+            y += tree[i];
+        }
+        return y;
+    }
+
+    /**
+     * Returns the row containing the y coordinate.
+     *
+     * @param  y the y coordinate.
+     * @return   the row, -1 if y is negative or the number of rows if y lies below the last row.
+     */
+    int getRow(final int y) {
+        if (y < 0) return -1;
+        int row = 0;
+        int remaining = y;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int next = row + step;
+            if (next <= size && tree[next] <= remaining) {
+                row = next;
+                remaining -= tree[next];
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Marks the rows in the given range as not measured.
+     *
+     * @param from the first row.
+     * @param to   the last row (inclusive).
+     */
+    void invalidate(final int from, final int to) {
+        for (int row = from; row <= to; row++) {
+            setHeight(row, estimate);
+            measured[row] = false;
+        }
+    }
+
+    void insert(final int index, final int count) {
+        ensureCapacity(size + count);
+        System.arraycopy(heights, index, heights, index + count, size - index);
+        System.arraycopy(measured, index, measured, index + count, size - index);
+        Arrays.fill(heights, index, index + count, estimate);
+        Arrays.fill(measured, index, index + count, false);
+        size += count;
+        rebuild(index);
+    }
+
+    void remove(final int index, final int count) {
+        System.arraycopy(heights, index + count, heights, index, size - index - count);
+        System.arraycopy(measured, index + count, measured, index, size - index - count);
+        size -= count;
+        rebuild(index);
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= heights.length) return;
+        int newCapacity = Math.max(capacity, heights.length + (heights.length >> 1) + 1);
+        heights = Arrays.copyOf(heights, newCapacity);
+        measured = Arrays.copyOf(measured, newCapacity);
+        tree = Arrays.copyOf(tree, newCapacity + 1);
+    }
+
+    /*
+     * Recomputes the tree nodes of all rows starting at the given row. Nodes of preceding rows only cover preceding
+     * rows, hence they stay valid. Each node is the height of its row plus its child nodes, which have already been
+     * computed.
+     */
+    private void rebuild(final int from) {
+        for (int i = from + 1; i <= size; i++) {
+            int sum = heights[i - 1];
+            int lower = i - (i & -i);
+            for (int child = i - 1; child > lower; child -= child & -child) {
+                sum += tree[child];
+            }
+            tree[i] = sum;
+        }
+    }
+}
@@ -58,6 +58,12 @@ public class DarkMenuBarUI extends MetalMenuBarUI {
         };
     }
 
+    @Override
+    public void update(final Graphics g, final JComponent c) {
+        // The gradient of the metal delegate isn't used. Skip looking it up on every paint.
+        paint(g, c);
+    }
+
     @Override
     public void paint(final Graphics g, final JComponent c) {
         if (c.isOpaque()) {
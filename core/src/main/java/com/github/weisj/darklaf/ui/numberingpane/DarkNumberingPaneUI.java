@@ -25,12 +25,16 @@
 package com.github.weisj.darklaf.ui.numberingpane;
 
 import java.awt.*;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.font.FontRenderContext;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +42,8 @@ import java.util.Map;
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.text.*;
 
@@ -54,6 +60,9 @@ public class DarkNumberingPaneUI extends ComponentUI {
 
     protected static final int OUTER_PAD = 7;
     protected static final int PAD = 5;
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+    private static final String NUMBER_CHARS = "0123456789 ";
+    private static final int SPACE_INDEX = 10;
     protected Handler handler;
     protected NumberingPane numberingPane;
     protected Color backgroundHighlight;
@@ -64,6 +73,16 @@ public class DarkNumberingPaneUI extends ComponentUI {
     protected JViewport viewport;
     protected int maxIconWidth = 0;
     protected Color oldBackground;
+    /*
+     * The y coordinates and heights of the line starts, which are computed while painting.
+     */
+    private int[] lineY = new int[0];
+    private int[] lineHeight = new int[0];
+    private final Rectangle lineBounds = new Rectangle();
+    private final Rectangle highlightBounds = new Rectangle();
+    private int paintedLineCount = -1;
+    private Font glyphFont;
+    private int[] glyphCodes;
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkNumberingPaneUI();
@@ -122,6 +141,8 @@ public class DarkNumberingPaneUI extends ComponentUI {
             textComponent.getCaret().removeChangeListener(getChangeListener());
             textComponent.getCaret().removeChangeListener(currentLinePainter);
             textComponent.removePropertyChangeListener(getPropertyChangeListener());
+            textComponent.removeComponentListener(getComponentListener());
+            textComponent.getDocument().removeDocumentListener(getDocumentListener());
         }
         numberingPane.removePropertyChangeListener(getPropertyChangeListener());
         numberingPane.removeMouseListener(getMouseListener());
@@ -132,6 +153,14 @@ public class DarkNumberingPaneUI extends ComponentUI {
         return getHandler();
     }
 
+    protected DocumentListener getDocumentListener() {
+        return getHandler();
+    }
+
+    protected ComponentListener getComponentListener() {
+        return getHandler();
+    }
+
     protected Handler getHandler() {
         if (handler == null) {
             handler = new Handler();
@@ -161,8 +190,22 @@ public class DarkNumberingPaneUI extends ComponentUI {
         int startLine = root.getElementIndex(startIndex);
         int endLine = root.getElementIndex(endIndex);
 
+        /*
+         * When scrolling most of the pane is blitted and only the exposed lines need to be painted. Icons may
+         * overflow their line, hence they are painted for the whole viewport.
+         */
+        int clipStartLine = startLine;
+        int clipEndLine = endLine;
+        Rectangle clip = g.getClipBounds();
+        if (clip != null) {
+            p.y = Math.max(viewRect.y, clip.y);
+            clipStartLine = Math.max(startLine, root.getElementIndex(textComponent.viewToModel(p)) - 1);
+            p.y = Math.min(viewRect.y + viewRect.height, clip.y + clip.height);
+            clipEndLine = Math.min(endLine, root.getElementIndex(textComponent.viewToModel(p)) + 1);
+        }
+
         int yCurr = drawHighlightBackground(g, currOffset);
-        drawNumbering(g, startLine, endLine, yCurr, root, descent);
+        drawNumbering(g, clipStartLine, clipEndLine, yCurr, root, descent);
         paintIcons(g, startLine, endLine, root);
     }
 
@@ -185,26 +228,124 @@ public class DarkNumberingPaneUI extends ComponentUI {
             rect = new Rectangle(0, 0, 0, 0);
         }
         g.fillRect(0, rect.y, numberingPane.getWidth(), rect.height);
+        highlightBounds.setBounds(0, rect.y, numberingPane.getWidth(), rect.height);
+        paintedLineCount = textComponent.getDocument().getDefaultRootElement().getElementCount();
         return rect.y;
     }
 
+    /**
+     * Repaints the lines affected by a caret movement. Only the previously and currently highlighted line need to be
+     * repainted unless the number of lines has changed since the last paint.
+     */
+    protected void repaintCurrentLine() {
+        if (textComponent == null || highlightBounds.isEmpty()
+            || paintedLineCount != textComponent.getDocument().getDefaultRootElement().getElementCount()) {
+            numberingPane.repaint();
+            return;
+        }
+        try {
+            Rectangle rect = textComponent.modelToView(textComponent.getCaretPosition());
+            if (rect == null) {
+                numberingPane.repaint();
+                return;
+            }
+            if (rect.y != highlightBounds.y || rect.height != highlightBounds.height) {
+                numberingPane.repaint(highlightBounds);
+                numberingPane.repaint(0, rect.y, numberingPane.getWidth(), rect.height);
+            }
+        } catch (BadLocationException e) {
+            numberingPane.repaint();
+        }
+    }
+
     protected void drawNumbering(final Graphics g, final int startLine, final int endLine, final int yCur,
                                  final Element root, final int descent) {
         GraphicsContext config = GraphicsUtil.setupAntialiasing(g);
         g.setColor(numberingPane.getForeground());
         int digits = String.valueOf(root.getElementCount()).length();
         for (int i = startLine; i <= endLine; i++) {
-            int off = root.getElement(i).getStartOffset();
             try {
-                Rectangle lineRect = textComponent.modelToView(off);
+                Rectangle lineRect = getLineBounds(i, root);
                 g.setColor(lineRect.y == yCur ? foregroundHighlight : numberingPane.getForeground());
-                g.drawString(String.format("%1$" + digits + "d", i), OUTER_PAD,
-                             lineRect.y + lineRect.height - descent);
+                drawLineNumber(g, i, digits, OUTER_PAD, lineRect.y + lineRect.height - descent);
             } catch (BadLocationException ignored) {}
         }
         config.restore();
     }
 
+    /**
+     * Draws the line number right aligned to the given number of digits. The number is assembled from the cached
+     * glyphs of the digits, which avoids formatting and laying out a string for each line.
+     *
+     * @param g      the graphics object.
+     * @param line   the line number.
+     * @param digits the number of digits to align to.
+     * @param x      the x coordinate.
+     * @param y      the baseline.
+     */
+    protected void drawLineNumber(final Graphics g, final int line, final int digits, final int x, final int y) {
+        if (!(g instanceof Graphics2D)) {
+            g.drawString(String.format("%1$" + digits + "d", line), x, y);
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        Font font = g2.getFont();
+        FontRenderContext frc = g2.getFontRenderContext();
+        if (!font.equals(glyphFont)) {
+            glyphFont = font;
+            glyphCodes = font.createGlyphVector(frc, NUMBER_CHARS).getGlyphCodes(0, NUMBER_CHARS.length(), null);
+        }
+        int[] codes = new int[digits];
+        int value = line;
+        for (int i = digits - 1; i >= 0; i--) {
+            if (value == 0 && i < digits - 1) {
+                codes[i] = glyphCodes[SPACE_INDEX];
+            } else {
+                codes[i] = glyphCodes[value % 10];
+                value /= 10;
+            }
+        }
+        g2.drawGlyphVector(font.createGlyphVector(frc, codes), x, y);
+    }
+
+    /**
+     * Returns the bounds of the start of the given line. Only the y coordinate and height of the returned rectangle are
+     * valid. The rectangle is reused for subsequent calls.
+     *
+     * @param  line                 the line index.
+     * @param  root                 the root element of the document.
+     * @return                      the bounds of the line start.
+     * @throws BadLocationException if the line start can't be mapped to view coordinates.
+     */
+    protected Rectangle getLineBounds(final int line, final Element root) throws BadLocationException {
+        if (line >= lineY.length) {
+            int size = Math.max(root.getElementCount(), line + 1);
+            int oldSize = lineY.length;
+            lineY = Arrays.copyOf(lineY, size);
+            lineHeight = Arrays.copyOf(lineHeight, size);
+            Arrays.fill(lineY, oldSize, size, UNKNOWN);
+        }
+        if (lineY[line] == UNKNOWN) {
+            Rectangle rect = textComponent.modelToView(root.getElement(line).getStartOffset());
+            if (rect == null) throw new BadLocationException("Line isn't laid out", line);
+            lineY[line] = rect.y;
+            lineHeight[line] = rect.height;
+        }
+        lineBounds.setBounds(0, lineY[line], 0, lineHeight[line]);
+        return lineBounds;
+    }
+
+    /**
+     * Invalidates the cached bounds of all lines starting at the given line.
+     *
+     * @param startLine the first line to invalidate.
+     */
+    protected void invalidateLineBounds(final int startLine) {
+        if (startLine < lineY.length) {
+            Arrays.fill(lineY, Math.max(startLine, 0), lineY.length, UNKNOWN);
+        }
+    }
+
     protected void paintIcons(final Graphics g, final int startLine, final int endLine, final Element root) {
         List<Map.Entry<Position, Icon>> icons = numberingPane.getIconsInRange(root.getElement(startLine)
                                                                                   .getStartOffset(),
@@ -239,7 +380,8 @@ public class DarkNumberingPaneUI extends ComponentUI {
         }
     }
 
-    protected class Handler extends MouseAdapter implements PropertyChangeListener, ChangeListener {
+    protected class Handler extends MouseAdapter implements PropertyChangeListener, ChangeListener, DocumentListener,
+                                   ComponentListener {
 
         protected int selectionLineStart;
         protected int selectionLineEnd;
@@ -319,12 +461,50 @@ public class DarkNumberingPaneUI extends ComponentUI {
 
         @Override
         public void stateChanged(final ChangeEvent e) {
-            numberingPane.repaint();
+            repaintCurrentLine();
+        }
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            invalidateLines(e);
         }
 
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            invalidateLines(e);
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {
+            invalidateLines(e);
+        }
+
+        protected void invalidateLines(final DocumentEvent e) {
+            Element root = e.getDocument().getDefaultRootElement();
+            invalidateLineBounds(root.getElementIndex(e.getOffset()));
+        }
+
+        @Override
+        public void componentResized(final ComponentEvent e) {
+            invalidateLineBounds(0);
+        }
+
+        @Override
+        public void componentMoved(final ComponentEvent e) {}
+
+        @Override
+        public void componentShown(final ComponentEvent e) {}
+
+        @Override
+        public void componentHidden(final ComponentEvent e) {}
+
         @Override
         public void propertyChange(final PropertyChangeEvent evt) {
             String key = evt.getPropertyName();
+            if (evt.getSource() == textComponent) {
+                // Borders, fonts etc. may move the lines of the text component.
+                invalidateLineBounds(0);
+            }
             if (PropertyKey.CARET.equals(key)) {
                 if (evt.getNewValue() instanceof Caret) {
                     Object oldCaret = evt.getOldValue();
@@ -350,7 +530,10 @@ public class DarkNumberingPaneUI extends ComponentUI {
                     textComponent.getCaret().removeChangeListener(getChangeListener());
                     textComponent.getCaret().removeChangeListener(currentLinePainter);
                     textComponent.removePropertyChangeListener(getPropertyChangeListener());
+                    textComponent.removeComponentListener(getComponentListener());
+                    textComponent.getDocument().removeDocumentListener(getDocumentListener());
                 }
+                invalidateLineBounds(0);
                 if (newPane instanceof JTextComponent) {
                     textComponent = (JTextComponent) newPane;
                     try {
@@ -359,6 +542,8 @@ public class DarkNumberingPaneUI extends ComponentUI {
                         currentLinePainter.setComponent(textComponent);
                     } catch (BadLocationException ignored) {}
                     textComponent.addPropertyChangeListener(getPropertyChangeListener());
+                    textComponent.addComponentListener(getComponentListener());
+                    textComponent.getDocument().addDocumentListener(getDocumentListener());
                     textComponent.getCaret().addChangeListener(getChangeListener());
                     Font font = textComponent.getFont();
                     numberingPane.setFont(font.deriveFont(Math.max(font.getSize() - 1, 1.0f)));
@@ -374,6 +559,13 @@ public class DarkNumberingPaneUI extends ComponentUI {
                 if (newVal instanceof Icon) {
                     maxIconWidth = Math.max(maxIconWidth, ((Icon) newVal).getIconWidth());
                 }
+            } else if (PropertyKey.DOCUMENT.equals(key)) {
+                if (evt.getOldValue() instanceof Document) {
+                    ((Document) evt.getOldValue()).removeDocumentListener(getDocumentListener());
+                }
+                if (evt.getNewValue() instanceof Document) {
+                    ((Document) evt.getNewValue()).addDocumentListener(getDocumentListener());
+                }
             } else if (PropertyKey.ANCESTOR.equals(key)) {
                 if (evt.getSource() == numberingPane) {
                     updateViewport((Component) evt.getNewValue());
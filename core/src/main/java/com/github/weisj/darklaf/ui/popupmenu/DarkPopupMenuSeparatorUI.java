@@ -36,6 +36,8 @@ import com.github.weisj.darklaf.ui.separator.DarkSeparatorUI;
  */
 public class DarkPopupMenuSeparatorUI extends DarkSeparatorUI {
 
+    protected Color borderColor;
+
     public static ComponentUI createUI(final JComponent c) {
         return new DarkPopupMenuSeparatorUI();
     }
@@ -44,12 +46,13 @@ public class DarkPopupMenuSeparatorUI extends DarkSeparatorUI {
     protected void installDefaults(final JSeparator s) {
         super.installDefaults(s);
         size = UIManager.getDimension("PopupMenuDivider.size");
+        borderColor = UIManager.getColor("PopupMenu.borderColor");
     }
 
     @Override
     public void paint(final Graphics g, final JComponent c) {
         Dimension s = c.getSize();
-        g.setColor(UIManager.getDefaults().getColor("PopupMenu.borderColor"));
+        g.setColor(borderColor);
         g.fillRect(0, size.height / 2, s.width, 1);
     }
 
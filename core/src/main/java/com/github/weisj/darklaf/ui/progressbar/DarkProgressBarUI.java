@@ -64,6 +64,8 @@ public class DarkProgressBarUI extends BasicProgressBarUI implements PropertyCha
     private Color passedColor;
     private Color passedEndColor;
     private int stripeWidth;
+    private Dimension horizontalSize;
+    private Dimension verticalSize;
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkProgressBarUI();
@@ -196,6 +198,20 @@ public class DarkProgressBarUI extends BasicProgressBarUI implements PropertyCha
         failedEndColor = UIManager.getColor("ProgressBar.failedEndColor");
         passedColor = UIManager.getColor("ProgressBar.passedColor");
         passedEndColor = UIManager.getColor("ProgressBar.passedEndColor");
+        horizontalSize = UIManager.getDimension("ProgressBar.horizontalSize");
+        if (horizontalSize == null) horizontalSize = new Dimension(146, 12);
+        verticalSize = UIManager.getDimension("ProgressBar.verticalSize");
+        if (verticalSize == null) verticalSize = new Dimension(12, 146);
+    }
+
+    @Override
+    protected Dimension getPreferredInnerHorizontal() {
+        return horizontalSize;
+    }
+
+    @Override
+    protected Dimension getPreferredInnerVertical() {
+        return verticalSize;
     }
 
     protected Color getStartColor() {
@@ -224,13 +224,18 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
                   DarkScrollBarListener.FADEOUT_FRAMES_COUNT * DarkScrollBarListener.FADEOUT_FRAME_COUNT_FACTOR, false);
         }
 
+        @Override
+        protected Component getAnimatedComponent() {
+            return scrollbar;
+        }
+
         public void paintNow(final int frame, final int totalFrames, final int cycle) {
             trackAlpha = MAX_TRACK_ALPHA;
             if (frame > DELAY_FRAMES) {
                 trackAlpha *= (float) (1 - (double) frame / totalFrames);
             }
             if (scrollbar != null) {
-                ((JComponent) scrollbar.getParent()).paintImmediately(scrollbar.getBounds());
+                requestRepaint((JComponent) scrollbar.getParent(), scrollbar.getBounds());
             }
         }
 
@@ -238,7 +243,7 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
         protected void paintCycleEnd() {
             trackAlpha = 0;
             if (scrollbar != null) {
-                ((JComponent) scrollbar.getParent()).paintImmediately(scrollbar.getBounds());
+                requestRepaint((JComponent) scrollbar.getParent(), scrollbar.getBounds());
             }
         }
     }
@@ -249,11 +254,16 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
                   DarkScrollBarListener.FADEIN_FRAMES_COUNT * DarkScrollBarListener.FADEIN_FRAME_COUNT_FACTOR, false);
         }
 
+        @Override
+        protected Component getAnimatedComponent() {
+            return scrollbar;
+        }
+
         @Override
         public void paintNow(final int frame, final int totalFrames, final int cycle) {
             thumbAlpha = ((float) frame * MAX_THUMB_ALPHA) / totalFrames;
             if (scrollbar != null) {
-                ((JComponent) scrollbar.getParent()).paintImmediately(scrollbar.getBounds());
+                requestRepaint((JComponent) scrollbar.getParent(), scrollbar.getBounds());
             }
         }
 
@@ -261,7 +271,7 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
         protected void paintCycleEnd() {
             thumbAlpha = MAX_THUMB_ALPHA;
             if (scrollbar != null) {
-                ((JComponent) scrollbar.getParent()).paintImmediately(scrollbar.getBounds());
+                requestRepaint((JComponent) scrollbar.getParent(), scrollbar.getBounds());
                 Point p = MouseInfo.getPointerInfo().getLocation();
                 SwingUtilities.convertPointFromScreen(p, scrollbar);
                 if (!ui.getThumbBounds().contains(p) && !scrollbar.getValueIsAdjusting()) {
@@ -278,10 +288,15 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
                   DarkScrollBarListener.FADEIN_FRAMES_COUNT * DarkScrollBarListener.FADEIN_FRAME_COUNT_FACTOR, false);
         }
 
+        @Override
+        protected Component getAnimatedComponent() {
+            return scrollbar;
+        }
+
         public void paintNow(final int frame, final int totalFrames, final int cycle) {
             trackAlpha = ((float) frame * MAX_TRACK_ALPHA) / totalFrames;
             if (scrollbar != null) {
-                ((JComponent) scrollbar.getParent()).paintImmediately(scrollbar.getBounds());
+                requestRepaint((JComponent) scrollbar.getParent(), scrollbar.getBounds());
             }
         }
 
@@ -289,7 +304,7 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
         protected void paintCycleEnd() {
             trackAlpha = MAX_TRACK_ALPHA;
             if (scrollbar != null) {
-                ((JComponent) scrollbar.getParent()).paintImmediately(scrollbar.getBounds());
+                requestRepaint((JComponent) scrollbar.getParent(), scrollbar.getBounds());
             }
         }
     }
@@ -300,6 +315,11 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
                   DarkScrollBarListener.FADEOUT_FRAMES_COUNT * DarkScrollBarListener.FADEOUT_FRAME_COUNT_FACTOR, false);
         }
 
+        @Override
+        protected Component getAnimatedComponent() {
+            return scrollbar;
+        }
+
         @Override
         public void paintNow(final int frame, final int totalFrames, final int cycle) {
             thumbAlpha = MAX_THUMB_ALPHA;
@@ -307,7 +327,7 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
                 thumbAlpha *= (float) (1 - (double) frame / totalFrames);
             }
             if (scrollbar != null) {
-                ((JComponent) scrollbar.getParent()).paintImmediately(scrollbar.getBounds());
+                requestRepaint((JComponent) scrollbar.getParent(), scrollbar.getBounds());
             }
         }
 
@@ -315,7 +335,7 @@ public class DarkScrollBarListener extends MouseAdapter implements AdjustmentLis
         protected void paintCycleEnd() {
             thumbAlpha = 0;
             if (scrollbar != null) {
-                ((JComponent) scrollbar.getParent()).paintImmediately(scrollbar.getBounds());
+                requestRepaint((JComponent) scrollbar.getParent(), scrollbar.getBounds());
             }
         }
     }
@@ -84,6 +84,7 @@ public class DarkSliderUI extends BasicSliderUI implements PropertyChangeListene
     protected int trackSize;
     protected int iconPad;
     protected Dimension thumbSize;
+    protected Color tickForeground;
     protected Color inactiveTickForeground;
     protected Color trackBackground;
     protected Color selectedTrackBackground;
@@ -416,6 +417,49 @@ public class DarkSliderUI extends BasicSliderUI implements PropertyChangeListene
         config.restore();
     }
 
+    /*
+     * Same as BasicSliderUI#paintTicks but uses the tick color read during installation.
+     */
+    @Override
+    public void paintTicks(final Graphics g) {
+        Rectangle tickBounds = tickRect;
+        int minorSpacing = slider.getMinorTickSpacing();
+        int majorSpacing = slider.getMajorTickSpacing();
+        int min = slider.getMinimum();
+        int max = slider.getMaximum();
+        g.setColor(tickForeground);
+        if (isHorizontal()) {
+            g.translate(0, tickBounds.y);
+            for (int value = min; minorSpacing > 0 && value <= max; value += minorSpacing) {
+                paintMinorTickForHorizSlider(g, tickBounds, xPositionForValue(value));
+                if (Integer.MAX_VALUE - minorSpacing < value) break;
+            }
+            for (int value = min; majorSpacing > 0 && value <= max; value += majorSpacing) {
+                paintMajorTickForHorizSlider(g, tickBounds, xPositionForValue(value));
+                if (Integer.MAX_VALUE - majorSpacing < value) break;
+            }
+            g.translate(0, -tickBounds.y);
+        } else {
+            boolean ltr = slider.getComponentOrientation().isLeftToRight();
+            g.translate(tickBounds.x, 0);
+            int offset = ltr ? 0 : tickBounds.width - tickBounds.width / 2;
+            g.translate(offset, 0);
+            for (int value = min; minorSpacing > 0 && value <= max; value += minorSpacing) {
+                paintMinorTickForVertSlider(g, tickBounds, yPositionForValue(value));
+                if (Integer.MAX_VALUE - minorSpacing < value) break;
+            }
+            g.translate(-offset, 0);
+            offset = ltr ? 0 : 2;
+            g.translate(offset, 0);
+            for (int value = min; majorSpacing > 0 && value <= max; value += majorSpacing) {
+                paintMajorTickForVertSlider(g, tickBounds, yPositionForValue(value));
+                if (Integer.MAX_VALUE - majorSpacing < value) break;
+            }
+            g.translate(-offset, 0);
+            g.translate(-tickBounds.x, 0);
+        }
+    }
+
     @Override
     protected void paintMinorTickForHorizSlider(final Graphics g, final Rectangle tickBounds, final int x) {
         checkDisabled(g);
@@ -516,6 +560,8 @@ public class DarkSliderUI extends BasicSliderUI implements PropertyChangeListene
         plainThumbRadius = UIManager.getInt("Slider.plainThumbRadius");
         thumbSize = UIManager.getDimension("Slider.thumbSize");
         iconPad = UIManager.getInt("Slider.iconPad");
+        tickForeground = UIManager.getColor("Slider.tickColor");
+        if (tickForeground == null) tickForeground = Color.BLACK;
         inactiveTickForeground = UIManager.getColor("Slider.disabledTickColor");
         trackBackground = UIManager.getColor("Slider.trackBackground");
         selectedTrackBackground = UIManager.getColor("Slider.selectedTrackColor");
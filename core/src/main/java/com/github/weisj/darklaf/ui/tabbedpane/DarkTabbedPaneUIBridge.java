@@ -251,6 +251,16 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
      */
     protected Color selectedForeground;
 
+    /**
+     * The label shift of unselected tabs or null if not specified.
+     */
+    protected Integer labelShift;
+
+    /**
+     * The label shift of the selected tab or null if not specified.
+     */
+    protected Integer selectedLabelShift;
+
     /**
      * The Baseline.
      */
@@ -758,8 +768,8 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
      */
     protected int getTabLabelShiftX(final int tabPlacement, final int tabIndex, final boolean isSelected) {
         Rectangle tabRect = rects[tabIndex];
-        String propKey = (isSelected ? "selectedLabelShift" : "labelShift");
-        int nudge = DefaultLookup.getInt(tabPane, this, "TabbedPane." + propKey, 1);
+        Integer shift = isSelected ? selectedLabelShift : labelShift;
+        int nudge = shift != null ? shift : 1;
 
         switch (tabPlacement) {
             case LEFT :
@@ -783,8 +793,8 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
      */
     protected int getTabLabelShiftY(final int tabPlacement, final int tabIndex, final boolean isSelected) {
         Rectangle tabRect = rects[tabIndex];
-        int nudge = (isSelected ? DefaultLookup.getInt(tabPane, this, "TabbedPane.selectedLabelShift", -1)
-                : DefaultLookup.getInt(tabPane, this, "TabbedPane.labelShift", 1));
+        Integer shift = isSelected ? selectedLabelShift : labelShift;
+        int nudge = shift != null ? shift : isSelected ? -1 : 1;
 
         switch (tabPlacement) {
             case BOTTOM :
@@ -844,6 +854,8 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
         tabsOpaque = UIManager.getBoolean("TabbedPane.tabsOpaque");
         contentOpaque = UIManager.getBoolean("TabbedPane.contentOpaque");
         selectedForeground = UIManager.getColor("TabbedPane.selectedForeground");
+        labelShift = getInteger(UIManager.get("TabbedPane.labelShift"));
+        selectedLabelShift = getInteger(UIManager.get("TabbedPane.selectedLabelShift"));
         Object opaque = UIManager.get("TabbedPane.opaque");
         if (opaque == null) {
             opaque = Boolean.FALSE;
@@ -859,6 +871,10 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
         if (contentBorderInsets == null) contentBorderInsets = new Insets(2, 2, 3, 3);
     }
 
+    private static Integer getInteger(final Object value) {
+        return value instanceof Integer ? (Integer) value : null;
+    }
+
     // UI Rendering
 
     /**
@@ -24,6 +24,120 @@
  */
 package com.github.weisj.darklaf.ui.text;
 
+import java.awt.*;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.plaf.basic.BasicTextUI;
+import javax.swing.text.DefaultHighlighterDark.DarkHighlightPainter;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+
+/**
+ * Highlighter which paints the highlights of a {@link DarkHighlightPainter} in a single pass before the text is
+ * painted. All highlights of a painter are merged into one outline.
+ *
+ * @author Jannis Weis
+ */
+public class DarkHighlighter extends BasicTextUI.BasicHighlighter {
+
+    /*
+     * Stamps are unique across all highlighters, so painters used with several components can't mistake the layout
+     * of one component for another.
+     */
+    private static final AtomicLong LAYOUT_STAMPS = new AtomicLong();
+
+    private final LayoutListener layoutListener = new LayoutListener();
+    private final Map<DarkHighlightPainter, List<Highlight>> outlineHighlights = new LinkedHashMap<>();
+    private JTextComponent component;
+    private Document document;
+    private long layoutStamp = LAYOUT_STAMPS.incrementAndGet();
+
+    @Override
+    public void install(final JTextComponent c) {
+        super.install(c);
+        component = c;
+        c.addPropertyChangeListener(layoutListener);
+        setDocument(c.getDocument());
+    }
+
+    @Override
+    public void deinstall(final JTextComponent c) {
+        super.deinstall(c);
+        c.removePropertyChangeListener(layoutListener);
+        setDocument(null);
+        component = null;
+    }
+
+    private void setDocument(final Document doc) {
+        if (document != null) document.removeDocumentListener(layoutListener);
+        document = doc;
+        if (document != null) document.addDocumentListener(layoutListener);
+        invalidateLayout();
+    }
+
+    private void invalidateLayout() {
+        layoutStamp = LAYOUT_STAMPS.incrementAndGet();
+    }
+
+    /**
+     * Returns a stamp of the current layout of the text. The stamp changes whenever the document or a property of the
+     * text component changes, which may change the layout of the text.
+     *
+     * @return the layout stamp.
+     */
+    public long getLayoutStamp() {
+        return layoutStamp;
+    }
+
+    @Override
+    public void paint(final Graphics g) {
+        super.paint(g);
+        if (component == null || !getDrawsLayeredHighlights()) return;
+        for (Highlight highlight : getHighlights()) {
+            if (!(highlight.getPainter() instanceof DarkHighlightPainter)) continue;
+            DarkHighlightPainter painter = (DarkHighlightPainter) highlight.getPainter();
+            if (!painter.isPaintingOutline(component)) continue;
+            outlineHighlights.computeIfAbsent(painter, p -> new ArrayList<>()).add(highlight);
+        }
+        if (outlineHighlights.isEmpty()) return;
+        for (Map.Entry<DarkHighlightPainter, List<Highlight>> entry : outlineHighlights.entrySet()) {
+            entry.getKey().paintHighlights(g, component, entry.getValue(), layoutStamp);
+        }
+        outlineHighlights.clear();
+    }
+
+    private class LayoutListener implements DocumentListener, PropertyChangeListener {
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            invalidateLayout();
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            invalidateLayout();
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {
+            invalidateLayout();
+        }
 
-public class DarkHighlighter extends BasicTextUI.BasicHighlighter {}
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            if ("document".equals(evt.getPropertyName())) {
+                setDocument(component.getDocument());
+            } else {
+                invalidateLayout();
+            }
+        }
+    }
+}
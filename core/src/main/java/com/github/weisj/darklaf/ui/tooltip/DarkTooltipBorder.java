@@ -46,6 +46,7 @@ public class DarkTooltipBorder implements Border, AlignableTooltipBorder {
 
     private final DropShadowBorder shadowBorder;
     private final BubbleBorder bubbleBorder;
+    private final boolean paintShadow;
     private boolean skipShadow;
     private Insets margin;
     private Alignment alignment;
@@ -64,6 +65,8 @@ public class DarkTooltipBorder implements Border, AlignableTooltipBorder {
         shadowBorder = new DropShadowBorder(UIManager.getColor("ToolTip.borderShadowColor"),
                                             shadowSize, opacity, 2 * shadowSize,
                                             false, true, true, true);
+        paintShadow = UIManager.getBoolean("ToolTip.paintShadow");
+        if (paintShadow) shadowBorder.preload();
     }
 
     public Area getBackgroundArea(final Component c, final int width, final int height) {
@@ -124,7 +127,7 @@ public class DarkTooltipBorder implements Border, AlignableTooltipBorder {
         Area innerArea = bubbleBorder.getBubbleArea(x + ins.left, y + ins.top,
                                                     width - ins.left - ins.right,
                                                     height - ins.top - ins.bottom, true);
-        if (!skipShadow && UIManager.getBoolean("ToolTip.paintShadow")) {
+        if (!skipShadow && paintShadow) {
             paintShadow(c, g, x, y, width, height, innerArea);
         }
         Area outerArea = bubbleBorder.getBubbleArea(x + ins.left, y + ins.top,
@@ -28,7 +28,9 @@ import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -400,93 +402,72 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         drawingCache.clear();
 
         if (initialPath != null && paintingEnumerator != null) {
-            TreePath parentPath = initialPath;
-
-            // Draw the lines, knobs, and rows
-
-            boolean done = false;
-            // Information for the node being rendered.
-            boolean isExpanded;
-            boolean hasBeenExpanded;
-            boolean isLeaf;
-            Rectangle boundsBuffer = new Rectangle();
-            Rectangle bounds;
-            TreePath path;
-            boolean rootVisible = isRootVisible();
+            /*
+             * Collect the rows intersecting the clip in a single pass. Everything below
+             * only depends on these rows.
+             */
+            List<PaintRow> paintRows = new ArrayList<>();
+            while (paintingEnumerator.hasMoreElements()) {
+                TreePath path = (TreePath) paintingEnumerator.nextElement();
+                if (path == null) break;
+                Rectangle bounds = getPathBounds(path, insets, new Rectangle());
+                if (bounds == null)
+                // This will only happen if the model changes out
+                // from under us (usually in another thread).
+                // Swing isn't multithreaded, but I'll put this
+                // check in anyway.
+                {
+                    return;
+                }
+                paintRows.add(new PaintRow(path, row, bounds));
+                if ((bounds.y + bounds.height) >= endY) break;
+                row++;
+            }
 
             // Paint row backgrounds
-            Enumeration<?> backgroundEnumerator = treeState.getVisiblePathsFrom(initialPath);
-            while (backgroundEnumerator != null && backgroundEnumerator.hasMoreElements()) {
-                path = (TreePath) backgroundEnumerator.nextElement();
-                if (path != null) {
-                    isLeaf = treeModel.isLeaf(path.getLastPathComponent());
-                    if (isLeaf) {
-                        isExpanded = hasBeenExpanded = false;
-                    } else {
-                        isExpanded = treeState.getExpandedState(path);
-                        hasBeenExpanded = tree.hasBeenExpanded(path);
-                    }
-                    bounds = getPathBounds(path, insets, boundsBuffer);
-                    if (bounds == null) return;
-                    if (paintBounds.intersects(bounds)) {
-                        paintRowBackground(g, paintBounds, insets, bounds, path,
-                                           tree.getRowForPath(path), isExpanded, hasBeenExpanded, isLeaf);
-                    }
+            for (PaintRow paintRow : paintRows) {
+                if (paintBounds.intersects(paintRow.bounds)) {
+                    paintRowBackground(g, paintBounds, insets, paintRow.bounds, paintRow.path, paintRow.row,
+                                       paintRow.isExpanded, paintRow.hasBeenExpanded, paintRow.isLeaf);
                 }
             }
 
             // Find each parent and have them draw a line to their last child
+            TreePath parentPath = initialPath;
             while (parentPath != null) {
                 paintVerticalPartOfLeg(g, paintBounds, insets, parentPath);
                 drawingCache.put(parentPath, Boolean.TRUE);
                 parentPath = parentPath.getParentPath();
             }
 
-            while (!done && paintingEnumerator.hasMoreElements()) {
-                path = (TreePath) paintingEnumerator.nextElement();
-                if (path != null) {
-                    isLeaf = treeModel.isLeaf(path.getLastPathComponent());
-                    if (isLeaf) {
-                        isExpanded = hasBeenExpanded = false;
-                    } else {
-                        isExpanded = treeState.getExpandedState(path);
-                        hasBeenExpanded = tree.hasBeenExpanded(path);
-                    }
-                    bounds = getPathBounds(path, insets, boundsBuffer);
-                    if (bounds == null)
-                    // This will only happen if the model changes out
-                    // from under us (usually in another thread).
-                    // Swing isn't multithreaded, but I'll put this
-                    // check in anyway.
-                    {
-                        return;
-                    }
-
-                    // See if the vertical line to the parent has been drawn.
-                    parentPath = path.getParentPath();
-                    if (parentPath != null) {
-                        if (drawingCache.get(parentPath) == null) {
-                            paintVerticalPartOfLeg(g, paintBounds, insets, parentPath);
-                            drawingCache.put(parentPath, Boolean.TRUE);
-                        }
-                        paintHorizontalPartOfLeg(g, paintBounds, insets, bounds, path, row, isExpanded,
-                                                 hasBeenExpanded, isLeaf);
-                    } else if (rootVisible && row == 0) {
-                        paintHorizontalPartOfLeg(g, paintBounds, insets, bounds, path, row, isExpanded,
-                                                 hasBeenExpanded, isLeaf);
-                    }
-                    if (shouldPaintExpandControl(path, row, isExpanded, hasBeenExpanded, isLeaf)) {
-                        paintExpandControl(g, paintBounds, insets, bounds, path, row, isExpanded,
-                                           hasBeenExpanded, isLeaf);
-                    }
-                    paintRow(g, paintBounds, insets, bounds, path, row, isExpanded, hasBeenExpanded, isLeaf);
-                    if ((bounds.y + bounds.height) >= endY) {
-                        done = true;
+            // Draw the lines, knobs, and rows
+            boolean rootVisible = isRootVisible();
+            for (PaintRow paintRow : paintRows) {
+                TreePath path = paintRow.path;
+                Rectangle bounds = paintRow.bounds;
+                boolean isExpanded = paintRow.isExpanded;
+                boolean hasBeenExpanded = paintRow.hasBeenExpanded;
+                boolean isLeaf = paintRow.isLeaf;
+                int paintRowIndex = paintRow.row;
+
+                // See if the vertical line to the parent has been drawn.
+                parentPath = path.getParentPath();
+                if (parentPath != null) {
+                    if (drawingCache.get(parentPath) == null) {
+                        paintVerticalPartOfLeg(g, paintBounds, insets, parentPath);
+                        drawingCache.put(parentPath, Boolean.TRUE);
                     }
-                } else {
-                    done = true;
+                    paintHorizontalPartOfLeg(g, paintBounds, insets, bounds, path, paintRowIndex, isExpanded,
+                                             hasBeenExpanded, isLeaf);
+                } else if (rootVisible && paintRowIndex == 0) {
+                    paintHorizontalPartOfLeg(g, paintBounds, insets, bounds, path, paintRowIndex, isExpanded,
+                                             hasBeenExpanded, isLeaf);
                 }
-                row++;
+                if (shouldPaintExpandControl(path, paintRowIndex, isExpanded, hasBeenExpanded, isLeaf)) {
+                    paintExpandControl(g, paintBounds, insets, bounds, path, paintRowIndex, isExpanded,
+                                       hasBeenExpanded, isLeaf);
+                }
+                paintRow(g, paintBounds, insets, bounds, path, paintRowIndex, isExpanded, hasBeenExpanded, isLeaf);
             }
         }
         paintDropLine(g);
@@ -666,16 +647,32 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
             }
         }
 
-        int childCount = treeModel.getChildCount(path.getLastPathComponent());
+        Object parent = path.getLastPathComponent();
+        int childCount = treeModel.getChildCount(parent);
+        int clipEnd = clipBounds.y + clipBounds.height;
+        /*
+         * Segments of children above the clip aren't visible. Skip them but keep the top of the first
+         * visible segment, as it determines the phase of dashed lines.
+         */
+        int firstChild = getFirstChildBelow(path, childCount - 1, clipTop);
+        if (firstChild > 0) {
+            Rectangle childBounds = getPathBounds(tree, path.pathByAddingChild(treeModel.getChild(parent,
+                                                                                                firstChild - 1)));
+            if (childBounds != null) {
+                top = Math.min(childBounds.y + childBounds.height, clipBottom);
+            } else {
+                firstChild = 0;
+            }
+        }
         g.setColor(getLineColor(path));
-        for (int i = 0; i < childCount - 1; i++) {
-            TreePath childPath = path.pathByAddingChild(treeModel.getChild(path.getLastPathComponent(), i));
+        for (int i = firstChild; i < childCount - 1; i++) {
+            TreePath childPath = path.pathByAddingChild(treeModel.getChild(parent, i));
             Rectangle childBounds = getPathBounds(tree, childPath);
             if (childBounds != null) {
                 bottom = Math.min(childBounds.y + childBounds.height, clipBottom);
                 paintVerticalLine(g, tree, lineX, top, bottom);
                 top = bottom;
-                if (clipBottom < top) return;
+                if (clipBottom < top || clipEnd <= top) return;
             }
         }
 
@@ -695,6 +692,32 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         }
     }
 
+    /**
+     * Finds the index of the first child of the given path whose bounds end below the given y coordinate.
+     * Children of an expanded path are laid out from top to bottom, hence a binary search suffices.
+     *
+     * @param  path  the expanded parent path.
+     * @param  count the number of children to consider.
+     * @param  y     the y coordinate.
+     * @return       the index of the first child ending below y or count if there is none.
+     */
+    private int getFirstChildBelow(final TreePath path, final int count, final int y) {
+        Object parent = path.getLastPathComponent();
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Rectangle childBounds = getPathBounds(tree, path.pathByAddingChild(treeModel.getChild(parent, mid)));
+            if (childBounds == null) return 0;
+            if (childBounds.y + childBounds.height <= y) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     @Override
     protected void paintExpandControl(final Graphics g, final Rectangle clipBounds, final Insets insets,
                                       final Rectangle bounds, final TreePath path, final int row,
@@ -751,5 +774,30 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         }
     }
 
+    /*
+     * State of a row which is painted.
+     */
+    private final class PaintRow {
+        private final TreePath path;
+        private final int row;
+        private final Rectangle bounds;
+        private final boolean isLeaf;
+        private final boolean isExpanded;
+        private final boolean hasBeenExpanded;
+
+        private PaintRow(final TreePath path, final int row, final Rectangle bounds) {
+            this.path = path;
+            this.row = row;
+            this.bounds = bounds;
+            isLeaf = treeModel.isLeaf(path.getLastPathComponent());
+            if (isLeaf) {
+                isExpanded = hasBeenExpanded = false;
+            } else {
+                isExpanded = treeState.getExpandedState(path);
+                hasBeenExpanded = tree.hasBeenExpanded(path);
+            }
+        }
+    }
+
     private abstract static class TreeUIAction extends AbstractAction implements UIResource {}
 }
@@ -26,9 +26,16 @@ package javax.swing.text.DefaultHighlighterDark;
 
 import java.awt.*;
 import java.awt.font.TextAttribute;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Area;
+import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 import javax.swing.*;
@@ -39,7 +46,7 @@ import sun.swing.SwingUtilities2;
 import com.github.weisj.darklaf.graphics.ColorWrapper;
 import com.github.weisj.darklaf.graphics.GraphicsContext;
 import com.github.weisj.darklaf.graphics.GraphicsUtil;
-import com.github.weisj.darklaf.graphics.PaintUtil;
+import com.github.weisj.darklaf.ui.text.DarkHighlighter;
 import com.github.weisj.darklaf.ui.text.StyleConstantsEx;
 import com.github.weisj.darklaf.util.Alignment;
 
@@ -52,6 +59,8 @@ import com.github.weisj.darklaf.util.Alignment;
  */
 public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPainter {
 
+    private static final int INVALID_POSITION = Integer.MIN_VALUE + 100;
+
     private Paint paint;
     private Color color;
     private final HighlighterColor wrapper;
@@ -68,10 +77,12 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
     private int lastSelStart = -1;
     private int lastSelEnd = -1;
 
-    private final Shape[] arcs = new Shape[4];
+    private final Area[] arcs = new Area[4];
 
     private final Point tmpPoint = new Point();
 
+    private Outline outline;
+
     public DarkHighlightPainter() {
         this(null);
     }
@@ -100,6 +111,7 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
 
     public void setRoundedEdges(final boolean rounded) {
         roundedEdges = rounded;
+        outline = null;
     }
 
     @Override
@@ -119,7 +131,7 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
     @Override
     public void paint(final Graphics g, final int offs0, final int offs1, final Shape bounds,
                       final JTextComponent c) {
-        if (!enabled) return;
+        if (!enabled || isPaintedByHighlighter(c)) return;
         Graphics2D g2d = (Graphics2D) g;
         GraphicsContext context = new GraphicsContext(g2d);
         color = c.getSelectedTextColor();
@@ -177,6 +189,12 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
         wrapper.setColor(color);
         wrapper.setCustomForeground(!isForeground);
 
+        if (isPaintedByHighlighter(c)) {
+            // The highlighter has already painted the outline of the line before the text was painted.
+            Rectangle r = bounds.getBounds();
+            return new Rectangle(0, r.y, c.getWidth(), r.height);
+        }
+
         Graphics2D g2d = (Graphics2D) g;
         GraphicsContext context = GraphicsUtil.setupAAPainting(g2d);
 
@@ -227,8 +245,192 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
                && !Boolean.TRUE.equals(c.getDocument().getProperty("i18n"));
     }
 
+    /**
+     * Returns whether the highlights of this painter are painted as a single outline by {@link DarkHighlighter}
+     * before the text is painted, instead of one layer per view.
+     *
+     * @param  c the text component.
+     * @return   true if the highlights are painted as an outline.
+     */
+    public boolean isPaintingOutline(final JTextComponent c) {
+        return enabled && (isLineExtendingEnabled() || isRounded()) && isLeftTorRight(c);
+    }
+
+    private boolean isPaintedByHighlighter(final JTextComponent c) {
+        Highlighter highlighter = c.getHighlighter();
+        return highlighter instanceof DarkHighlighter && ((DarkHighlighter) highlighter).getDrawsLayeredHighlights()
+               && isPaintingOutline(c);
+    }
+
+    /**
+     * Paints the given highlights in a single pass. The highlighted parts of all visible lines are merged into one
+     * outline, which is reused until the layout of the text, the highlights or the visible area change.
+     *
+     * @param g           the graphics context.
+     * @param c           the text component.
+     * @param highlights  the highlights to paint. All of them use this painter.
+     * @param layoutStamp the current layout stamp of the highlighter.
+     * @see               DarkHighlighter#getLayoutStamp()
+     */
+    public void paintHighlights(final Graphics g, final JTextComponent c,
+                                final List<Highlighter.Highlight> highlights, final long layoutStamp) {
+        int[] ranges = getRanges(highlights);
+        if (ranges.length == 0) return;
+        Rectangle area = c.getVisibleRect();
+        Rectangle clip = g.getClipBounds();
+        if (clip != null) area = area.union(clip);
+
+        Outline shape = outline;
+        if (shape == null || !shape.isValid(c, layoutStamp, ranges, area)) {
+            shape = createOutline(c, layoutStamp, ranges, area);
+            outline = shape;
+        }
+        if (shape.bounds.isEmpty()) return;
+
+        Graphics2D g2d = (Graphics2D) g;
+        GraphicsContext context = GraphicsUtil.setupAAPainting(g2d);
+        if (getAlpha() < 1.0f) {
+            g2d.setComposite(getAlphaComposite());
+        }
+        setupColor(g2d, c, shape.bounds);
+        g2d.fill(shape.shape);
+        context.restore();
+    }
+
+    /*
+     * Returns the sorted offset ranges of the highlights. Overlapping and adjacent ranges are merged.
+     */
+    private int[] getRanges(final List<Highlighter.Highlight> highlights) {
+        int[][] sorted = new int[highlights.size()][];
+        int count = 0;
+        for (Highlighter.Highlight h : highlights) {
+            int start = Math.min(h.getStartOffset(), h.getEndOffset());
+            int end = Math.max(h.getStartOffset(), h.getEndOffset());
+            if (start < end) sorted[count++] = new int[]{start, end};
+        }
+        Arrays.sort(sorted, 0, count, (a, b) -> Integer.compare(a[0], b[0]));
+        int[] ranges = new int[2 * count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (size > 0 && sorted[i][0] <= ranges[size - 1]) {
+                ranges[size - 1] = Math.max(ranges[size - 1], sorted[i][1]);
+            } else {
+                ranges[size++] = sorted[i][0];
+                ranges[size++] = sorted[i][1];
+            }
+        }
+        return size == ranges.length ? ranges : Arrays.copyOf(ranges, size);
+    }
+
+    private Outline createOutline(final JTextComponent c, final long layoutStamp, final int[] ranges,
+                                  final Rectangle area) {
+        Path2D shape = new Path2D.Float(Path2D.WIND_NON_ZERO);
+        List<LineRect> lines = new ArrayList<>();
+        for (int i = 0; i < ranges.length; i += 2) {
+            lines.clear();
+            collectLines(c, ranges[i], ranges[i + 1], area, lines);
+            for (int j = 0; j < lines.size(); j++) {
+                Rectangle r = lines.get(j).rect;
+                // The lines outside of the area are only needed to determine the corners.
+                if (endY(r) <= startY(area) || startY(r) >= endY(area)) continue;
+                shape.append(createLineShape(lines, j), false);
+            }
+        }
+        return new Outline(c, layoutStamp, ranges, area, shape);
+    }
+
+    /*
+     * Collects the highlighted part of every line between start and end, which intersects the area. Additionally the
+     * lines directly above and below the area are collected, as they determine the corners of the outline.
+     */
+    private void collectLines(final JTextComponent c, final int start, final int end, final Rectangle area,
+                              final List<LineRect> lines) {
+        Insets ins = c.getInsets();
+        int offset = start;
+        int areaStart = getOffset(c, 0, startY(area));
+        if (areaStart > start) {
+            Rectangle above = getPosRect(c, areaStart - 1);
+            if (startY(above) != INVALID_POSITION) offset = Math.max(start, getOffset(c, 0, startY(above)));
+        }
+        while (offset < end) {
+            Rectangle pos = getPosRect(c, offset);
+            if (startY(pos) == INVALID_POSITION) break;
+            int lineStart = getOffset(c, 0, startY(pos));
+            int lineEnd = Math.max(offset, getOffset(c, c.getWidth(), startY(pos)));
+            int s = Math.max(lineStart, start);
+            int e = Math.min(lineEnd, end);
+            Rectangle lineRect = getLineRect(c, s, e);
+            if (end > lineEnd) {
+                // Include the last character of a wrapped line, i.e. the space at which it has been broken.
+                Rectangle wrapEnd = getPosRect(c, lineEnd + 1, Position.Bias.Backward);
+                if (startY(wrapEnd) == startY(lineRect) && endX(wrapEnd) > endX(lineRect)) {
+                    lineRect.width = endX(wrapEnd) - startX(lineRect);
+                }
+            }
+            if (isLineExtendingEnabled()) {
+                extendLine(c, ins, lineRect, s > start, end > lineEnd);
+            }
+            lines.add(new LineRect(lineRect, s == e));
+            if (startY(pos) >= endY(area) || lineEnd + 1 <= offset) break;
+            offset = lineEnd + 1;
+        }
+    }
+
+    /*
+     * Creates the shape of a single line of the outline. The corners are rounded or connected to the adjacent lines
+     * the same way as for the layers painted by paintRoundedLayer.
+     */
+    private Area createLineShape(final List<LineRect> lines, final int index) {
+        Rectangle current = lines.get(index).rect;
+        LineRect previous = index > 0 ? lines.get(index - 1) : null;
+        LineRect next = index + 1 < lines.size() ? lines.get(index + 1) : null;
+        boolean previousLineVisible = isVisibleNeighbour(previous);
+        boolean nextLineVisible = isVisibleNeighbour(next);
+
+        boolean roundedTopLeft = !previousLineVisible || leftRoundedVisible(current, previous.rect);
+        boolean roundedTopRight = !previousLineVisible || rightRoundedVisible(current, previous.rect);
+        boolean roundedBottomLeft = !nextLineVisible || leftRoundedVisible(current, next.rect);
+        boolean roundedBottomRight = !nextLineVisible || rightRoundedVisible(current, next.rect);
+
+        boolean arcTopLeft = previousLineVisible && !roundedTopLeft && leftArcVisible(current, previous.rect);
+        boolean arcTopRight = previousLineVisible && !roundedTopRight && rightArcVisible(current, previous.rect);
+        boolean arcBottomLeft = nextLineVisible && !roundedBottomLeft && leftArcVisible(current, next.rect);
+        boolean arcBottomRight = nextLineVisible && !roundedBottomRight && rightArcVisible(current, next.rect);
+
+        boolean rounded = isRounded();
+        return createLayerArea(current,
+                               rounded && roundedTopLeft, rounded && roundedTopRight,
+                               rounded && roundedBottomLeft, rounded && roundedBottomRight,
+                               rounded && arcTopLeft, rounded && arcTopRight,
+                               rounded && arcBottomLeft, rounded && arcBottomRight);
+    }
+
+    private boolean isVisibleNeighbour(final LineRect line) {
+        if (line == null) return false;
+        return isLineExtendingEnabled() || (line.rect.width > 0 && !line.empty);
+    }
+
     protected Rectangle paintRoundedLayer(final Graphics2D g, final JTextComponent c, final int offs0, final int offs1,
                                           final GraphicsContext context, final boolean isPaintingPreceding) {
+        return paintLayerShape(g, createLayerShape(c, offs0, offs1, isPaintingPreceding));
+    }
+
+    private Rectangle paintLayerShape(final Graphics2D g, final LayerShape shape) {
+        Area area = createLayerArea(shape.layerRect,
+                                    shape.roundedTopLeft, shape.roundedTopRight,
+                                    shape.roundedBottomLeft, shape.roundedBottomRight,
+                                    shape.arcTopLeft, shape.arcTopRight,
+                                    shape.arcBottomLeft, shape.arcBottomRight);
+        g.fill(area);
+        Rectangle r = area.getBounds();
+        if (shape.preceding != null) {
+            convexHull(r, paintLayerShape(g, shape.preceding));
+        }
+        return r;
+    }
+
+    private LayerShape createLayerShape(final JTextComponent c, final int offs0, final int offs1,
+                                        final boolean isPaintingPreceding) {
         Insets ins = c.getInsets();
 
         Rectangle posOffs0 = getPosRect(c, offs0);
@@ -333,22 +535,19 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
         boolean arcBottomRight = nextLineVisible && !roundedBottomRight
                                  && rightArcVisible(currentLineRect, nextLineRect);
 
-        layerRect = paintRoundRect(g, context, layerRect,
-                                   canRoundLeft && roundedTopLeft,
-                                   canRoundRight && roundedTopRight,
-                                   canRoundLeft && roundedBottomLeft,
-                                   canRoundRight && roundedBottomRight);
-        Rectangle r = paintArcs(g, context, layerRect,
-                                canRoundLeft && arcTopLeft,
-                                canRoundRight && arcTopRight,
-                                canRoundLeft && arcBottomLeft,
-                                canRoundRight && arcBottomRight);
-
-        if (paintPreviousLine && !isPaintingPreceding) {
-            Rectangle prev = paintRoundedLayer(g, c, previousLineStart, previousLineEnd, context, true);
-            convexHull(r, prev);
-        }
-        return r;
+        LayerShape preceding = paintPreviousLine && !isPaintingPreceding
+                ? createLayerShape(c, previousLineStart, previousLineEnd, true)
+                : null;
+        return new LayerShape(layerRect,
+                              canRoundLeft && roundedTopLeft,
+                              canRoundRight && roundedTopRight,
+                              canRoundLeft && roundedBottomLeft,
+                              canRoundRight && roundedBottomRight,
+                              canRoundLeft && arcTopLeft,
+                              canRoundRight && arcTopRight,
+                              canRoundLeft && arcBottomLeft,
+                              canRoundRight && arcBottomRight,
+                              preceding);
     }
 
     private void extendLine(final JTextComponent c, final Insets ins, final Rectangle previousLineRect,
@@ -371,6 +570,7 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
 
     public void setLineExtendingEnabled(final boolean enabled) {
         extendLines = enabled;
+        outline = null;
     }
 
     private boolean leftRoundedVisible(final Rectangle current, final Rectangle other) {
@@ -403,7 +603,7 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
         } catch (BadLocationException ignored) {} catch (IllegalArgumentException e) {
             new RuntimeException("" + offset).printStackTrace();
         }
-        return new Rectangle(Integer.MIN_VALUE + 100, Integer.MIN_VALUE + 100, 0, 0);
+        return new Rectangle(INVALID_POSITION, INVALID_POSITION, 0, 0);
     }
 
     private int getOffset(final JTextComponent c, final int x, final int y) {
@@ -459,96 +659,73 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
         return roundedEdges;
     }
 
-    private Rectangle paintRoundRect(final Graphics g, final GraphicsContext context, final Rectangle shape,
-                                     final boolean topLeft, final boolean topRight,
-                                     final boolean bottomLeft, final boolean bottomRight) {
-        Rectangle r = new Rectangle(shape);
-        int aw = Math.min(arcSize, r.width);
-        int ah = Math.min(arcSize, r.height);
-
-        /*
-         * If there is a rounded arc on one side A and none on the other (B) removing the arc B could overlap
-         * arc A if the width of the allocation is too small. This happens e.g. when single characters have different
-         * attribute sets.
-         */
-        g.clipRect(r.x, r.y, r.width, r.height);
-        boolean showLeft = topLeft || bottomLeft;
-        boolean showRight = topRight || bottomRight;
-        boolean showTop = topRight || topLeft;
-        boolean showBottom = bottomLeft || bottomRight;
-
-        if (!showLeft) {
-            r.x -= aw;
-            r.width += aw;
-        }
-        if (!showRight) {
-            r.width += aw;
-        }
-        if (!showBottom) {
-            r.height += ah;
-        }
-        if (!showTop) {
-            r.y -= ah;
-            r.height += ah;
-        }
-
+    private Area createLayerArea(final Rectangle shape,
+                                 final boolean topLeft, final boolean topRight,
+                                 final boolean bottomLeft, final boolean bottomRight,
+                                 final boolean arcTopLeft, final boolean arcTopRight,
+                                 final boolean arcBottomLeft, final boolean arcBottomRight) {
+        Area area;
         if (!topLeft && !topRight && !bottomRight && !bottomLeft) {
-            PaintUtil.fillRect(g, r);
+            area = new Area(shape);
         } else {
+            Rectangle r = new Rectangle(shape);
+            int aw = Math.min(arcSize, r.width);
+            int ah = Math.min(arcSize, r.height);
+
+            /*
+             * If there is a rounded arc on one side A and none on the other (B) removing the arc B could overlap
+             * arc A if the width of the allocation is too small. This happens e.g. when single characters have
+             * different attribute sets. Hence the shape is clipped to the allocation.
+             */
+            boolean showLeft = topLeft || bottomLeft;
+            boolean showRight = topRight || bottomRight;
+            boolean showTop = topRight || topLeft;
+            boolean showBottom = bottomLeft || bottomRight;
+
+            if (!showLeft) {
+                r.x -= aw;
+                r.width += aw;
+            }
+            if (!showRight) {
+                r.width += aw;
+            }
+            if (!showBottom) {
+                r.height += ah;
+            }
+            if (!showTop) {
+                r.y -= ah;
+                r.height += ah;
+            }
+
             /*
-             * First paint the whole rounded rectangle and remove any non visible arcs.
+             * Start with the whole rounded rectangle and fill any non visible arcs.
              */
-            g.fillRoundRect(r.x, r.y, r.width, r.height, aw, ah);
+            area = new Area(new RoundRectangle2D.Float(r.x, r.y, r.width, r.height, aw, ah));
             if (!topLeft && !topRight) {
-                g.fillRect(r.x, r.y, r.width, ah);
+                area.add(new Area(new Rectangle(r.x, r.y, r.width, ah)));
             } else {
-                if (!topLeft) g.fillRect(r.x, r.y, aw, ah);
-                if (!topRight) g.fillRect(r.x + r.width - aw, r.y, aw, ah);
+                if (!topLeft) area.add(new Area(new Rectangle(r.x, r.y, aw, ah)));
+                if (!topRight) area.add(new Area(new Rectangle(r.x + r.width - aw, r.y, aw, ah)));
             }
             if (!bottomLeft && !bottomRight) {
-                g.fillRect(r.x, r.y + r.height - ah, r.width, ah);
+                area.add(new Area(new Rectangle(r.x, r.y + r.height - ah, r.width, ah)));
             } else {
-                if (!bottomLeft) g.fillRect(r.x, r.y + r.height - ah, aw, ah);
-                if (!bottomRight) g.fillRect(r.x + r.width - aw, r.y + r.height - ah, aw, ah);
+                if (!bottomLeft) area.add(new Area(new Rectangle(r.x, r.y + r.height - ah, aw, ah)));
+                if (!bottomRight) {
+                    area.add(new Area(new Rectangle(r.x + r.width - aw, r.y + r.height - ah, aw, ah)));
+                }
             }
+            area.intersect(new Area(shape));
         }
-        context.restoreClip();
-        return shape;
+        if (arcTopLeft) addArc(area, Alignment.NORTH_WEST, shape.x - arcSize, shape.y);
+        if (arcTopRight) addArc(area, Alignment.NORTH_EAST, shape.x + shape.width, shape.y);
+        if (arcBottomLeft) addArc(area, Alignment.SOUTH_WEST, shape.x - arcSize, shape.y + shape.height - arcSize);
+        if (arcBottomRight) addArc(area, Alignment.SOUTH_EAST, shape.x + shape.width, shape.y + shape.height - arcSize);
+        return area;
     }
 
-    private Rectangle paintArcs(final Graphics2D g, final GraphicsContext context, final Rectangle r,
-                                final boolean topLeft, final boolean topRight,
-                                final boolean bottomLeft, final boolean bottomRight) {
-        Rectangle alloc = new Rectangle(r);
-        if (topLeft || bottomLeft) {
-            alloc.x -= arcSize;
-            alloc.width += arcSize;
-        }
-        if (topRight || bottomRight) {
-            alloc.width += arcSize;
-        }
-
-        if (topLeft) {
-            g.translate(r.x - arcSize, r.y);
-            g.fill(getArc(Alignment.NORTH_WEST));
-            context.restoreTransform();
-        }
-        if (topRight) {
-            g.translate(r.x + r.width, r.y);
-            g.fill(getArc(Alignment.NORTH_EAST));
-            context.restoreTransform();
-        }
-        if (bottomLeft) {
-            g.translate(r.x - arcSize, r.y + r.height - arcSize);
-            g.fill(getArc(Alignment.SOUTH_WEST));
-            context.restoreTransform();
-        }
-        if (bottomRight) {
-            g.translate(r.x + r.width, r.y + r.height - arcSize);
-            g.fill(getArc(Alignment.SOUTH_EAST));
-            context.restoreTransform();
-        }
-        return alloc;
+    private void addArc(final Area area, final Alignment a, final int x, final int y) {
+        area.add(getArc(a).createTransformedArea(AffineTransform.getTranslateInstance(x, y)));
     }
 
     private void setupColor(final Graphics2D g2d, final JTextComponent c, final Shape bounds) {
@@ -560,8 +737,8 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
         }
     }
 
-    private Shape getArc(final Alignment a) {
-        Shape arc = arcs[getIndex(a)];
+    private Area getArc(final Alignment a) {
+        Area arc = arcs[getIndex(a)];
         if (arc == null) {
             Area arcArea = new Area(new Rectangle2D.Double(0, 0, arcSize, arcSize));
             arcArea.subtract(new Area(getSubtractShape(a)));
@@ -608,6 +785,81 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
         this.enabled = enabled;
     }
 
+    private static final class LayerShape {
+
+        private final Rectangle layerRect;
+        private final boolean roundedTopLeft;
+        private final boolean roundedTopRight;
+        private final boolean roundedBottomLeft;
+        private final boolean roundedBottomRight;
+        private final boolean arcTopLeft;
+        private final boolean arcTopRight;
+        private final boolean arcBottomLeft;
+        private final boolean arcBottomRight;
+        private final LayerShape preceding;
+
+        private LayerShape(final Rectangle layerRect,
+                           final boolean roundedTopLeft, final boolean roundedTopRight,
+                           final boolean roundedBottomLeft, final boolean roundedBottomRight,
+                           final boolean arcTopLeft, final boolean arcTopRight,
+                           final boolean arcBottomLeft, final boolean arcBottomRight,
+                           final LayerShape preceding) {
+            this.layerRect = layerRect;
+            this.roundedTopLeft = roundedTopLeft;
+            this.roundedTopRight = roundedTopRight;
+            this.roundedBottomLeft = roundedBottomLeft;
+            this.roundedBottomRight = roundedBottomRight;
+            this.arcTopLeft = arcTopLeft;
+            this.arcTopRight = arcTopRight;
+            this.arcBottomLeft = arcBottomLeft;
+            this.arcBottomRight = arcBottomRight;
+            this.preceding = preceding;
+        }
+    }
+
+    private static final class LineRect {
+
+        private final Rectangle rect;
+        private final boolean empty;
+
+        private LineRect(final Rectangle rect, final boolean empty) {
+            this.rect = rect;
+            this.empty = empty;
+        }
+    }
+
+    /*
+     * The outline of the highlights painted last. It is valid as long as neither the layout of the text, the width of
+     * the component nor the highlights change and the painted area is covered.
+     */
+    private static final class Outline {
+
+        private final WeakReference<JTextComponent> component;
+        private final long layoutStamp;
+        private final int width;
+        private final int[] ranges;
+        private final Rectangle area;
+        private final Shape shape;
+        private final Rectangle bounds;
+
+        private Outline(final JTextComponent c, final long layoutStamp, final int[] ranges, final Rectangle area,
+                        final Shape shape) {
+            this.component = new WeakReference<>(c);
+            this.layoutStamp = layoutStamp;
+            this.width = c.getWidth();
+            this.ranges = ranges;
+            this.area = area;
+            this.shape = shape;
+            this.bounds = shape.getBounds();
+        }
+
+        private boolean isValid(final JTextComponent c, final long layoutStamp, final int[] ranges,
+                                final Rectangle area) {
+            return component.get() == c && this.layoutStamp == layoutStamp && width == c.getWidth()
+                   && Arrays.equals(this.ranges, ranges) && this.area.contains(area);
+        }
+    }
+
     private static class HighlighterColor extends ColorWrapper {
 
         private boolean enabled;
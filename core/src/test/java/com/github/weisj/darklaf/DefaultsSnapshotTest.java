@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.List;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import com.github.weisj.darklaf.task.RemoveUnusedInitTask;
+import com.github.weisj.darklaf.task.ThemeDefaultsInitTask;
+import com.github.weisj.darklaf.theme.Theme;
+
+/**
+ * Writes snapshots of the parsed defaults, reads them back and compares the result with the parsed defaults.
+ */
+public class DefaultsSnapshotTest {
+
+    private static final String ICON = "navigation/arrowDown.svg";
+
+    @Test
+    public void testReferencesToSourceValues() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("Test.icon", ICON + "[themed]");
+        properties.setProperty("Test.iconReference", "%Test.icon");
+        properties.setProperty("Test.iconReferenceReference", "%Test.iconReference");
+        properties.setProperty("Test.color", "ff0000");
+        properties.setProperty("Test.colorReference", "%Test.color");
+
+        UIDefaults defaults = new UIDefaults();
+        int fingerprint = DefaultsSnapshot.fingerprint("test", defaults);
+        Map<Object, Object> parsed = new HashMap<>();
+        DefaultsSnapshot.Recorder recorder = DefaultsSnapshot.startRecording();
+        try {
+            PropertyResolver resolver = new PropertyResolver();
+            resolver.putProperties(properties);
+            resolver.resolve(parsed, defaults);
+        } finally {
+            recorder.stop();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DefaultsSnapshot.write(out, fingerprint, parsed, new HashMap<>(defaults), defaults, recorder);
+
+        Map<Object, Object> read = new HashMap<>();
+        Assertions.assertTrue(DefaultsSnapshot.read(new ByteArrayInputStream(out.toByteArray()), fingerprint,
+                                                    read, new UIDefaults()));
+        Assertions.assertNotNull(parsed.get("Test.iconReferenceReference"));
+        assertEquivalent(parsed, read);
+    }
+
+    @TestFactory
+    public List<DynamicTest> testThemeRoundTrip() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Theme theme : LafManager.getRegisteredThemes()) {
+            tests.add(DynamicTest.dynamicTest(theme.getName(), () -> testThemeRoundTrip(theme)));
+        }
+        return tests;
+    }
+
+    private void testThemeRoundTrip(final Theme theme) throws IOException {
+        DarkLaf laf = new DarkLaf();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ThemeDefaultsInitTask().writeSnapshot(theme, getBaseDefaults(laf, theme), out);
+        byte[] snapshot = out.toByteArray();
+
+        UIDefaults parsed = getBaseDefaults(laf, theme);
+        new SnapshotTask(null).run(theme, parsed);
+
+        UIDefaults base = getBaseDefaults(laf, theme);
+        Assertions.assertTrue(DefaultsSnapshot.read(new ByteArrayInputStream(snapshot),
+                                                    DefaultsSnapshot.fingerprint(theme.getThemeClass().getName(),
+                                                                                 base),
+                                                    new Properties(), base),
+                              "Snapshot isn't readable");
+
+        UIDefaults restored = getBaseDefaults(laf, theme);
+        new SnapshotTask(snapshot).run(theme, restored);
+        assertEquivalent(parsed, restored);
+    }
+
+    private static UIDefaults getBaseDefaults(final DarkLaf laf, final Theme theme) {
+        UIDefaults defaults = laf.getBaseDefaults();
+        new RemoveUnusedInitTask().run(theme, defaults);
+        return defaults;
+    }
+
+    private static void assertEquivalent(final Map<Object, Object> expectedDefaults,
+                                         final Map<Object, Object> actualDefaults) {
+        // Copy the entries as UIDefaults#get resolves lazy values.
+        Map<Object, Object> expected = new HashMap<>(expectedDefaults);
+        Map<Object, Object> actual = new HashMap<>(actualDefaults);
+        Set<Object> missing = new TreeSet<>(Comparator.comparing(Object::toString));
+        Set<Object> different = new TreeSet<>(Comparator.comparing(Object::toString));
+        for (Map.Entry<Object, Object> entry : expected.entrySet()) {
+            Object key = entry.getKey();
+            if (!actual.containsKey(key)) {
+                missing.add(key);
+            } else if (!isEquivalent(entry.getValue(), actual.get(key))) {
+                different.add(key);
+            }
+        }
+        Set<Object> additional = new TreeSet<>(Comparator.comparing(Object::toString));
+        for (Object key : actual.keySet()) {
+            if (!expected.containsKey(key)) additional.add(key);
+        }
+        Assertions.assertTrue(missing.isEmpty() && different.isEmpty() && additional.isEmpty(),
+                              () -> "Missing " + missing + "\nDifferent " + different
+                                    + "\nAdditional " + additional);
+    }
+
+    /*
+     * Values which are created on parsing (e.g. icons or borders) can only be compared by their type.
+     */
+    private static boolean isEquivalent(final Object expected, final Object actual) {
+        if (expected instanceof Color || expected instanceof Font || expected instanceof Number
+            || expected instanceof Boolean || expected instanceof String || expected instanceof Insets
+            || expected instanceof Dimension) {
+            return Objects.equals(expected, actual)
+                   && (!(expected instanceof Color) || ((Color) expected).getAlpha() == ((Color) actual).getAlpha());
+        }
+        if (expected instanceof List && actual instanceof List) {
+            List<?> expectedList = (List<?>) expected;
+            List<?> actualList = (List<?>) actual;
+            if (expectedList.size() != actualList.size()) return false;
+            for (int i = 0; i < expectedList.size(); i++) {
+                if (!isEquivalent(expectedList.get(i), actualList.get(i))) return false;
+            }
+            return true;
+        }
+        return expected != null && actual != null && expected.getClass() == actual.getClass();
+    }
+
+    private static final class SnapshotTask extends ThemeDefaultsInitTask {
+
+        private final byte[] snapshot;
+
+        private SnapshotTask(final byte[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        protected InputStream openSnapshot(final Theme theme) {
+            return snapshot != null ? new ByteArrayInputStream(snapshot) : null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.color;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ColorConversionTest {
+
+    private static final int STEP = 5;
+
+    @Test
+    public void testHSBMatchesColor() {
+        double[] hsb = new double[3];
+        float[] expected = new float[3];
+        for (int r = 0; r < 256; r += STEP) {
+            for (int g = 0; g < 256; g += STEP) {
+                for (int b = 0; b < 256; b += STEP) {
+                    int rgb = ColorConversion.pack(r, g, b);
+                    ColorConversion.rgbToHSB(rgb, hsb);
+                    Color.RGBtoHSB(r, g, b, expected);
+                    for (int i = 0; i < 3; i++) {
+                        Assertions.assertEquals(expected[i], (float) hsb[i], "Component " + i + " of " + rgb);
+                    }
+                    assertRGBEquals(rgb, ColorConversion.hsbToRGB(hsb[0], hsb[1], hsb[2]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHSLRoundTrip() {
+        double[] hsl = new double[3];
+        forEachColor(rgb -> {
+            ColorConversion.rgbToHSL(rgb, hsl);
+            assertInRange(hsl);
+            assertRGBEquals(rgb, ColorConversion.hslToRGB(hsl[0], hsl[1], hsl[2]));
+        });
+    }
+
+    @Test
+    public void testCMYKRoundTrip() {
+        double[] cmyk = new double[4];
+        forEachColor(rgb -> {
+            ColorConversion.rgbToCMYK(rgb, cmyk);
+            assertInRange(cmyk);
+            assertRGBEquals(rgb, ColorConversion.cmykToRGB(cmyk[0], cmyk[1], cmyk[2], cmyk[3]));
+        });
+    }
+
+    @Test
+    public void testBatchConversions() {
+        int[] rgb = {0xFF000000, 0xFFFFFFFF, 0xFF336699, 0xFFC0FFEE, 0xFF800000};
+        double[] values = new double[4 * (rgb.length + 1)];
+        int[] result = new int[rgb.length + 1];
+        double[] single = new double[4];
+
+        ColorConversion.rgbToHSB(rgb, 0, values, 3, rgb.length);
+        for (int i = 0; i < rgb.length; i++) {
+            ColorConversion.rgbToHSB(rgb[i], single);
+            Assertions.assertArrayEquals(new double[]{single[0], single[1], single[2]},
+                                         Arrays.copyOfRange(values, 3 + 3 * i, 6 + 3 * i));
+        }
+        ColorConversion.hsbToRGB(values, 3, result, 1, rgb.length);
+        Assertions.assertArrayEquals(rgb, Arrays.copyOfRange(result, 1, result.length));
+
+        ColorConversion.rgbToHSL(rgb, 0, values, 0, rgb.length);
+        ColorConversion.hslToRGB(values, 0, result, 0, rgb.length);
+        Assertions.assertArrayEquals(rgb, Arrays.copyOf(result, rgb.length));
+
+        ColorConversion.rgbToCMYK(rgb, 0, values, 0, rgb.length);
+        ColorConversion.cmykToRGB(values, 0, result, 0, rgb.length);
+        Assertions.assertArrayEquals(rgb, Arrays.copyOf(result, rgb.length));
+    }
+
+    @Test
+    public void testHSBModelValues() {
+        DarkColorModelHSB model = new DarkColorModelHSB();
+        Assertions.assertArrayEquals(new int[]{240, 100, 50}, model.getValuesFromColor(new Color(0, 0, 128)));
+        Assertions.assertArrayEquals(new int[]{0, 50, 50}, model.getValuesFromColor(new Color(128, 64, 64)));
+        Assertions.assertArrayEquals(new int[]{0, 0, 100}, model.getValuesFromColor(Color.WHITE));
+
+        int[] first = model.getValuesFromColor(Color.RED);
+        int[] second = model.getValuesFromColor(Color.BLACK);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertArrayEquals(new int[]{0, 100, 100}, first);
+        Assertions.assertArrayEquals(new int[]{0, 0, 0}, second);
+
+        int[] values = new int[3];
+        Assertions.assertSame(values, model.getValuesFromRGB(0xFF000080, values));
+        Assertions.assertArrayEquals(new int[]{240, 100, 50}, values);
+        Assertions.assertEquals(new Color(0, 0, 128).getRGB(), model.getRGBFromValues(new int[]{240, 100, 50}));
+    }
+
+    @Test
+    public void testModelsMatchColorBasedConversion() {
+        DarkColorModel[] models = {new DarkColorModelRGB(), new DarkColorModelHSB(), new DarkColorModelHSL(),
+                                   new DarkColorModelCMYK()};
+        for (DarkColorModel model : models) {
+            int[] values = new int[model.getCount()];
+            forEachColor(rgb -> {
+                Assertions.assertArrayEquals(model.getValuesFromColor(new Color(rgb)),
+                                             model.getValuesFromRGB(rgb, values), model.toString());
+                assertRGBEquals(model.getColorFromValues(values).getRGB(), model.getRGBFromValues(values));
+            });
+        }
+    }
+
+    private static void forEachColor(final IntConsumer consumer) {
+        for (int r = 0; r < 256; r += STEP) {
+            for (int g = 0; g < 256; g += STEP) {
+                for (int b = 0; b < 256; b += STEP) {
+                    consumer.accept(ColorConversion.pack(r, g, b));
+                }
+            }
+        }
+    }
+
+    private static void assertRGBEquals(final int expected, final int actual) {
+        Assertions.assertEquals(Integer.toHexString(expected), Integer.toHexString(actual));
+    }
+
+    private static void assertInRange(final double[] values) {
+        for (double value : values) {
+            Assertions.assertTrue(value >= 0 && value <= 1, () -> "Value out of range: " + value);
+        }
+    }
+}
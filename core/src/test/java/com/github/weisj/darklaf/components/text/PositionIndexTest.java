@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PositionIndexTest {
+
+    @Test
+    public void testRangeQueries() throws BadLocationException {
+        Document doc = createDocument();
+        PositionIndex<String> index = new PositionIndex<>();
+        Position p20 = put(index, doc, 20);
+        put(index, doc, 5);
+        put(index, doc, 10);
+        Position p0 = put(index, doc, 0);
+
+        Assertions.assertEquals(4, index.size());
+        Assertions.assertEquals(Arrays.asList("0", "5", "10", "20"), index.values());
+        Assertions.assertEquals(Arrays.asList("5", "10"), values(index.getRange(5, 10)));
+        Assertions.assertEquals(Arrays.asList("5", "10"), values(index.getRange(1, 19)));
+        Assertions.assertEquals(Arrays.asList("20"), values(index.getRange(11, 30)));
+        Assertions.assertTrue(index.getRange(21, 30).isEmpty());
+        Assertions.assertTrue(index.getRange(10, 5).isEmpty());
+
+        Assertions.assertEquals("20", index.put(p20, "x"));
+        Assertions.assertEquals("x", index.get(p20));
+        Assertions.assertEquals(4, index.size());
+
+        Assertions.assertEquals("0", index.remove(p0));
+        Assertions.assertNull(index.remove(p0));
+        Assertions.assertNull(index.get(p0));
+        Assertions.assertEquals(Arrays.asList("5", "10", "x"), index.values());
+    }
+
+    @Test
+    public void testRangeQueriesAfterEdits() throws BadLocationException {
+        Document doc = createDocument();
+        PositionIndex<String> index = new PositionIndex<>();
+        put(index, doc, 2);
+        Position p8 = put(index, doc, 8);
+        put(index, doc, 12);
+        put(index, doc, 20);
+
+        doc.insertString(5, "abcde", null);
+        Assertions.assertEquals(Arrays.asList("2"), values(index.getRange(0, 12)));
+        Assertions.assertEquals(Arrays.asList("8", "12"), values(index.getRange(13, 17)));
+        Assertions.assertEquals(Arrays.asList("20"), values(index.getRange(25, 25)));
+
+        doc.remove(10, 10);
+        Assertions.assertEquals(Arrays.asList("8", "12"), values(index.getRange(10, 10)));
+        Assertions.assertEquals(Arrays.asList("2", "8", "12", "20"), values(index.getRange(0, 15)));
+
+        Position p11 = doc.createPosition(11);
+        index.put(p11, "new");
+        Assertions.assertEquals(Arrays.asList("8", "12", "new"), values(index.getRange(10, 11)));
+        Assertions.assertEquals(Arrays.asList("new", "20"), values(index.getRange(11, 15)));
+
+        Assertions.assertEquals("8", index.remove(p8));
+        Assertions.assertEquals(Arrays.asList("12"), values(index.getRange(10, 10)));
+        Assertions.assertEquals("new", index.remove(p11));
+        Assertions.assertEquals(Arrays.asList("2", "12", "20"), index.values());
+    }
+
+    private static Document createDocument() throws BadLocationException {
+        Document doc = new PlainDocument();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            text.append(i % 10);
+        }
+        doc.insertString(0, text.toString(), null);
+        return doc;
+    }
+
+    private static Position put(final PositionIndex<String> index, final Document doc, final int offset)
+            throws BadLocationException {
+        Position position = doc.createPosition(offset);
+        index.put(position, String.valueOf(offset));
+        return position;
+    }
+
+    private static List<String> values(final List<Map.Entry<Position, String>> entries) {
+        List<String> values = new ArrayList<>(entries.size());
+        for (Map.Entry<Position, String> entry : entries) {
+            values.add(entry.getValue());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.theme.event;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+public class ThemeEventSupportTest {
+
+    private static final TestEvent EVENT = new TestEvent();
+
+    @Test
+    public void testPriorityOrder() {
+        ThemeEventSupport<TestEvent, TestListener> support = new ThemeEventSupport<>();
+        List<String> calls = new ArrayList<>();
+        support.addListener(new TestListener("a", calls));
+        support.addListener(new TestListener("high", calls), 10);
+        support.addListener(new TestListener("b", calls));
+        support.addListener(new TestListener("low", calls), -5);
+        support.addListener(new TestListener("high2", calls), 10);
+        support.addListener(null);
+
+        support.dispatchEvent(EVENT);
+        Assertions.assertEquals(Arrays.asList("high", "high2", "a", "b", "low"), calls);
+        Assertions.assertEquals(5, support.getListenerCount());
+    }
+
+    @Test
+    public void testModificationDuringDispatch() {
+        ThemeEventSupport<TestEvent, TestListener> support = new ThemeEventSupport<>();
+        List<String> calls = new ArrayList<>();
+        TestListener removed = new TestListener("removed", calls);
+        TestListener added = new TestListener("added", calls);
+        support.addListener(new TestListener("first", calls) {
+            @Override
+            public void onEvent(final TestEvent event) {
+                super.onEvent(event);
+                support.removeListener(removed);
+                support.addListener(added);
+            }
+        });
+        support.addListener(removed);
+
+        support.dispatchEvent(EVENT);
+        Assertions.assertEquals(Arrays.asList("first", "removed"), calls);
+        Assertions.assertEquals(2, support.getListenerCount());
+
+        calls.clear();
+        support.dispatchEvent(EVENT);
+        Assertions.assertEquals(Arrays.asList("first", "added"), calls);
+        Assertions.assertEquals(3, support.getListenerCount());
+    }
+
+    @Test
+    public void testRemoveListener() {
+        ThemeEventSupport<TestEvent, TestListener> support = new ThemeEventSupport<>();
+        List<String> calls = new ArrayList<>();
+        TestListener listener = new TestListener("a", calls);
+        TestListener weakListener = new TestListener("weak", calls);
+        support.addListener(listener);
+        support.addWeakListener(weakListener);
+        support.removeListener(new TestListener("other", calls));
+        Assertions.assertEquals(2, support.getListenerCount());
+
+        support.removeListener(listener);
+        support.removeListener(weakListener);
+        support.dispatchEvent(EVENT);
+        Assertions.assertTrue(calls.isEmpty());
+        Assertions.assertEquals(0, support.getListenerCount());
+    }
+
+    @Test
+    public void testCollectedWeakListenersAreRemoved() throws InterruptedException {
+        ThemeEventSupport<TestEvent, TestListener> support = new ThemeEventSupport<>();
+        List<String> calls = new ArrayList<>();
+        TestListener strong = new TestListener("strong", calls);
+        support.addListener(strong);
+        TestListener weak = new TestListener("weak", calls);
+        WeakReference<TestListener> reference = new WeakReference<>(weak);
+        support.addWeakListener(weak);
+        support.dispatchEvent(EVENT);
+        Assertions.assertEquals(Arrays.asList("strong", "weak"), calls);
+        Assertions.assertEquals(2, support.getListenerCount());
+
+        weak = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assumptions.assumeTrue(reference.get() == null, "Weak listener hasn't been collected");
+        Assertions.assertEquals(1, support.getListenerCount());
+
+        calls.clear();
+        support.dispatchEvent(EVENT);
+        Assertions.assertEquals(Arrays.asList("strong"), calls);
+        Assertions.assertEquals(1, support.getListenerCount());
+    }
+
+    private static final class TestEvent implements ThemeEvent {
+    }
+
+    private static class TestListener implements ThemeEventListener<TestEvent> {
+
+        private final String name;
+        private final List<String> calls;
+
+        private TestListener(final String name, final List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public void onEvent(final TestEvent event) {
+            calls.add(name);
+        }
+    }
+}
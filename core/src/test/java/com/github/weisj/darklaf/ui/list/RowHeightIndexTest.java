@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.list;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RowHeightIndexTest {
+
+    private static final int ESTIMATE = 10;
+
+    @Test
+    public void testPrefixSums() {
+        RowHeightIndex index = new RowHeightIndex(5, ESTIMATE);
+        Assertions.assertEquals(0, index.getY(0));
+        Assertions.assertEquals(50, index.getY(5));
+
+        Assertions.assertTrue(index.setHeight(1, 25));
+        Assertions.assertFalse(index.setHeight(1, 25));
+        Assertions.assertTrue(index.isMeasured(1));
+        Assertions.assertFalse(index.isMeasured(2));
+        Assertions.assertEquals(10, index.getY(1));
+        Assertions.assertEquals(35, index.getY(2));
+        Assertions.assertEquals(65, index.getY(5));
+
+        index.invalidate(0, 1);
+        Assertions.assertFalse(index.isMeasured(1));
+        Assertions.assertEquals(ESTIMATE, index.getHeight(1));
+        Assertions.assertEquals(50, index.getY(5));
+    }
+
+    @Test
+    public void testRowAtY() {
+        RowHeightIndex index = new RowHeightIndex(3, ESTIMATE);
+        index.setHeight(1, 5);
+        Assertions.assertEquals(-1, index.getRow(-1));
+        Assertions.assertEquals(0, index.getRow(0));
+        Assertions.assertEquals(0, index.getRow(9));
+        Assertions.assertEquals(1, index.getRow(10));
+        Assertions.assertEquals(1, index.getRow(14));
+        Assertions.assertEquals(2, index.getRow(15));
+        Assertions.assertEquals(2, index.getRow(24));
+        Assertions.assertEquals(3, index.getRow(25));
+
+        Assertions.assertEquals(0, new RowHeightIndex(0, ESTIMATE).getRow(0));
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        RowHeightIndex index = new RowHeightIndex(4, ESTIMATE);
+        index.setHeight(0, 1);
+        index.setHeight(1, 2);
+        index.setHeight(2, 3);
+        index.setHeight(3, 4);
+
+        index.insert(2, 2);
+        Assertions.assertEquals(6, index.size());
+        Assertions.assertTrue(index.isMeasured(1));
+        Assertions.assertFalse(index.isMeasured(2));
+        Assertions.assertFalse(index.isMeasured(3));
+        Assertions.assertTrue(index.isMeasured(4));
+        Assertions.assertEquals(3, index.getHeight(4));
+        Assertions.assertEquals(3, index.getY(2));
+        Assertions.assertEquals(23, index.getY(4));
+        Assertions.assertEquals(30, index.getY(6));
+        Assertions.assertEquals(4, index.getRow(23));
+
+        index.remove(1, 3);
+        Assertions.assertEquals(3, index.size());
+        Assertions.assertEquals(1, index.getHeight(0));
+        Assertions.assertEquals(3, index.getHeight(1));
+        Assertions.assertEquals(4, index.getHeight(2));
+        Assertions.assertEquals(8, index.getY(3));
+        Assertions.assertEquals(2, index.getRow(4));
+        Assertions.assertEquals(3, index.getRow(8));
+    }
+
+    @Test
+    public void testAppendRows() {
+        RowHeightIndex index = new RowHeightIndex(0, ESTIMATE);
+        List<Integer> heights = new ArrayList<>();
+        for (int row = 0; row < 100; row++) {
+            index.insert(row, 1);
+            index.setHeight(row, row % 7 + 1);
+            heights.add(row % 7 + 1);
+        }
+        assertMatches(heights, index);
+
+        index.remove(0, 50);
+        heights.subList(0, 50).clear();
+        index.insert(50, 1);
+        heights.add(ESTIMATE);
+        assertMatches(heights, index);
+    }
+
+    @Test
+    public void testMatchesNaiveSums() {
+        Random random = new Random(42);
+        RowHeightIndex index = new RowHeightIndex(20, ESTIMATE);
+        List<Integer> heights = new ArrayList<>(Collections.nCopies(20, ESTIMATE));
+        for (int i = 0; i < 500; i++) {
+            int op = random.nextInt(4);
+            if (op == 0 || heights.isEmpty()) {
+                int at = random.nextInt(heights.size() + 1);
+                int count = 1 + random.nextInt(3);
+                index.insert(at, count);
+                heights.addAll(at, Collections.nCopies(count, ESTIMATE));
+            } else if (op == 1) {
+                int at = random.nextInt(heights.size());
+                int count = 1 + random.nextInt(Math.min(3, heights.size() - at));
+                index.remove(at, count);
+                heights.subList(at, at + count).clear();
+            } else {
+                int row = random.nextInt(heights.size());
+                int height = 1 + random.nextInt(30);
+                index.setHeight(row, height);
+                heights.set(row, height);
+            }
+            assertMatches(heights, index);
+        }
+    }
+
+    private static void assertMatches(final List<Integer> heights, final RowHeightIndex index) {
+        Assertions.assertEquals(heights.size(), index.size());
+        int y = 0;
+        for (int row = 0; row < heights.size(); row++) {
+            Assertions.assertEquals(y, index.getY(row));
+            Assertions.assertEquals(row, index.getRow(y));
+            Assertions.assertEquals(row, index.getRow(y + heights.get(row) - 1));
+            y += heights.get(row);
+        }
+        Assertions.assertEquals(y, index.getY(heights.size()));
+        Assertions.assertEquals(heights.size(), index.getRow(y));
+    }
+}
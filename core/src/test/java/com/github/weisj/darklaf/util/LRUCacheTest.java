@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LRUCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        LRUCache<String, Integer> cache = new LRUCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        Assertions.assertEquals(1, cache.get("a"));
+        cache.put("d", 4);
+        cache.put("e", 5);
+
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertNull(cache.peek("b"));
+        Assertions.assertNull(cache.peek("c"));
+        Assertions.assertEquals(1, cache.peek("a"));
+        Assertions.assertEquals(4, cache.peek("d"));
+        Assertions.assertEquals(5, cache.peek("e"));
+    }
+
+    @Test
+    public void testReplacingValueKeepsSize() {
+        LRUCache<String, Integer> cache = new LRUCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 3);
+        cache.put("c", 4);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.peek("b"));
+        Assertions.assertEquals(3, cache.peek("a"));
+        Assertions.assertEquals(3, cache.putIfAbsent("a", 5));
+    }
+
+    @Test
+    public void testWeigher() {
+        LRUCache<String, String> cache = new LRUCache<>(10, (k, v) -> v.length());
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        Assertions.assertEquals(8, cache.weight());
+
+        cache.put("c", "ccc");
+        Assertions.assertEquals(7, cache.weight());
+        Assertions.assertNull(cache.peek("a"));
+
+        cache.put("b", "b");
+        Assertions.assertEquals(4, cache.weight());
+
+        cache.remove("c");
+        Assertions.assertEquals(1, cache.weight());
+
+        cache.setMaximumWeight(0);
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.weight());
+
+        LRUCache<String, String> negative = new LRUCache<>(10, (k, v) -> -1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> negative.put("a", "a"));
+    }
+
+    @Test
+    public void testEntryHeavierThanMaximumIsEvicted() {
+        LRUCache<String, String> cache = new LRUCache<>(3, (k, v) -> v.length());
+        cache.put("a", "a");
+        cache.put("b", "bbbb");
+
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.weight());
+    }
+
+    @Test
+    public void testStatistics() {
+        LRUCache<String, Integer> cache = new LRUCache<>(2);
+        AtomicInteger computations = new AtomicInteger();
+        cache.computeIfAbsent("a", k -> computations.incrementAndGet());
+        cache.computeIfAbsent("a", k -> computations.incrementAndGet());
+        cache.get("b");
+        cache.peek("a");
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        CacheStatistics statistics = cache.getStatistics();
+        Assertions.assertEquals(1, computations.get());
+        Assertions.assertEquals(1, statistics.getHitCount());
+        Assertions.assertEquals(2, statistics.getMissCount());
+        Assertions.assertEquals(3, statistics.getRequestCount());
+        Assertions.assertEquals(1, statistics.getEvictionCount());
+        Assertions.assertEquals(2, statistics.getSize());
+        Assertions.assertEquals(2, statistics.getWeight());
+        Assertions.assertEquals(2, statistics.getMaximumWeight());
+        Assertions.assertEquals(1.0 / 3.0, statistics.getHitRate(), 1e-9);
+
+        cache.resetStatistics();
+        statistics = cache.getStatistics();
+        Assertions.assertEquals(0, statistics.getRequestCount());
+        Assertions.assertEquals(0, statistics.getEvictionCount());
+        Assertions.assertEquals(1.0, statistics.getHitRate());
+        Assertions.assertEquals(2, statistics.getSize());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import com.github.weisj.darklaf.DefaultsLookupRecorder;
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.graphics.ImageUtil;
+
+/**
+ * Paints every ui delegate with {@link DefaultsLookupRecorder} enabled to ensure the defaults are read ahead of
+ * painting.
+ */
+public class PaintDefaultsLookupTest {
+
+    private static final Dimension SIZE = new Dimension(200, 100);
+    /*
+     * Defaults looked up by the swing base classes on every paint, which can't be read ahead by the delegates:
+     * MenuItemLayoutHelper, the default list, table and table header cell renderers and the accept all file filter.
+     */
+    private static final String[] BASE_CLASS_LOOKUP_SUFFIXES = {".checkIconFactory", ".afterCheckIconGap",
+                                                                ".minimumTextOffset", ".cellNoFocusBorder"};
+    private static final Set<String> BASE_CLASS_LOOKUPS = new HashSet<>(Arrays.asList(
+            "Table.alternateRowColor", "TableHeader.cellBorder", "TableHeader.rightAlignSortArrow",
+            "FileChooser.acceptAllFileFilterText"));
+
+    @TestFactory
+    public Stream<DynamicTest> testNoDefaultsLookupsDuringPaint() {
+        return Arrays.stream(LafManager.getRegisteredThemes())
+                     .map(theme -> DynamicTest.dynamicTest(theme.getName(), () -> PaintPerformanceTest.onEDT(() -> {
+                         Map<String, Map<String, Integer>> lookups = new TreeMap<>();
+                         System.setProperty(DefaultsLookupRecorder.RECORD_LOOKUPS_FLAG, "true");
+                         try {
+                             LafManager.install(theme);
+                             Map<String, Supplier<JComponent>> components = PaintPerformanceTest.createComponents();
+                             for (Map.Entry<String, Supplier<JComponent>> entry : components.entrySet()) {
+                                 Map<String, Integer> recorded = recordLookups(entry.getValue().get());
+                                 if (!recorded.isEmpty()) lookups.put(entry.getKey(), recorded);
+                             }
+                         } finally {
+                             System.clearProperty(DefaultsLookupRecorder.RECORD_LOOKUPS_FLAG);
+                         }
+                         Assertions.assertTrue(lookups.isEmpty(), () -> "Defaults looked up during paint: " + lookups);
+                     })));
+    }
+
+    private static Map<String, Integer> recordLookups(final JComponent c) {
+        BufferedImage image = ImageUtil.createCompatibleTranslucentImage(SIZE.width, SIZE.height);
+        c.setSize(SIZE);
+        PaintPerformanceTest.layout(c);
+        // The first paint may lazily initialize e.g. shared caches.
+        PaintPerformanceTest.paint(c, image);
+        Map<String, Integer> lookups;
+        DefaultsLookupRecorder.startRecording();
+        try {
+            PaintPerformanceTest.paint(c, image);
+        } finally {
+            lookups = DefaultsLookupRecorder.stopRecording();
+        }
+        lookups.keySet().removeIf(PaintDefaultsLookupTest::isBaseClassLookup);
+        return lookups;
+    }
+
+    private static boolean isBaseClassLookup(final String key) {
+        return BASE_CLASS_LOOKUPS.contains(key)
+               || Arrays.stream(BASE_CLASS_LOOKUP_SUFFIXES).anyMatch(key::endsWith);
+    }
+}
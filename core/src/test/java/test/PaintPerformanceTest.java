@@ -0,0 +1,501 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+
+import org.jdesktop.swingx.JXStatusBar;
+import org.jdesktop.swingx.JXTaskPane;
+import org.jdesktop.swingx.JXTaskPaneContainer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import ui.DemoResources;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.components.tabframe.JTabFrame;
+import com.github.weisj.darklaf.components.tabframe.PanelPopup;
+import com.github.weisj.darklaf.components.tabframe.TabFrameTabContainer;
+import com.github.weisj.darklaf.components.tabframe.TabFrameTabLabel;
+import com.github.weisj.darklaf.components.tabframe.TabbedPopup;
+import com.github.weisj.darklaf.components.text.NumberedTextComponent;
+import com.github.weisj.darklaf.components.tristate.TristateCheckBox;
+import com.github.weisj.darklaf.components.tristate.TristateCheckBoxMenuItem;
+import com.github.weisj.darklaf.graphics.ImageUtil;
+import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.util.Alignment;
+
+/**
+ * Measures the paint cost of every ui delegate for each registered theme and compares it against a baseline.
+ * <p>
+ * Each delegate is rendered offscreen at fixed sizes. The fastest paint time and the median number of bytes allocated
+ * per frame are recorded and written to {@code image_test/paint_performance/results.properties}.
+ * <p>
+ * The baseline is read from the file given by the {@code darklaf.paintBaseline} system property or the baseline
+ * committed in the test resources ({@code paint_performance/baseline.properties}). A delegate fails if its cost exceeds
+ * the baseline by more than the factor given by {@code darklaf.paintRegressionThreshold} or if there is no baseline for
+ * it. If {@code darklaf.updatePaintBaseline} is set, the results are written as the new baseline instead.
+ * <p>
+ * Paint times are normalized by a calibration workload, so baselines can be compared across machines of different
+ * speed.
+ * <p>
+ * The measurements take a while, hence they are not part of the regular test run. Use the {@code paintPerformanceTest}
+ * task to run them. The Linux CI job runs this task against the committed baseline.
+ */
+@Tag("performance")
+public class PaintPerformanceTest extends AbstractImageTest {
+
+    private static final String BASELINE_PROPERTY = "darklaf.paintBaseline";
+    private static final String BASELINE_RESOURCE = "/paint_performance/baseline.properties";
+    private static final String UPDATE_BASELINE_PROPERTY = "darklaf.updatePaintBaseline";
+    private static final String THRESHOLD_PROPERTY = "darklaf.paintRegressionThreshold";
+    private static final String CALIBRATION_KEY = "calibration";
+    private static final String TIME_SUFFIX = ".time";
+    private static final String ALLOCATION_SUFFIX = ".alloc";
+
+    private static final double DEFAULT_THRESHOLD = 1.5;
+    private static final long TIME_TOLERANCE = 50_000;
+    private static final long ALLOCATION_TOLERANCE = 4096;
+    private static final int WARMUP_FRAMES = 10;
+    private static final int MEASURED_FRAMES = 30;
+    private static final int REMEASURE_ATTEMPTS = 2;
+    private static final Dimension[] SIZES = {new Dimension(200, 100), new Dimension(640, 480)};
+
+    private static final Properties baseline = new Properties();
+    private static final Properties results = new Properties();
+    private static double threshold;
+    private static double calibrationFactor;
+    private static boolean updateBaseline;
+    private static Theme installedTheme;
+
+    public PaintPerformanceTest() {
+        super("paint_performance");
+    }
+
+    @BeforeAll
+    static void setup() throws IOException {
+        threshold = Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, String.valueOf(DEFAULT_THRESHOLD)));
+        updateBaseline = Boolean.getBoolean(UPDATE_BASELINE_PROPERTY);
+        if (!updateBaseline) {
+            try (InputStream in = openBaseline()) {
+                if (in != null) baseline.load(in);
+            }
+        }
+        results.setProperty(CALIBRATION_KEY, String.valueOf(calibrate()));
+    }
+
+    @AfterAll
+    static void writeResults() throws IOException {
+        File resultFile = new File(WORKING_DIR + "/paint_performance/results.properties");
+        store(results, resultFile);
+        if (updateBaseline) store(results, getBaselineFile());
+    }
+
+    @Test
+    public void testAllDelegatesMeasured() throws Throwable {
+        onEDT(() -> {
+            installTheme(LafManager.getRegisteredThemes()[0]);
+            UIDefaults defaults = UIManager.getLookAndFeelDefaults();
+            Set<String> measured = createComponents().keySet();
+            List<String> missing = defaults.keySet().stream()
+                                           .map(Object::toString)
+                                           .filter(key -> key.endsWith("UI"))
+                                           .filter(key -> String.valueOf(defaults.get(key))
+                                                                .startsWith("com.github.weisj.darklaf"))
+                                           .filter(key -> !measured.contains(key))
+                                           .sorted()
+                                           .collect(Collectors.toList());
+            Assertions.assertTrue(missing.isEmpty(), "No paint measurement for " + missing);
+        });
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> testPaintPerformance() {
+        Assertions.assertTrue(updateBaseline || !baseline.isEmpty(),
+                              "No paint baseline found. Create it by running with -D" + UPDATE_BASELINE_PROPERTY);
+        return Arrays.stream(LafManager.getRegisteredThemes())
+                     .flatMap(theme -> createComponents().entrySet().stream().map(
+                             entry -> DynamicTest.dynamicTest(theme.getName() + " " + entry.getKey(),
+                                                              () -> onEDT(() -> {
+                                                                  installTheme(theme);
+                                                                  measure(theme, entry.getKey(),
+                                                                          entry.getValue());
+                                                              }))));
+    }
+
+    private void measure(final Theme theme, final String uiClassID, final Supplier<JComponent> factory) {
+        List<String> regressions = new ArrayList<>();
+        for (Dimension size : SIZES) {
+            JComponent c = factory.get();
+            c.setSize(size);
+            layout(c);
+            BufferedImage image = ImageUtil.createCompatibleTranslucentImage(size.width, size.height);
+            String key = theme.getName().replace(' ', '_') + "." + uiClassID + "." + size.width + "x" + size.height;
+            long[] allocations = new long[MEASURED_FRAMES];
+            long time = measureFrames(c, image, allocations);
+            long allocation = median(allocations);
+
+            String baseTime = baseline.getProperty(key + TIME_SUFFIX);
+            if (baseTime != null) {
+                long expected = (long) (Long.parseLong(baseTime) * calibrationFactor);
+                long limit = (long) (expected * threshold) + TIME_TOLERANCE;
+                /*
+                 * Single runs are prone to scheduling and jit noise and the machine speed may drift during the
+                 * run. Only report a regression if it persists after recalibrating.
+                 */
+                for (int i = 0; i < REMEASURE_ATTEMPTS && time > limit; i++) {
+                    calibrate();
+                    expected = (long) (Long.parseLong(baseTime) * calibrationFactor);
+                    limit = (long) (expected * threshold) + TIME_TOLERANCE;
+                    time = Math.min(time, measureFrames(c, image, allocations));
+                }
+                if (time > limit) {
+                    regressions.add(String.format("%s paint time %dns (baseline %dns)", key, time, expected));
+                }
+            } else if (!updateBaseline) {
+                regressions.add(key + " has no baseline");
+            }
+            results.setProperty(key + TIME_SUFFIX, String.valueOf(time));
+            results.setProperty(key + ALLOCATION_SUFFIX, String.valueOf(allocation));
+
+            String baseAllocation = baseline.getProperty(key + ALLOCATION_SUFFIX);
+            if (baseAllocation != null && allocation >= 0) {
+                long expected = Long.parseLong(baseAllocation);
+                if (expected >= 0 && allocation > expected * threshold + ALLOCATION_TOLERANCE) {
+                    regressions.add(String.format("%s allocated %d bytes (baseline %d bytes)",
+                                                  key, allocation, expected));
+                }
+            }
+        }
+        Assertions.assertTrue(regressions.isEmpty(), () -> "Paint cost regressed: " + regressions);
+    }
+
+    /**
+     * Paints the component repeatedly after a warmup phase.
+     *
+     * @param  c           the component.
+     * @param  image       the image to paint into.
+     * @param  allocations array receiving the allocated bytes of each measured frame.
+     * @return             the fastest paint time in nanoseconds.
+     */
+    private static long measureFrames(final Component c, final BufferedImage image, final long[] allocations) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            paint(c, image);
+        }
+        long time = Long.MAX_VALUE;
+        for (int i = 0; i < allocations.length; i++) {
+            long allocated = getAllocatedBytes();
+            long start = System.nanoTime();
+            paint(c, image);
+            time = Math.min(time, System.nanoTime() - start);
+            allocations[i] = allocated >= 0 ? getAllocatedBytes() - allocated : -1;
+        }
+        return time;
+    }
+
+    static void paint(final Component c, final BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        c.paint(g);
+        g.dispose();
+    }
+
+    static void layout(final Component c) {
+        if (c instanceof Container) {
+            Container container = (Container) c;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layout(child);
+            }
+        }
+    }
+
+    private static long calibrate() {
+        long calibration = measureCalibration();
+        String baselineCalibration = baseline.getProperty(CALIBRATION_KEY);
+        calibrationFactor = baselineCalibration != null
+                ? (double) calibration / Long.parseLong(baselineCalibration)
+                : 1;
+        return calibration;
+    }
+
+    private static long measureCalibration() {
+        BufferedImage image = ImageUtil.createCompatibleTranslucentImage(SIZES[1].width, SIZES[1].height);
+        long[] times = new long[MEASURED_FRAMES];
+        for (int i = 0; i < WARMUP_FRAMES + MEASURED_FRAMES; i++) {
+            long start = System.nanoTime();
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            for (int y = 0; y < image.getHeight(); y += 20) {
+                g.setColor(new Color(y % 256, 128, 255 - y % 256));
+                g.fillRoundRect(0, y, image.getWidth(), 18, 8, 8);
+                g.setColor(Color.BLACK);
+                g.drawString(DemoResources.LOREM_IPSUM, 2, y + 14);
+            }
+            g.dispose();
+            if (i >= WARMUP_FRAMES) times[i - WARMUP_FRAMES] = System.nanoTime() - start;
+        }
+        return Arrays.stream(times).min().orElse(0);
+    }
+
+    private static long median(final long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static void installTheme(final Theme theme) {
+        if (installedTheme != theme) {
+            LafManager.install(theme);
+            installedTheme = theme;
+        }
+    }
+
+    private static InputStream openBaseline() throws IOException {
+        String path = System.getProperty(BASELINE_PROPERTY);
+        if (path == null) return PaintPerformanceTest.class.getResourceAsStream(BASELINE_RESOURCE);
+        File file = new File(path);
+        return file.exists() ? new FileInputStream(file) : null;
+    }
+
+    private static File getBaselineFile() {
+        String path = System.getProperty(BASELINE_PROPERTY);
+        return new File(path != null ? path : WORKING_DIR + "/paint_performance/baseline.properties");
+    }
+
+    private static void store(final Properties properties, final File file) throws IOException {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        // Sorted and without a timestamp, so changes of the committed baseline can be reviewed.
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "ISO-8859-1"))) {
+            out.println("# Paint time (ns) and allocated bytes per frame");
+            new TreeSet<>(properties.stringPropertyNames())
+                    .forEach(key -> out.println(key + "=" + properties.getProperty(key)));
+        }
+    }
+
+    static void onEDT(final Runnable runnable) throws Throwable {
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    static Map<String, Supplier<JComponent>> createComponents() {
+        Map<String, Supplier<JComponent>> components = new LinkedHashMap<>();
+        components.put("ButtonUI", () -> new JButton("Button"));
+        components.put("ToggleButtonUI", () -> new JToggleButton("Toggle Button", true));
+        components.put("CheckBoxUI", () -> new JCheckBox("Check Box", true));
+        components.put("RadioButtonUI", () -> new JRadioButton("Radio Button", true));
+        components.put("TristateCheckBoxUI", () -> new TristateCheckBox("Tristate Check Box"));
+        components.put("MenuItemUI", () -> inPopupMenu(new JMenuItem("Menu Item")));
+        components.put("CheckBoxMenuItemUI", () -> inPopupMenu(new JCheckBoxMenuItem("Check Box Menu Item", true)));
+        components.put("RadioButtonMenuItemUI",
+                       () -> inPopupMenu(new JRadioButtonMenuItem("Radio Button Menu Item", true)));
+        components.put("TristateCheckBoxMenuItemUI",
+                       () -> inPopupMenu(new TristateCheckBoxMenuItem("Tristate Menu Item")));
+        components.put("MenuUI", () -> new JMenu("Menu"));
+        components.put("MenuBarUI", () -> {
+            JMenuBar menuBar = new JMenuBar();
+            menuBar.add(new JMenu("File"));
+            menuBar.add(new JMenu("Edit"));
+            menuBar.add(new JMenu("View"));
+            return menuBar;
+        });
+        components.put("PopupMenuUI", () -> {
+            JPopupMenu popupMenu = new JPopupMenu();
+            popupMenu.add(new JMenuItem("Cut"));
+            popupMenu.add(new JMenuItem("Copy"));
+            popupMenu.addSeparator();
+            popupMenu.add(new JMenuItem("Paste"));
+            return popupMenu;
+        });
+        components.put("PopupMenuSeparatorUI", JPopupMenu.Separator::new);
+        components.put("LabelUI", () -> new JLabel("Label", DemoResources.FOLDER_ICON, SwingConstants.LEFT));
+        components.put("PanelUI", JPanel::new);
+        components.put("SeparatorUI", JSeparator::new);
+        components.put("ToolBarUI", () -> {
+            JToolBar toolBar = new JToolBar();
+            toolBar.add(new JButton("Open"));
+            toolBar.add(new JButton("Save"));
+            toolBar.addSeparator();
+            toolBar.add(new JToggleButton("Bold"));
+            return toolBar;
+        });
+        components.put("ToolBarSeparatorUI", JToolBar.Separator::new);
+        components.put("ToolTipUI", () -> {
+            JToolTip toolTip = new JToolTip();
+            toolTip.setTipText("Tool Tip");
+            return toolTip;
+        });
+        components.put("ProgressBarUI", () -> new JProgressBar(0, 100) {
+            {
+                setValue(42);
+                setStringPainted(true);
+            }
+        });
+        components.put("SliderUI", () -> new JSlider(0, 100, 42) {
+            {
+                setPaintTicks(true);
+                setPaintLabels(true);
+                setMajorTickSpacing(20);
+            }
+        });
+        components.put("SpinnerUI", () -> new JSpinner(new SpinnerNumberModel(42, 0, 100, 1)));
+        components.put("ComboBoxUI", () -> new JComboBox<>(new String[] {"One", "Two", "Three"}));
+        components.put("ScrollBarUI", () -> new JScrollBar(Adjustable.VERTICAL, 20, 10, 0, 100));
+        components.put("ScrollPaneUI", () -> new JScrollPane(new JTextArea(DemoResources.LOREM_IPSUM)));
+        components.put("SplitPaneUI", () -> new JSplitPane(JSplitPane.HORIZONTAL_SPLIT,
+                                                           new JLabel("Left"), new JLabel("Right")));
+        components.put("TabbedPaneUI", () -> {
+            JTabbedPane tabbedPane = new JTabbedPane();
+            for (int i = 0; i < 4; i++) {
+                tabbedPane.addTab("Tab " + i, new JLabel("Content " + i));
+            }
+            return tabbedPane;
+        });
+        components.put("ListUI", () -> new JList<>(DemoResources.LOREM_IPSUM.split(" ")));
+        components.put("TreeUI", JTree::new);
+        components.put("TableUI", () -> new JTable(createTableModel()));
+        components.put("TableHeaderUI", () -> new JTable(createTableModel()).getTableHeader());
+        components.put("TextFieldUI", () -> new JTextField("Text Field"));
+        components.put("FormattedTextFieldUI", () -> new JFormattedTextField(42));
+        components.put("PasswordFieldUI", () -> new JPasswordField("Password"));
+        components.put("TextAreaUI", () -> new JTextArea(DemoResources.LOREM_IPSUM));
+        components.put("TextPaneUI", () -> new JTextPane() {
+            {
+                setText(DemoResources.LOREM_IPSUM);
+            }
+        });
+        components.put("EditorPaneUI", () -> new JEditorPane("text/plain", DemoResources.LOREM_IPSUM));
+        components.put("NumberingPaneUI", () -> new NumberedTextComponent(new JTextPane() {
+            {
+                setText(DemoResources.LOREM_IPSUM);
+            }
+        }));
+        components.put("RootPaneUI", JRootPane::new);
+        components.put("OptionPaneUI", () -> new JOptionPane("Option Pane", JOptionPane.INFORMATION_MESSAGE));
+        components.put("ColorChooserUI", JColorChooser::new);
+        components.put("FileChooserUI", JFileChooser::new);
+        components.put("InternalFrameUI", PaintPerformanceTest::createInternalFrame);
+        components.put("DesktopIconUI", () -> createInternalFrame().getDesktopIcon());
+        components.put("DesktopPaneUI", () -> {
+            JDesktopPane desktopPane = new JDesktopPane();
+            JInternalFrame frame = createInternalFrame();
+            frame.setBounds(10, 10, 150, 80);
+            desktopPane.add(frame);
+            return desktopPane;
+        });
+        components.put("TabFrameUI", () -> {
+            JTabFrame tabFrame = new JTabFrame();
+            tabFrame.addTab(new JLabel("North"), "North", Alignment.NORTH);
+            tabFrame.addTab(new JLabel("West"), "West", Alignment.WEST);
+            tabFrame.addTab(new JLabel("South"), "South", Alignment.SOUTH);
+            tabFrame.setContent(new JLabel("Content"));
+            return tabFrame;
+        });
+        components.put("TabFrameTabLabelUI",
+                       () -> new TabFrameTabLabel("Tab", null, Alignment.NORTH, 0, new JTabFrame()));
+        components.put("TabFrameTabContainerUI", () -> {
+            JTabFrame tabFrame = new JTabFrame();
+            TabFrameTabLabel label = new TabFrameTabLabel("Tab", null, Alignment.NORTH, 0, tabFrame);
+            return new TabFrameTabContainer(tabFrame, new JLabel("Tab"), label, Alignment.NORTH, 0);
+        });
+        components.put("TabFramePanelPopupUI", () -> new PanelPopup("Panel Popup", new JLabel("Content")));
+        components.put("TabFrameTabbedPopupUI", () -> {
+            TabbedPopup popup = new TabbedPopup("Tabbed Popup");
+            popup.getTabbedPane().addTab("Tab", new JLabel("Content"));
+            return popup;
+        });
+        components.put("StatusBarUI", () -> {
+            JXStatusBar statusBar = new JXStatusBar();
+            statusBar.add(new JLabel("Status"));
+            return statusBar;
+        });
+        components.put("swingx/TaskPaneUI", () -> {
+            JXTaskPane taskPane = new JXTaskPane();
+            taskPane.setTitle("Task Pane");
+            taskPane.add(new JLabel("Task"));
+            return taskPane;
+        });
+        components.put("swingx/TaskPaneContainerUI", () -> {
+            JXTaskPaneContainer container = new JXTaskPaneContainer();
+            JXTaskPane taskPane = new JXTaskPane();
+            taskPane.setTitle("Task Pane");
+            container.add(taskPane);
+            return container;
+        });
+        return components;
+    }
+
+    private static JMenuItem inPopupMenu(final JMenuItem menuItem) {
+        new JPopupMenu().add(menuItem);
+        return menuItem;
+    }
+
+    private static DefaultTableModel createTableModel() {
+        DefaultTableModel model = new DefaultTableModel(new String[] {"Name", "Value", "Description"}, 0);
+        for (int i = 0; i < 20; i++) {
+            model.addRow(new Object[] {"Row " + i, i, DemoResources.LOREM_IPSUM.substring(0, 30)});
+        }
+        return model;
+    }
+
+    private static JInternalFrame createInternalFrame() {
+        JInternalFrame frame = new JInternalFrame("Internal Frame", true, true, true, true);
+        frame.add(new JLabel("Content"));
+        frame.setVisible(true);
+        return frame;
+    }
+}
@@ -37,5 +37,7 @@ dependencies {
         apiv("com.miglayout:miglayout-swing", "miglayout")
         apiv("org.junit.jupiter:junit-jupiter-api", "junit")
         apiv("org.junit.jupiter:junit-jupiter-engine", "junit")
+        apiv("org.openjdk.jmh:jmh-core", "jmh")
+        apiv("org.openjdk.jmh:jmh-generator-annprocess", "jmh")
     }
 }
@@ -0,0 +1,439 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.io.*;
+import java.util.*;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+import javax.swing.plaf.DimensionUIResource;
+import javax.swing.plaf.InsetsUIResource;
+
+import com.github.weisj.darklaf.uiresource.DarkColorUIResource;
+import com.github.weisj.darklaf.uiresource.DarkFontUIResource;
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.Pair;
+
+/**
+ * Binary snapshot of fully resolved property values. A snapshot stores the result of loading a set of property files
+ * (i.e. after references, fonts, insets, colors etc. have been resolved) such that it can be restored without
+ * parsing the property files again.
+ * <p>
+ * Values which can't be stored directly (e.g. icons or lazy values) are stored by their property source and are
+ * parsed again when the snapshot is read. This requires the snapshot to be written while a {@link Recorder} is
+ * active. Sources are parsed after all values stored directly have been read, and sources referencing other sources
+ * are parsed after the values they reference.
+ * <p>
+ * Each snapshot carries a fingerprint of the defaults it was created against (see {@link #fingerprint(String, Map)}).
+ * Reading a snapshot with a non matching fingerprint fails, in which case the properties have to be parsed instead.
+ *
+ * @author Jannis Weis
+ */
+public final class DefaultsSnapshot {
+
+    private static final Logger LOGGER = LogUtil.getLogger(DefaultsSnapshot.class);
+
+    private static final int MAGIC = 0x444C534E;
+    private static final int VERSION = 1;
+
+    private static final byte TYPE_SOURCE = 0;
+    private static final byte TYPE_COLOR = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_BOOLEAN = 3;
+    private static final byte TYPE_STRING = 4;
+    private static final byte TYPE_INSETS = 5;
+    private static final byte TYPE_DIMENSION = 6;
+    private static final byte TYPE_FONT = 7;
+    private static final byte TYPE_LIST = 8;
+    private static final byte TYPE_PAIR = 9;
+
+    private DefaultsSnapshot() {}
+
+    /**
+     * Start recording the property sources of all values parsed by
+     * {@link PropertyLoader#putProperties(Map, Set, Map, UIDefaults, com.github.weisj.darklaf.icons.IconLoader)}.
+     * The recording has to be stopped using {@link Recorder#stop()}.
+     *
+     * @return the recorder.
+     */
+    public static Recorder startRecording() {
+        Recorder recorder = new Recorder();
+        PropertyLoader.setRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * Computes the fingerprint of the given defaults. The fingerprint only depends on the keys and the values of
+     * value-like types (colors, fonts, numbers etc.) and is independent of the iteration order of the map.
+     *
+     * @param  id       the identifier of the snapshot e.g. the theme it belongs to.
+     * @param  defaults the defaults the snapshot is created against.
+     * @return          the fingerprint.
+     */
+    public static int fingerprint(final String id, final Map<Object, Object> defaults) {
+        int hash = 0;
+        for (Map.Entry<Object, Object> entry : defaults.entrySet()) {
+            Object key = entry.getKey();
+            Object value = entry.getValue();
+            int entryHash = key instanceof String ? key.hashCode() : key.getClass().getName().hashCode();
+            if (isValueType(value)) {
+                entryHash = 31 * entryHash + value.hashCode();
+            }
+            hash += entryHash;
+        }
+        return 31 * (31 * hash + Objects.hashCode(id)) + VERSION;
+    }
+
+    private static boolean isValueType(final Object value) {
+        return value instanceof Color || value instanceof Font || value instanceof Number
+               || value instanceof Boolean || value instanceof String || value instanceof Insets
+               || value instanceof Dimension;
+    }
+
+    /**
+     * Write a snapshot.
+     *
+     * @param  out                      the stream to write to.
+     * @param  fingerprint              the fingerprint of the defaults before loading the properties.
+     * @param  properties               the loaded properties.
+     * @param  defaultsBefore           a copy of the defaults before the properties were loaded.
+     * @param  defaultsAfter            the defaults after loading the properties.
+     * @param  recorder                 the recorder active while the properties were loaded.
+     * @throws IOException              if writing fails.
+     * @throws IllegalArgumentException if a value can't be stored in a snapshot.
+     */
+    public static void write(final OutputStream out, final int fingerprint,
+                             final Map<Object, Object> properties,
+                             final Map<Object, Object> defaultsBefore,
+                             final Map<Object, Object> defaultsAfter,
+                             final Recorder recorder) throws IOException {
+        List<Object> removed = new ArrayList<>();
+        for (Object key : defaultsBefore.keySet()) {
+            if (!defaultsAfter.containsKey(key)) removed.add(checkKey(key));
+        }
+        Map<Object, Object> changed = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : defaultsAfter.entrySet()) {
+            Object key = entry.getKey();
+            if (!defaultsBefore.containsKey(key) || defaultsBefore.get(key) != entry.getValue()) {
+                changed.put(checkKey(key), entry.getValue());
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(fingerprint);
+        writeEntries(data, properties, recorder);
+        data.writeInt(removed.size());
+        for (Object key : removed) {
+            data.writeUTF(key.toString());
+        }
+        writeEntries(data, changed, recorder);
+        data.flush();
+    }
+
+    private static Object checkKey(final Object key) {
+        if (!(key instanceof String)) {
+            throw new IllegalArgumentException("Key '" + key + "' can't be stored in a snapshot.");
+        }
+        return key;
+    }
+
+    private static void writeEntries(final DataOutputStream out, final Map<Object, Object> entries,
+                                     final Recorder recorder) throws IOException {
+        out.writeInt(entries.size());
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            Object key = checkKey(entry.getKey());
+            out.writeUTF(key.toString());
+            if (!writeValue(out, entry.getValue())) {
+                Pair<String, String> source = recorder.getSource(key.toString(), entry.getValue());
+                if (source == null) {
+                    throw new IllegalArgumentException("Value '" + entry.getValue() + "' of '" + key
+                                                       + "' can't be stored in a snapshot.");
+                }
+                out.writeByte(TYPE_SOURCE);
+                out.writeUTF(source.getFirst());
+                out.writeUTF(source.getSecond());
+            }
+        }
+    }
+
+    /*
+     * Writes the value if it can be stored directly. Nothing is written if this method returns false.
+     */
+    private static boolean writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (!canWrite(value)) return false;
+        Class<?> type = value.getClass();
+        if (type == DarkColorUIResource.class) {
+            out.writeByte(TYPE_COLOR);
+            out.writeInt(((Color) value).getRGB());
+        } else if (type == Integer.class) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (type == Boolean.class) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (type == String.class) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF((String) value);
+        } else if (type == InsetsUIResource.class) {
+            Insets insets = (Insets) value;
+            out.writeByte(TYPE_INSETS);
+            out.writeInt(insets.top);
+            out.writeInt(insets.left);
+            out.writeInt(insets.bottom);
+            out.writeInt(insets.right);
+        } else if (type == DimensionUIResource.class) {
+            Dimension dim = (Dimension) value;
+            out.writeByte(TYPE_DIMENSION);
+            out.writeInt(dim.width);
+            out.writeInt(dim.height);
+        } else if (type == DarkFontUIResource.class) {
+            Font font = (Font) value;
+            out.writeByte(TYPE_FONT);
+            out.writeUTF(font.getName());
+            out.writeInt(font.getStyle());
+            out.writeInt(font.getSize());
+        } else if (value instanceof List<?>) {
+            List<?> list = (List<?>) value;
+            out.writeByte(TYPE_LIST);
+            out.writeInt(list.size());
+            for (Object o : list) {
+                writeValue(out, o);
+            }
+        } else if (type == Pair.class) {
+            out.writeByte(TYPE_PAIR);
+            writeValue(out, ((Pair<?, ?>) value).getFirst());
+            writeValue(out, ((Pair<?, ?>) value).getSecond());
+        }
+        return true;
+    }
+
+    private static boolean canWrite(final Object value) {
+        if (value == null) return false;
+        Class<?> type = value.getClass();
+        if (type == DarkColorUIResource.class || type == Integer.class || type == Boolean.class
+            || type == String.class || type == InsetsUIResource.class || type == DimensionUIResource.class) {
+            return true;
+        }
+        if (type == DarkFontUIResource.class) {
+            Font font = (Font) value;
+            return !font.isTransformed() && !font.hasLayoutAttributes() && font.getSize2D() == font.getSize();
+        }
+        if (type == ArrayList.class || value == Collections.emptyList()) {
+            for (Object o : (List<?>) value) {
+                if (!canWrite(o)) return false;
+            }
+            return true;
+        }
+        if (type == Pair.class) {
+            return canWrite(((Pair<?, ?>) value).getFirst()) && canWrite(((Pair<?, ?>) value).getSecond());
+        }
+        return false;
+    }
+
+    /**
+     * Read a snapshot. If the snapshot is missing or doesn't match the given fingerprint nothing is changed.
+     *
+     * @param  in          the stream to read from. May be null.
+     * @param  fingerprint the fingerprint of the current defaults.
+     * @param  properties  the properties to load the values into.
+     * @param  defaults    the current defaults.
+     * @return             true if the snapshot was loaded.
+     */
+    public static boolean read(final InputStream in, final int fingerprint,
+                               final Map<Object, Object> properties, final UIDefaults defaults) {
+        if (in == null || PropertyLoader.isAddReferenceInfo()) return false;
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            if (data.readInt() != MAGIC || data.readInt() != VERSION) return false;
+            if (data.readInt() != fingerprint) {
+                LOGGER.fine("Snapshot fingerprint doesn't match current defaults.");
+                return false;
+            }
+            Map<Object, Object> values = new HashMap<>();
+            readEntries(data, values, values, defaults);
+            int removedCount = data.readInt();
+            List<String> removed = new ArrayList<>(removedCount);
+            for (int i = 0; i < removedCount; i++) {
+                removed.add(data.readUTF());
+            }
+            Map<Object, Object> changed = new HashMap<>();
+            readEntries(data, changed, values, defaults);
+
+            properties.putAll(values);
+            for (String key : removed) {
+                defaults.remove(key);
+            }
+            defaults.putAll(changed);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not read snapshot. " + e.getMessage(), e.getStackTrace());
+            return false;
+        }
+    }
+
+    private static void readEntries(final DataInputStream in, final Map<Object, Object> target,
+                                    final Map<Object, Object> accumulator,
+                                    final UIDefaults defaults) throws IOException {
+        int count = in.readInt();
+        Map<String, Pair<String, String>> sources = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            byte type = in.readByte();
+            if (type == TYPE_SOURCE) {
+                sources.put(key, new Pair<>(in.readUTF(), in.readUTF()));
+            } else {
+                Object value = readValue(type, in, accumulator, defaults);
+                if (value != null) target.put(key, value);
+            }
+        }
+        parseSources(sources, target, accumulator, defaults);
+    }
+
+    /*
+     * Parses the sources once all sources they reference have been parsed. Sources which are part of a reference
+     * cycle are parsed in arbitrary order.
+     */
+    private static void parseSources(final Map<String, Pair<String, String>> sources,
+                                     final Map<Object, Object> target, final Map<Object, Object> accumulator,
+                                     final UIDefaults defaults) {
+        List<String> references = new ArrayList<>();
+        while (!sources.isEmpty()) {
+            boolean progress = false;
+            for (Iterator<Map.Entry<String, Pair<String, String>>> it = sources.entrySet().iterator();
+                 it.hasNext();) {
+                Map.Entry<String, Pair<String, String>> entry = it.next();
+                references.clear();
+                PropertyLoader.collectReferences(entry.getValue().getSecond(), references);
+                if (target == accumulator && references.stream().anyMatch(sources::containsKey)) continue;
+                parseSource(entry.getKey(), entry.getValue(), target, accumulator, defaults);
+                it.remove();
+                progress = true;
+            }
+            if (!progress) {
+                sources.forEach((key, source) -> parseSource(key, source, target, accumulator, defaults));
+                sources.clear();
+            }
+        }
+    }
+
+    private static void parseSource(final String key, final Pair<String, String> source,
+                                    final Map<Object, Object> target, final Map<Object, Object> accumulator,
+                                    final UIDefaults defaults) {
+        Object value = PropertyLoader.parseValue(source.getFirst(), source.getSecond(), accumulator, defaults,
+                                                 PropertyLoader.getIconLoader());
+        if (value != null) target.put(key, value);
+    }
+
+    private static Object readValue(final DataInputStream in, final Map<Object, Object> accumulator,
+                                    final UIDefaults defaults) throws IOException {
+        return readValue(in.readByte(), in, accumulator, defaults);
+    }
+
+    private static Object readValue(final byte type, final DataInputStream in, final Map<Object, Object> accumulator,
+                                    final UIDefaults defaults) throws IOException {
+        switch (type) {
+            case TYPE_COLOR :
+                return new DarkColorUIResource(new Color(in.readInt(), true));
+            case TYPE_INTEGER :
+                return in.readInt();
+            case TYPE_BOOLEAN :
+                return in.readBoolean();
+            case TYPE_STRING :
+                return in.readUTF();
+            case TYPE_INSETS :
+                return new InsetsUIResource(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+            case TYPE_DIMENSION :
+                return new DimensionUIResource(in.readInt(), in.readInt());
+            case TYPE_FONT :
+                return new DarkFontUIResource(in.readUTF(), in.readInt(), in.readInt());
+            case TYPE_LIST :
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, accumulator, defaults));
+                }
+                return list;
+            case TYPE_PAIR :
+                Object first = readValue(in, accumulator, defaults);
+                Object second = readValue(in, accumulator, defaults);
+                return new Pair<>(first, second);
+            default :
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    /**
+     * Records the property sources of parsed values. Values which can't be stored directly in a snapshot are stored by
+     * their source instead.
+     */
+    public static final class Recorder {
+
+        private final Map<String, Recorded> sources = new HashMap<>();
+        private final Map<Object, Pair<String, String>> valueSources = new IdentityHashMap<>();
+
+        private Recorder() {}
+
+        void record(final String propertyKey, final String value, final Object parsed) {
+            if (parsed == null) return;
+            Pair<String, String> source = new Pair<>(propertyKey, value);
+            sources.put(PropertyLoader.stripReferencePrefix(propertyKey), new Recorded(source, parsed));
+            valueSources.putIfAbsent(parsed, source);
+        }
+
+        /*
+         * Returns the source of the value of the given key. If the value wasn't parsed for the key itself (e.g.
+         * because it has been copied from a different key) the source of the first property parsed to the value
+         * is used.
+         */
+        private Pair<String, String> getSource(final String key, final Object value) {
+            Recorded recorded = sources.get(key);
+            if (recorded != null && recorded.value == value) return recorded.source;
+            return valueSources.get(value);
+        }
+
+        /**
+         * Stop recording.
+         */
+        public void stop() {
+            PropertyLoader.setRecorder(null);
+        }
+
+        private static final class Recorded {
+
+            private final Pair<String, String> source;
+            private final Object value;
+
+            private Recorded(final Pair<String, String> source, final Object value) {
+                this.source = source;
+                this.value = value;
+            }
+        }
+    }
+}
@@ -34,7 +34,6 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import javax.swing.*;
 import javax.swing.plaf.DimensionUIResource;
@@ -46,7 +45,6 @@ import com.github.weisj.darklaf.icons.IconLoader;
 import com.github.weisj.darklaf.icons.StateIcon;
 import com.github.weisj.darklaf.uiresource.DarkColorUIResource;
 import com.github.weisj.darklaf.uiresource.DarkFontUIResource;
-import com.github.weisj.darklaf.util.ColorUtil;
 import com.github.weisj.darklaf.util.LogUtil;
 import com.github.weisj.darklaf.util.Pair;
 import com.github.weisj.darklaf.util.PropertyValue;
@@ -71,6 +69,7 @@ public final class PropertyLoader {
     private static final String FONT_SIZE = "withSize";
     private static final String FONT_STYLE = "withStyle";
     private static final char FONT_DELIMITER = '-';
+    private static final String FONT_SUFFIX = "font";
 
     private static final char LIST_START = '{';
     private static final char LIST_END = '}';
@@ -80,7 +79,10 @@ public final class PropertyLoader {
     private static final char LIST_SEPARATOR = ';';
     private static final char PAIR_SEPARATOR = ':';
 
+    private static final Object LOAD_ERROR = new Object();
+
     private static boolean addReferenceInfo;
+    private static DefaultsSnapshot.Recorder recorder;
 
     private static final Map<AttributedCharacterIterator.Attribute, Integer> attributes = Collections.emptyMap();
 
@@ -88,6 +90,18 @@ public final class PropertyLoader {
         PropertyLoader.addReferenceInfo = addReferenceInfo;
     }
 
+    static boolean isAddReferenceInfo() {
+        return addReferenceInfo;
+    }
+
+    static void setRecorder(final DefaultsSnapshot.Recorder recorder) {
+        PropertyLoader.recorder = recorder;
+    }
+
+    static IconLoader getIconLoader() {
+        return ICON_LOADER;
+    }
+
     public static Properties loadProperties(final Class<?> clazz, final String name, final String path) {
         final Properties properties = new Properties();
         String p = path + name + ".properties";
@@ -122,16 +136,24 @@ public final class PropertyLoader {
                                      final Map<Object, Object> accumulator,
                                      final UIDefaults currentDefaults, final IconLoader iconLoader) {
         for (final String key : keys) {
-            final String value = properties.get(key).toString();
-            Object parsed = parseValue(key, value, accumulator, currentDefaults, iconLoader);
-            if (parsed != null) {
-                accumulator.put(parseKey(key), parsed);
-            } else {
-                currentDefaults.remove(parseKey(key));
-            }
+            putProperty(key, properties.get(key).toString(), accumulator, currentDefaults, iconLoader);
         }
     }
 
+    static Object putProperty(final String key, final String value, final Map<Object, Object> accumulator,
+                              final UIDefaults currentDefaults, final IconLoader iconLoader) {
+        Object parsed = parseValue(key, value, accumulator, currentDefaults, iconLoader);
+        if (recorder != null && iconLoader == ICON_LOADER) {
+            recorder.record(key, value, parsed);
+        }
+        if (parsed != null) {
+            accumulator.put(parseKey(key), parsed);
+        } else {
+            currentDefaults.remove(parseKey(key));
+        }
+        return parsed;
+    }
+
     public static void replaceProperties(final Map<Object, Object> properties,
                                          final Predicate<Map.Entry<Object, Object>> predicate,
                                          final Function<Map.Entry<Object, Object>, Object> mapper) {
@@ -162,9 +184,62 @@ public final class PropertyLoader {
                   .forEach(e -> Optional.ofNullable(mapper.apply((Map.Entry<Object, T>) e)).ifPresent(e::setValue));
     }
 
+    /*
+     * Collects the keys referenced by the given value i.e. all '%key' references and the keys of 'from(key)' font
+     * arguments. The reference prefix is stripped from the collected keys.
+     */
+    static void collectReferences(final String value, final Collection<String> references) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            int start = -1;
+            if (c == REFERENCE_PREFIX && (i == 0 || isReferenceDelimiter(value.charAt(i - 1)))) {
+                start = i + 1;
+            } else if (c == ARG_START && i >= FONT_FROM.length() && value.startsWith(FONT_FROM, i - FONT_FROM.length())
+                       && (i == FONT_FROM.length() || value.charAt(i - FONT_FROM.length() - 1) == ARG_END)) {
+                start = i + 1;
+            }
+            if (start < 0) continue;
+            int end = start;
+            while (end < length && !isReferenceDelimiter(value.charAt(end))) {
+                end++;
+            }
+            if (end > start) references.add(value.substring(start, end));
+            i = end - 1;
+        }
+    }
+
+    private static boolean isReferenceDelimiter(final char c) {
+        switch (c) {
+            case LIST_START :
+            case LIST_END :
+            case INT_LIST_START :
+            case INT_LIST_END :
+            case ARG_START :
+            case ARG_END :
+            case SEPARATOR :
+            case LIST_SEPARATOR :
+            case PAIR_SEPARATOR :
+                return true;
+            default :
+                return Character.isWhitespace(c);
+        }
+    }
+
+    /*
+     * Returns whether the value of the given key is an object which is created lazily.
+     */
+    static boolean isObjectKey(final String key) {
+        return key.endsWith("Border") || key.endsWith(".border") || key.endsWith("Renderer");
+    }
+
+    static String stripReferencePrefix(final String key) {
+        return startsWith(key, REFERENCE_PREFIX) ? key.substring(1) : key;
+    }
+
     private static String parseKey(final String key) {
         if (addReferenceInfo) return key;
-        return key.startsWith(String.valueOf(REFERENCE_PREFIX)) ? key.substring(1) : key;
+        return startsWith(key, REFERENCE_PREFIX) ? key.substring(1) : key;
     }
 
     public static Object parseValue(final String propertyKey, final String value,
@@ -175,60 +250,156 @@ public final class PropertyLoader {
         }
         String key = propertyKey;
         boolean skipObjects = false;
-        if (key.startsWith(String.valueOf(REFERENCE_PREFIX))) {
+        if (startsWith(key, REFERENCE_PREFIX)) {
             key = parseKey(key);
             skipObjects = true;
         }
 
-        final Color color = ColorUtil.fromHex(value, null);
-        final Integer invVal = getInteger(value);
-        final Boolean boolVal = PropertyValue.TRUE.equalsIgnoreCase(value)
-                ? Boolean.TRUE
-                : PropertyValue.FALSE.equalsIgnoreCase(value) ? Boolean.FALSE : null;
-        if (color != null && (value.length() == 6 || value.length() == 8)) {
-            return new DarkColorUIResource(color);
-        } else if (invVal != null) {
-            return invVal;
-        } else if (boolVal != null) {
-            return boolVal;
-        }
+        final Object primitive = parsePrimitive(value);
+        if (primitive != null) return primitive;
 
-        Object returnVal = new LoadError();
+        Object returnVal = LOAD_ERROR;
         if (key.endsWith("Insets") || key.endsWith(".insets")) {
             returnVal = parseInsets(value, accumulator, currentDefaults, iconLoader);
-        } else if (!skipObjects
-                   && (key.endsWith("Border")
-                       || key.endsWith(".border")
-                       || key.endsWith("Renderer"))) {
+        } else if (!skipObjects && isObjectKey(key)) {
             return (UIDefaults.LazyValue) def -> parseObject(value);
         } else if (key.endsWith(".component") || key.endsWith("Component")) {
             return (UIDefaults.ActiveValue) (def) -> parseObject(value);
-        } else if (key.toLowerCase().endsWith("font")) {
+        } else if (key.regionMatches(true, key.length() - FONT_SUFFIX.length(), FONT_SUFFIX, 0,
+                                     FONT_SUFFIX.length())) {
             returnVal = parseFont(key, value, accumulator, currentDefaults);
         } else if (key.endsWith(".icon") || key.endsWith("Icon") || key.endsWith("Image")) {
             returnVal = parseIcon(value, accumulator, currentDefaults, iconLoader);
         } else if (key.endsWith("Size") || key.endsWith(".size")) {
             returnVal = parseSize(value);
-        } else if (value.startsWith(String.valueOf(LIST_START))
-                   && value.endsWith(String.valueOf(LIST_END))) {
+        } else if (startsWith(value, LIST_START) && endsWith(value, LIST_END)) {
             returnVal = parseList((v, acc, defs, iconL) -> PropertyLoader.parseValue("", v, acc, defs, iconL),
                                   value, accumulator, currentDefaults, iconLoader);
-        } else if (value.startsWith(String.valueOf(INT_LIST_START))
-                   && value.endsWith(String.valueOf(INT_LIST_END))) {
+        } else if (startsWith(value, INT_LIST_START) && endsWith(value, INT_LIST_END)) {
             returnVal = parseList((SimpleValueMapper<Integer>) Integer::parseInt, value, accumulator, currentDefaults,
                                   iconLoader, INT_LIST_START, INT_LIST_END, SEPARATOR);
-        } else if (value.contains(String.valueOf(PAIR_SEPARATOR))) {
+        } else if (value.indexOf(PAIR_SEPARATOR) >= 0) {
             returnVal = parsePair((v, acc, defs, iconL) -> PropertyLoader.parseValue("", v, acc, defs, iconL),
                                   value, accumulator, currentDefaults, iconLoader);
         } else if (PropertyValue.NULL.equalsIgnoreCase(value)) {
             returnVal = null;
-        } else if (value.startsWith(String.valueOf(REFERENCE_PREFIX))) {
+        } else if (startsWith(value, REFERENCE_PREFIX)) {
             returnVal = parseReference(key, value, accumulator, currentDefaults);
         }
-        if (!(returnVal instanceof LoadError)) return returnVal;
+        if (returnVal != LOAD_ERROR) return returnVal;
         return value;
     }
 
+    /*
+     * Parses colors, integers and booleans in a single pass over the value. Returns null if the value isn't of
+     * either type. This is equivalent to checking the value with ColorUtil#fromHex, Integer#parseInt and
+     * String#equalsIgnoreCase in this order, but doesn't rely on exceptions.
+     */
+    private static Object parsePrimitive(final String value) {
+        final int length = value.length();
+        if (length == 0) return null;
+        final char first = value.charAt(0);
+        final boolean negative = first == '-';
+        final int digitStart = negative || first == '+' ? 1 : 0;
+        boolean isHex = length == 6;
+        boolean isInteger = length > digitStart;
+        int rgb = 0;
+        long integer = 0;
+        for (int i = 0; i < length && (isHex || isInteger); i++) {
+            char c = value.charAt(i);
+            if (isHex) {
+                int digit = Character.digit(c, 16);
+                isHex = digit >= 0;
+                rgb = (rgb << 4) | digit;
+            }
+            if (isInteger && i >= digitStart) {
+                int digit = Character.digit(c, 10);
+                integer = 10 * integer + digit;
+                isInteger = digit >= 0 && integer <= (long) Integer.MAX_VALUE + 1;
+            }
+        }
+        if (isHex) return new DarkColorUIResource(rgb);
+        if (isInteger) {
+            if (negative) integer = -integer;
+            if (integer >= Integer.MIN_VALUE && integer <= Integer.MAX_VALUE) return (int) integer;
+        }
+        if (length == PropertyValue.TRUE.length() && PropertyValue.TRUE.equalsIgnoreCase(value)) return Boolean.TRUE;
+        if (length == PropertyValue.FALSE.length() && PropertyValue.FALSE.equalsIgnoreCase(value)) return Boolean.FALSE;
+        return null;
+    }
+
+    /*
+     * Equivalent to Integer#parseInt but returns null instead of throwing an exception.
+     */
+    private static Integer parseInteger(final String value) {
+        final int length = value.length();
+        if (length == 0) return null;
+        final char first = value.charAt(0);
+        final boolean negative = first == '-';
+        final int digitStart = negative || first == '+' ? 1 : 0;
+        if (length == digitStart) return null;
+        long integer = 0;
+        for (int i = digitStart; i < length; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0) return null;
+            integer = 10 * integer + digit;
+            if (integer > (long) Integer.MAX_VALUE + 1) return null;
+        }
+        if (negative) integer = -integer;
+        if (integer < Integer.MIN_VALUE || integer > Integer.MAX_VALUE) return null;
+        return (int) integer;
+    }
+
+    private static boolean startsWith(final String value, final char c) {
+        return !value.isEmpty() && value.charAt(0) == c;
+    }
+
+    private static boolean endsWith(final String value, final char c) {
+        return !value.isEmpty() && value.charAt(value.length() - 1) == c;
+    }
+
+    /*
+     * Splits the range [start, end) of the value at the delimiter. This is equivalent to
+     * value.substring(start, end).split(String.valueOf(delimiter), limit) but avoids the intermediate array and
+     * substring.
+     */
+    private static List<String> split(final String value, final int start, final int end,
+                                      final char delimiter, final int limit) {
+        List<String> parts = new ArrayList<>();
+        int offset = start;
+        int next;
+        while ((limit <= 0 || parts.size() < limit - 1)
+               && (next = value.indexOf(delimiter, offset)) >= 0 && next < end) {
+            parts.add(value.substring(offset, next));
+            offset = next + 1;
+        }
+        if (offset == start) {
+            // No match found.
+            parts.add(value.substring(start, end));
+            return parts;
+        }
+        parts.add(value.substring(offset, end));
+        if (limit == 0) {
+            int size = parts.size();
+            while (size > 0 && parts.get(size - 1).isEmpty()) {
+                parts.remove(--size);
+            }
+        }
+        return parts;
+    }
+
+    private static List<String> split(final String value, final char delimiter, final int limit) {
+        return split(value, 0, value.length(), delimiter, limit);
+    }
+
+    private static int[] parseInts(final List<String> values) {
+        int[] ints = new int[values.size()];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = Integer.parseInt(values.get(i));
+        }
+        return ints;
+    }
+
     private static <T> Pair<T, T> parsePair(final ParseFunction<T> mapper,
                                             final String value, final Map<Object, Object> accumulator,
                                             final UIDefaults currentDefaults, final IconLoader iconLoader) {
@@ -238,9 +409,10 @@ public final class PropertyLoader {
     private static <T, K> Pair<T, K> parsePair(final ParseFunction<T> firstMapper, final ParseFunction<K> secondMapper,
                                                final String value, final Map<Object, Object> accumulator,
                                                final UIDefaults currentDefaults, final IconLoader iconLoader) {
-        String[] pairVals = value.split(String.valueOf(PAIR_SEPARATOR), 2);
-        return new Pair<>(firstMapper.parseValue(pairVals[0], accumulator, currentDefaults, iconLoader),
-                          secondMapper.parseValue(pairVals[1], accumulator, currentDefaults, iconLoader));
+        int index = value.indexOf(PAIR_SEPARATOR);
+        return new Pair<>(firstMapper.parseValue(value.substring(0, index), accumulator, currentDefaults, iconLoader),
+                          secondMapper.parseValue(value.substring(index + 1), accumulator, currentDefaults,
+                                                  iconLoader));
     }
 
     private static Object parseReference(final String key, final String value,
@@ -313,12 +485,12 @@ public final class PropertyLoader {
     }
 
     private static Font parseExplicitFont(final String value) {
-        try {
-            final String[] decode = value.split(String.valueOf(FONT_DELIMITER));
-            return new DarkFontUIResource(decode[0], Integer.parseInt(decode[1]), Integer.parseInt(decode[2]));
-        } catch (final Exception e) {
-            return null;
-        }
+        final List<String> decode = split(value, FONT_DELIMITER, 0);
+        if (decode.size() < 3) return null;
+        final Integer style = parseInteger(decode.get(1));
+        final Integer size = parseInteger(decode.get(2));
+        if (style == null || size == null) return null;
+        return new DarkFontUIResource(decode.get(0), style, size);
     }
 
     private static Pair<Integer, String> parseFontAttribute(final String identifier, final String val,
@@ -328,23 +500,16 @@ public final class PropertyLoader {
         int lastIndex = key.indexOf(ARG_END);
         String rest = key.substring(lastIndex + 1);
         key = key.substring(0, lastIndex);
-        String[] subKeys = key.split(String.valueOf(SEPARATOR));
-        int[] values = new int[subKeys.length];
-        for (int i = 0; i < values.length; i++) {
-            if (subKeys[i].startsWith(String.valueOf(REFERENCE_PREFIX))) {
-                Object ref = unpackReference(parseReference(identifier, subKeys[i], accumulator, currrentDefault));
-                values[i] = ref instanceof Integer ? (Integer) ref : 0;
+        int result = 0;
+        for (String subKey : split(key, SEPARATOR, 0)) {
+            Object value;
+            if (startsWith(subKey, REFERENCE_PREFIX)) {
+                value = unpackReference(parseReference(identifier, subKey, accumulator, currrentDefault));
             } else {
-                try {
-                    values[i] = Integer.parseInt(subKeys[i]);
-                } catch (NumberFormatException ignored) {
-                    // In this case the value will be 0.
-                }
+                value = parseInteger(subKey);
             }
-        }
-        int result = 0;
-        for (int i : values) {
-            result += i;
+            // Values which aren't integers count as 0.
+            if (value instanceof Integer) result += (Integer) value;
         }
         return new Pair<>(result, rest);
     }
@@ -389,27 +554,27 @@ public final class PropertyLoader {
         if (val.charAt(0) == start) {
             val = value.substring(1, value.length() - 1);
         }
-        String[] values = val.split(String.valueOf(delimiter));
-        if (values.length == 0) return Collections.emptyList();
-        return Arrays.stream(values)
-                     .map(k -> mapper.parseValue(k, accumulator, currentDefaults, iconLoader))
-                     .collect(Collectors.toList());
+        List<String> values = split(val, delimiter, 0);
+        if (values.isEmpty()) return Collections.emptyList();
+        List<T> result = new ArrayList<>(values.size());
+        for (String v : values) {
+            result.add(mapper.parseValue(v, accumulator, currentDefaults, iconLoader));
+        }
+        return result;
     }
 
     private static Icon parseIcon(final String value,
                                   final Map<Object, Object> accumulator,
                                   final UIDefaults currentDefaults,
                                   final IconLoader iconLoader) {
-        if (value.startsWith(String.valueOf(LIST_START))) {
+        if (startsWith(value, LIST_START)) {
             return parseStateIcon(value, accumulator, currentDefaults, iconLoader);
         }
         String path = value;
         Dimension dim = new Dimension(16, 16);
         if (value.charAt(value.length() - 1) == ARG_END) {
             int i = path.lastIndexOf(ARG_START);
-            String dimVal = path.substring(i + 1, path.length() - 1);
-            int[] values = Arrays.stream(dimVal.split(String.valueOf(SEPARATOR), 2)).mapToInt(Integer::parseInt)
-                                 .toArray();
+            int[] values = parseInts(split(path, i + 1, path.length() - 1, SEPARATOR, 2));
             dim.width = values[0];
             dim.height = values[1];
             path = path.substring(0, i);
@@ -452,28 +617,12 @@ public final class PropertyLoader {
     }
 
     private static Object parseSize(final String value) {
-        try {
-            int[] dim = Arrays.stream(value.split(String.valueOf(SEPARATOR), 2)).mapToInt(Integer::parseInt).toArray();
-            return new DimensionUIResource(dim[0], dim[1]);
-        } catch (IndexOutOfBoundsException | NumberFormatException e) {
-            return new LoadError();
-        }
-    }
-
-    private static Integer getInteger(final String value) {
-        try {
-            return Integer.parseInt(value);
-        } catch (final NumberFormatException ignored) {
-            return null;
-        }
-    }
-
-    private static Double getDouble(final String value) {
-        try {
-            return Double.parseDouble(value);
-        } catch (final NumberFormatException ignored) {
-            return null;
-        }
+        int index = value.indexOf(SEPARATOR);
+        if (index < 0) return LOAD_ERROR;
+        Integer width = parseInteger(value.substring(0, index));
+        Integer height = parseInteger(value.substring(index + 1));
+        if (width == null || height == null) return LOAD_ERROR;
+        return new DimensionUIResource(width, height);
     }
 
     private static Object parseObject(final String value) {
@@ -483,8 +632,6 @@ public final class PropertyLoader {
         return null;
     }
 
-    private static final class LoadError {}
-
     private interface ParseFunction<T> {
 
         T parseValue(final String value,
@@ -0,0 +1,275 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.icons.IconLoader;
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Resolves property files using the dependency graph of their references instead of their load order.
+ * <p>
+ * Properties are first registered using {@link #putProperties(Properties)}. Later definitions of a key replace
+ * earlier ones. Calling {@link #resolve(Map, UIDefaults)} then parses every pending property after all properties it
+ * references, so references to keys defined in a later file are resolved as well. Cyclic references are reported and
+ * fall back to the value present at the time of parsing.
+ * <p>
+ * The resolver remembers the dependency graph, so {@link #update(Collection, Map, UIDefaults)} can re-resolve only
+ * the properties which depend on a changed value.
+ *
+ * @author Jannis Weis
+ */
+public class PropertyResolver {
+
+    private static final Logger LOGGER = LogUtil.getLogger(PropertyResolver.class);
+
+    private final IconLoader iconLoader;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final Map<String, Set<Node>> dependents = new HashMap<>();
+    private final Set<Node> pending = new LinkedHashSet<>();
+
+    public PropertyResolver() {
+        this(PropertyLoader.getIconLoader());
+    }
+
+    public PropertyResolver(final IconLoader iconLoader) {
+        this.iconLoader = iconLoader;
+    }
+
+    /**
+     * Registers the given properties. They are parsed on the next call to {@link #resolve(Map, UIDefaults)}.
+     *
+     * @param properties the properties to add.
+     */
+    public void putProperties(final Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            putProperty(key, properties.getProperty(key));
+        }
+    }
+
+    /**
+     * Registers the given property. It is parsed on the next call to {@link #resolve(Map, UIDefaults)}.
+     * <p>
+     * A previous definition of the key which hasn't been parsed yet is discarded. If the value references its own key,
+     * the reference resolves to the value present in the accumulator or defaults when the property is parsed, i.e. a
+     * value resolved by an earlier call to {@link #resolve(Map, UIDefaults)} or loaded by other means. It never refers
+     * to a discarded definition.
+     *
+     * @param key   the property key.
+     * @param value the unparsed value.
+     */
+    public void putProperty(final String key, final String value) {
+        String name = PropertyLoader.stripReferencePrefix(key);
+        Node old = nodes.get(name);
+        if (old != null) {
+            for (String dependency : old.dependencies) {
+                Set<Node> nodeSet = dependents.get(dependency);
+                if (nodeSet != null) nodeSet.remove(old);
+            }
+            pending.remove(old);
+        }
+        Node node = new Node(name, key, value);
+        PropertyLoader.collectReferences(value, node.dependencies);
+        /*
+         * A property referencing itself refers to the value already present when it is parsed. The definition it
+         * replaces has been removed from the pending properties above and is never parsed.
+         */
+        node.dependencies.remove(name);
+        for (String dependency : node.dependencies) {
+            dependents.computeIfAbsent(dependency, k -> new HashSet<>()).add(node);
+        }
+        nodes.put(name, node);
+        pending.add(node);
+    }
+
+    /**
+     * Parses all properties added since the last call.
+     *
+     * @param accumulator     the map the parsed values are put into.
+     * @param currentDefaults the current defaults.
+     */
+    public void resolve(final Map<Object, Object> accumulator, final UIDefaults currentDefaults) {
+        Deque<Node> stack = new ArrayDeque<>();
+        while (!pending.isEmpty()) {
+            visit(pending.iterator().next(), stack, accumulator, currentDefaults);
+        }
+    }
+
+    /**
+     * Re-resolves all properties which directly or transitively reference one of the given keys. Properties whose
+     * value has been replaced in the accumulator since they were resolved are left untouched.
+     *
+     * @param  changedKeys     the keys of the changed values.
+     * @param  accumulator     the map the parsed values are put into.
+     * @param  currentDefaults the current defaults.
+     * @return                 the keys of all updated properties.
+     */
+    public Set<String> update(final Collection<String> changedKeys, final Map<Object, Object> accumulator,
+                              final UIDefaults currentDefaults) {
+        Set<String> updated = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>(changedKeys);
+        Set<String> seen = new HashSet<>(changedKeys);
+        while (!queue.isEmpty()) {
+            Set<Node> nodeSet = dependents.get(queue.poll());
+            if (nodeSet == null) continue;
+            for (Node node : nodeSet) {
+                if (!seen.add(node.name)) continue;
+                if (node.state == State.RESOLVED && !isOwnValue(node, accumulator)) continue;
+                node.state = State.PENDING;
+                pending.add(node);
+                queue.add(node.name);
+            }
+        }
+        for (Node node : pending) {
+            updated.add(node.name);
+        }
+        resolve(accumulator, currentDefaults);
+        return updated;
+    }
+
+    /**
+     * Marks all pending properties as resolved using their current value in the given map. This allows to track the
+     * dependencies of properties which have been loaded by other means e.g. from a snapshot.
+     *
+     * @param values the map containing the current values.
+     */
+    public void assumeResolved(final Map<Object, Object> values) {
+        for (Node node : pending) {
+            node.resolved = values.get(PropertyLoader.isAddReferenceInfo() ? node.key : node.name);
+            node.state = State.RESOLVED;
+        }
+        pending.clear();
+    }
+
+    /**
+     * Parses all properties again whose values are objects created lazily, e.g. borders and renderers, if their key
+     * is accepted by the filter. These objects read the defaults when they are created and hence don't notice changes
+     * made by {@link #update(Collection, Map, UIDefaults)}.
+     *
+     * @param  filter          the filter for the keys.
+     * @param  accumulator     the map the parsed values are put into.
+     * @param  currentDefaults the current defaults.
+     * @return                 the keys of all reloaded properties.
+     */
+    public Set<String> reloadObjects(final Predicate<String> filter, final Map<Object, Object> accumulator,
+                                     final UIDefaults currentDefaults) {
+        Set<String> reloaded = new LinkedHashSet<>();
+        for (Node node : nodes.values()) {
+            // Properties prefixed with a reference never create objects.
+            if (node.state != State.RESOLVED || !node.key.equals(node.name)) continue;
+            if (!PropertyLoader.isObjectKey(node.name) || !filter.test(node.name)) continue;
+            node.resolved = PropertyLoader.putProperty(node.key, node.value, accumulator, currentDefaults,
+                                                       iconLoader);
+            reloaded.add(node.name);
+        }
+        return reloaded;
+    }
+
+    /**
+     * Returns whether the given key is defined by one of the registered properties.
+     *
+     * @param  key the key.
+     * @return     true if the key is defined.
+     */
+    public boolean isDefined(final String key) {
+        return nodes.containsKey(key);
+    }
+
+    /**
+     * Returns the keys referenced by the value of the given key.
+     *
+     * @param  key the key.
+     * @return     the referenced keys or an empty set if the key isn't defined.
+     */
+    public Set<String> getDependencies(final String key) {
+        Node node = nodes.get(key);
+        return node != null ? Collections.unmodifiableSet(node.dependencies) : Collections.emptySet();
+    }
+
+    private void visit(final Node node, final Deque<Node> stack,
+                       final Map<Object, Object> accumulator, final UIDefaults currentDefaults) {
+        if (node.state != State.PENDING) return;
+        node.state = State.VISITING;
+        stack.push(node);
+        for (String dependency : node.dependencies) {
+            Node dependencyNode = nodes.get(dependency);
+            if (dependencyNode == null) continue;
+            if (dependencyNode.state == State.VISITING) {
+                LOGGER.warning("Cyclic reference " + describeCycle(stack, dependencyNode) + ". Using the value of '"
+                               + dependency + "' at the time '" + node.name + "' is loaded.");
+            } else {
+                visit(dependencyNode, stack, accumulator, currentDefaults);
+            }
+        }
+        stack.pop();
+        pending.remove(node);
+        node.resolved = PropertyLoader.putProperty(node.key, node.value, accumulator, currentDefaults, iconLoader);
+        node.state = State.RESOLVED;
+    }
+
+    private boolean isOwnValue(final Node node, final Map<Object, Object> accumulator) {
+        Object current = accumulator.get(PropertyLoader.isAddReferenceInfo() ? node.key : node.name);
+        return current == node.resolved;
+    }
+
+    private static String describeCycle(final Deque<Node> stack, final Node start) {
+        StringBuilder builder = new StringBuilder();
+        Iterator<Node> iterator = stack.descendingIterator();
+        boolean inCycle = false;
+        while (iterator.hasNext()) {
+            Node node = iterator.next();
+            inCycle = inCycle || node == start;
+            if (inCycle) builder.append("'").append(node.name).append("' -> ");
+        }
+        return builder.append("'").append(start.name).append("'").toString();
+    }
+
+    private enum State {
+        PENDING,
+        VISITING,
+        RESOLVED
+    }
+
+    private static final class Node {
+
+        private final String name;
+        private final String key;
+        private final String value;
+        private final Set<String> dependencies = new LinkedHashSet<>();
+        private State state = State.PENDING;
+        private Object resolved;
+
+        private Node(final String name, final String key, final String value) {
+            this.name = name;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -31,6 +31,8 @@ import java.net.URI;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
+import javax.swing.*;
+
 import com.github.weisj.darklaf.util.LogUtil;
 import com.github.weisj.darklaf.util.Scale;
 import com.kitfox.svg.app.beans.SVGIcon;
@@ -63,6 +65,7 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
     private double scaleX;
     private double scaleY;
     private Image image;
+    private Object imageTheme;
 
     /**
      * Method to fetch the SVG icon from a url.
@@ -80,7 +83,7 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
         loaded = new AtomicBoolean(false);
     }
 
-    private DarkSVGIcon(final int width, final int height, final DarkSVGIcon icon) {
+    protected DarkSVGIcon(final int width, final int height, final DarkSVGIcon icon) {
         this.size = new Dimension(width, height);
         this.icon = icon.icon;
         this.uri = icon.uri;
@@ -103,31 +106,83 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
 
     protected boolean ensureLoaded() {
         if (!loaded.get()) {
-            LOGGER.fine(() -> "Loading icon '" + uri.toASCIIString() + "'.");
-            icon.setSvgURI(uri);
-            loaded.set(true);
-            return true;
+            synchronized (getLoadLock()) {
+                if (!loaded.get()) {
+                    LOGGER.fine(() -> "Loading icon '" + uri.toASCIIString() + "'.");
+                    icon.setSvgURI(uri);
+                    loaded.set(true);
+                    return true;
+                }
+            }
         }
         return false;
     }
 
+    /*
+     * The svg universe isn't thread safe. Every access which may load documents or render them has to hold this lock
+     * as icons may be preloaded off the event dispatch thread.
+     */
+    protected Object getLoadLock() {
+        return icon.getSvgUniverse();
+    }
+
+    /**
+     * Loads the svg document and renders the icon for the scale of the default screen. This method may be called from
+     * any thread. The rendered image is used if the icon hasn't been painted in the meantime.
+     *
+     * @see IconLoader#preloadIcons(java.util.Collection)
+     */
+    public void preload() {
+        double sx = Scale.SCALE_X;
+        double sy = Scale.SCALE_Y;
+        ensureLoaded();
+        Object theme = getThemeStatus();
+        Image img = getImage(Scale.scale(sx, sy, size));
+        SwingUtilities.invokeLater(() -> {
+            if (image == null && !loadedWithExtraScale) {
+                scaleX = sx;
+                scaleY = sy;
+                image = img;
+                imageTheme = theme;
+            }
+        });
+    }
+
     protected void updateCache(final boolean update, final Component c) {
         GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
         double sx = Scale.getScaleX(gc);
         double sy = Scale.getScaleY(gc);
-        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy) && image != null) return;
+        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy) && image != null
+            && imageTheme == getThemeStatus()) {
+            return;
+        }
         scaleX = sx;
         scaleY = sy;
         double effectiveScaleX = loadedWithExtraScale ? scaleX * extraScale : scaleX;
         double effectiveScaleY = loadedWithExtraScale ? scaleY * extraScale : scaleY;
-        image = createImage(Scale.scale(effectiveScaleX, effectiveScaleY, size));
+        image = getImage(Scale.scale(effectiveScaleX, effectiveScaleY, size));
+        imageTheme = getThemeStatus();
+    }
+
+    private Image getImage(final Dimension size) {
+        SVGRasterCache.Key key = new SVGRasterCache.Key(getLoadLock(), uri, getThemeStatus(), size.width, size.height);
+        return SVGRasterCache.getImage(key, () -> createImage(size));
+    }
+
+    /*
+     * Images rendered for different theme states can't be shared.
+     */
+    protected Object getThemeStatus() {
+        return null;
     }
 
     @Override
     public Image createImage(final Dimension size) {
-        ensureLoaded();
-        icon.setPreferredSize(size);
-        return icon.getImage();
+        synchronized (getLoadLock()) {
+            ensureLoaded();
+            icon.setPreferredSize(size);
+            return icon.getImage();
+        }
     }
 
     protected void ensureImageLoaded(final Component c, final double rotation) {
@@ -184,6 +239,10 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
         return size.height;
     }
 
+    boolean isLoaded() {
+        return loaded.get();
+    }
+
     public SVGIcon getSVGIcon() {
         if (!loaded.get()) ensureLoaded();
         return icon;
@@ -25,22 +25,29 @@
 package com.github.weisj.darklaf.icons;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.swing.*;
 
-import com.github.weisj.darklaf.util.ColorUtil;
 import com.github.weisj.darklaf.util.LogUtil;
-import com.github.weisj.darklaf.util.Pair;
 import com.kitfox.svg.*;
 import com.kitfox.svg.animation.AnimationElement;
 import com.kitfox.svg.app.beans.SVGIcon;
 import com.kitfox.svg.xml.StyleAttribute;
 
 /**
+ * Maps the colors of themed svg icons to the colors of the current theme.
+ * <p>
+ * The gradients in the {@code colors} definitions of an icon are replaced by color slots once. Patching the colors
+ * afterwards only substitutes the colors of these slots without modifying the document.
+ *
  * @author Jannis Weis
  */
 public final class IconColorMapper {
@@ -55,37 +62,46 @@ public final class IconColorMapper {
         SVGUniverse universe = svgIcon.getSvgUniverse();
         SVGDiagram diagram = universe.getDiagram(svgIcon.getSvgURI());
         try {
-            loadColors(diagram, defaults);
+            for (ColorSlot slot : getColorSlots(diagram)) {
+                slot.color = resolveColor(slot.getId(), slot.fallbacks, slot.opacityKey, defaults);
+            }
         } catch (SVGElementException e) {
             LOGGER.log(Level.SEVERE, "Failed patching colors. " + e.getMessage(), e.getStackTrace());
         }
     }
 
-    private static void loadColors(final SVGDiagram diagram, final UIDefaults defaults) throws SVGElementException {
-        SVGRoot root = diagram.getRoot();
+    private static List<ColorSlot> getColorSlots(final SVGDiagram diagram) throws SVGElementException {
         SVGElement defs = diagram.getElement("colors");
-        if (defs == null) return;
+        if (defs == null) return Collections.emptyList();
+        if (defs instanceof ColorDefs) return ((ColorDefs) defs).slots;
+
+        SVGRoot root = diagram.getRoot();
         List<?> children = defs.getChildren(null);
         root.removeChild(defs);
 
-        Defs themedDefs = new Defs();
+        ColorDefs themedDefs = new ColorDefs();
         themedDefs.addAttribute("id", AnimationElement.AT_XML, "colors");
         root.loaderAddChild(null, themedDefs);
 
         for (Object child : children) {
             if (child instanceof LinearGradient) {
-                String id = ((LinearGradient) child).getId();
-                StyleAttribute fallbacks = getFallbacks((LinearGradient) child);
-                String opacityKey = getOpacityKey((LinearGradient) child);
-                float opacity = getOpacity(opacityKey);
-                Color c = resolveColor(id, getFallbacks(fallbacks), FALLBACK_COLOR, defaults);
-                Pair<LinearGradient, Runnable> result = createColor(c, id, opacityKey, fallbacks, opacity);
-                LinearGradient gradient = result.getFirst();
-                Runnable finalizer = result.getSecond();
-                themedDefs.loaderAddChild(null, gradient);
-                finalizer.run();
+                LinearGradient gradient = (LinearGradient) child;
+                ColorSlot slot = new ColorSlot(getFallbacks(getFallbacks(gradient)), getOpacityKey(gradient));
+                slot.addAttribute("id", AnimationElement.AT_XML, gradient.getId());
+                themedDefs.loaderAddChild(null, slot);
+                themedDefs.slots.add(slot);
             }
         }
+        return themedDefs.slots;
+    }
+
+    private static Color resolveColor(final String key, final String[] fallbacks, final String opacityKey,
+                                      final UIDefaults defaults) {
+        Color color = resolveColor(key, fallbacks, FALLBACK_COLOR, defaults);
+        float opacity = getOpacity(opacityKey);
+        if (opacity == 1) return color;
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(),
+                         Math.round(color.getAlpha() * opacity));
     }
 
     private static Color resolveColor(final String key, final String[] fallbacks,
@@ -143,40 +159,26 @@ public final class IconColorMapper {
         return attribute.getStringValue();
     }
 
-    private static Pair<LinearGradient, Runnable> createColor(final Color c,
-                                                              final String name, final String opacityKey,
-                                                              final StyleAttribute fallbacks,
-                                                              final float opacity) throws SVGElementException {
-        LinearGradient grad = new LinearGradient();
-        grad.addAttribute("id", AnimationElement.AT_XML, name);
-        if (opacityKey != null) {
-            grad.addAttribute("opacity", AnimationElement.AT_XML, opacityKey);
-        }
-        if (fallbacks != null) {
-            grad.addAttribute(fallbacks.getName(), AnimationElement.AT_XML, fallbacks.getStringValue());
-        }
-        return new Pair<>(grad, () -> {
-            Stop stop1 = new Stop();
-            Stop stop2 = new Stop();
-            String color = toHexString(c);
-            try {
-                stop1.addAttribute("stop-color", AnimationElement.AT_XML, color);
-                stop1.addAttribute("offset", AnimationElement.AT_XML, "0");
-                stop2.addAttribute("stop-color", AnimationElement.AT_XML, color);
-                stop2.addAttribute("offset", AnimationElement.AT_XML, "1");
-                if (opacity != 1) {
-                    stop1.addAttribute("stop-opacity", AnimationElement.AT_XML, String.valueOf(opacity));
-                    stop2.addAttribute("stop-opacity", AnimationElement.AT_XML, String.valueOf(opacity));
-                }
-                grad.loaderAddChild(null, stop1);
-                grad.loaderAddChild(null, stop2);
-            } catch (SVGElementException e) {
-                e.printStackTrace();
-            }
-        });
+    private static final class ColorDefs extends Defs {
+        private final List<ColorSlot> slots = new ArrayList<>();
     }
 
-    private static String toHexString(final Color color) {
-        return "#" + ColorUtil.toHex(color);
+    /*
+     * Paints with a single color which can be substituted without touching the document.
+     */
+    private static final class ColorSlot extends LinearGradient {
+        private final String[] fallbacks;
+        private final String opacityKey;
+        private volatile Color color = FALLBACK_COLOR;
+
+        private ColorSlot(final String[] fallbacks, final String opacityKey) {
+            this.fallbacks = fallbacks;
+            this.opacityKey = opacityKey;
+        }
+
+        @Override
+        public Paint getPaint(final Rectangle2D bounds, final AffineTransform xform) {
+            return color;
+        }
     }
 }
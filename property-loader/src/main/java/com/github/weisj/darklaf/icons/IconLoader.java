@@ -27,14 +27,17 @@ package com.github.weisj.darklaf.icons;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.util.CacheStatistics;
+import com.github.weisj.darklaf.util.LRUCache;
 import com.github.weisj.darklaf.util.LazyValue;
 import com.github.weisj.darklaf.util.LogUtil;
 
@@ -43,23 +46,32 @@ import com.github.weisj.darklaf.util.LogUtil;
  */
 public final class IconLoader {
     private static final Logger LOGGER = LogUtil.getLogger(IconLoader.class);
-    private static final Map<Class<?>, IconLoader> iconLoaderMap = new HashMap<>();
+    private static final Map<Class<?>, IconLoader> iconLoaderMap = Collections.synchronizedMap(new HashMap<>());
     private static final LazyValue<IconLoader> instance = new LazyValue<>(() -> get(null));
+    private static final LazyValue<ExecutorService> preloadExecutor =
+            new LazyValue<>(IconLoader::createPreloadExecutor);
 
     private static Object currentThemeKey;
     private static AwareIconStyle currentAwareStyle;
 
     private static final int DEFAULT_W = 16;
     private static final int DEFAULT_H = 16;
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+    private static final LRUCache.Weigher<IconKey, Object> PIXEL_WEIGHER = (key, icon) -> Math.max(1, key.w * key.h);
     private final Class<?> parentClass;
 
-    private boolean cacheEnabled = true;
-    private final Map<IconKey, DarkUIAwareIcon> awareIconMap = new HashMap<>();
-    private final Map<IconKey, Icon> iconMap = new HashMap<>();
+    private volatile boolean cacheEnabled = true;
+    private final LRUCache<IconKey, DarkUIAwareIcon> awareIconMap = new LRUCache<>(DEFAULT_CACHE_SIZE);
+    private final LRUCache<IconKey, Icon> iconMap = new LRUCache<>(DEFAULT_CACHE_SIZE);
+    /*
+     * Icons of different sizes can share the same svg. The first loaded svg icon of each path is used as the base for
+     * deriving all other sizes.
+     */
+    private final LRUCache<String, DerivableIcon<?>> svgIconIndex = new LRUCache<>(DEFAULT_CACHE_SIZE);
+    private final LRUCache<String, DerivableIcon<?>> themedSvgIconIndex = new LRUCache<>(DEFAULT_CACHE_SIZE);
 
     private IconLoader(final Class<?> parentClass) {
         this.parentClass = parentClass;
-        iconLoaderMap.put(parentClass, this);
     }
 
     /**
@@ -77,13 +89,7 @@ public final class IconLoader {
      * @return the default icon loader.
      */
     public static IconLoader get(final Class<?> parentClass) {
-        if (iconLoaderMap.containsKey(parentClass)) {
-            return iconLoaderMap.get(parentClass);
-        } else {
-            IconLoader loader = new IconLoader(parentClass);
-            iconLoaderMap.put(parentClass, loader);
-            return loader;
-        }
+        return iconLoaderMap.computeIfAbsent(parentClass, IconLoader::new);
     }
 
     /**
@@ -104,6 +110,124 @@ public final class IconLoader {
         return cacheEnabled;
     }
 
+    /**
+     * Limits the number of cached icons. If the limit is exceeded the least recently used icons are evicted. The limit
+     * applies to the ui aware icons and all other icons separately.
+     *
+     * @param maximumSize the maximum number of cached icons.
+     */
+    public void setMaximumCacheSize(final long maximumSize) {
+        setCachePolicy(maximumSize, null);
+    }
+
+    /**
+     * Limits the total area in pixels of the cached icons. This favours evicting large icons over small ones. If the
+     * limit is exceeded the least recently used icons are evicted. The limit applies to the ui aware icons and all
+     * other icons separately.
+     *
+     * @param maximumPixels the maximum total area of cached icons.
+     */
+    public void setMaximumCachePixels(final long maximumPixels) {
+        setCachePolicy(maximumPixels, PIXEL_WEIGHER);
+    }
+
+    private void setCachePolicy(final long maximumWeight, final LRUCache.Weigher<IconKey, Object> weigher) {
+        iconMap.setWeigher(weigher);
+        iconMap.setMaximumWeight(maximumWeight);
+        awareIconMap.setWeigher(weigher);
+        awareIconMap.setMaximumWeight(maximumWeight);
+    }
+
+    /**
+     * Loads the svg icons at the given paths in the background. Icons which are requested later with the same path
+     * share the loaded svg documents.
+     *
+     * @param  paths the paths to the icons with respect to the IconLoader resource root. Paths which don't denote an
+     *               svg icon are ignored.
+     * @return       future which completes once all icons are loaded.
+     */
+    public CompletableFuture<Void> preload(final Collection<String> paths) {
+        List<Icon> icons = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            if (path.endsWith(".svg")) {
+                icons.add(getIcon(path, DEFAULT_W, DEFAULT_H));
+            }
+        }
+        return preloadIcons(icons);
+    }
+
+    /**
+     * Loads and renders the given svg icons in the background. Icons which are painted before they are loaded are
+     * loaded synchronously on first paint as usual.
+     *
+     * @param  icons the icons to load. Icons which aren't instances of {@link DarkSVGIcon} are ignored.
+     * @return       future which completes once all icons are loaded.
+     */
+    public static CompletableFuture<Void> preloadIcons(final Collection<? extends Icon> icons) {
+        List<DarkSVGIcon> svgIcons = new ArrayList<>(icons.size());
+        for (Icon icon : icons) {
+            if (icon instanceof DarkSVGIcon) {
+                svgIcons.add((DarkSVGIcon) icon);
+            }
+        }
+        if (svgIcons.isEmpty()) return CompletableFuture.completedFuture(null);
+        return CompletableFuture.runAsync(() -> {
+            for (DarkSVGIcon icon : svgIcons) {
+                try {
+                    icon.preload();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to preload icon '" + icon.uri + "'.", e);
+                }
+            }
+        }, getPreloadExecutor());
+    }
+
+    /**
+     * Updates the colors of all loaded themed icons to the current theme and renders them in the background. Icons
+     * which are painted before they are updated are updated synchronously on paint as usual.
+     *
+     * @return future which completes once all icons are updated.
+     * @see    #updateThemeStatus(Object)
+     */
+    public static CompletableFuture<Void> updateThemedIcons() {
+        return preloadIcons(ThemedSVGIcon.getLoadedIcons());
+    }
+
+    private static synchronized ExecutorService getPreloadExecutor() {
+        return preloadExecutor.get();
+    }
+
+    private static ExecutorService createPreloadExecutor() {
+        /*
+         * Loading svg documents can't happen in parallel as the svg universe isn't thread safe.
+         */
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Icon Preloader");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the combined statistics of the icon caches of this loader.
+     *
+     * @return the cache statistics.
+     */
+    public CacheStatistics getCacheStatistics() {
+        return iconMap.getStatistics().plus(awareIconMap.getStatistics());
+    }
+
+    /**
+     * Removes all cached icons.
+     */
+    public void clearCache() {
+        iconMap.clear();
+        awareIconMap.clear();
+        svgIconIndex.clear();
+        themedSvgIconIndex.clear();
+    }
+
     /**
      * Updates the style of aware icons.
      * Changing it will force aware icons to change their appearance accordingly.
@@ -166,14 +290,8 @@ public final class IconLoader {
      * @return      the icon.
      */
     public DarkUIAwareIcon getUIAwareIcon(final String path, final int w, final int h) {
-        IconKey key = new IconKey(path, w, h);
-        if (isCacheEnabled() && awareIconMap.containsKey(key)) {
-            return awareIconMap.get(key);
-        } else {
-            DarkUIAwareIcon icon = createUIAwareIcon(path, w, h);
-            cache(awareIconMap, key, icon);
-            return icon;
-        }
+        if (!isCacheEnabled()) return createUIAwareIcon(path, w, h);
+        return awareIconMap.computeIfAbsent(new IconKey(path, w, h), k -> createUIAwareIcon(path, w, h));
     }
 
     /*
@@ -243,42 +361,31 @@ public final class IconLoader {
         IconKey key = new IconKey(path, w, h);
 
         if (isCacheEnabled()) {
-            if (iconMap.containsKey(key)) {
-                return iconMap.get(key);
-            } else if (awareIconMap.containsKey(key)) {
-                return awareIconMap.get(key);
-            }
-            key.w = -1; // Enable wild card search. Find any icon that matches path.
-            if (iconMap.containsKey(key)) {
-                Icon icon = iconMap.get(key);
+            Icon icon = iconMap.get(key);
+            if (icon != null) return icon;
+            icon = awareIconMap.peek(key);
+            if (icon != null) return icon;
+            if (path.endsWith(".svg")) {
+                LRUCache<String, DerivableIcon<?>> index = themed ? themedSvgIconIndex : svgIconIndex;
+                DerivableIcon<?> baseIcon = index.peek(path);
+                if (baseIcon != null) {
+                    // Create a view that shares the underlying svg with the existing icon.
+                    return iconMap.putIfAbsent(key, baseIcon.derive(w, h));
+                }
+                icon = loadSVGIcon(path, w, h, themed);
                 if (icon instanceof DerivableIcon) {
-                    // If the desired icon is an DarkSVGIcon we can create a view that shares the underlying svg with
-                    // the existing icon.
-                    Icon derived = ((DerivableIcon<Icon>) icon).derive(w, h);
-                    key.w = w;
-                    cache(iconMap, key, derived);
-                    return derived;
+                    index.putIfAbsent(path, (DerivableIcon<?>) icon);
                 }
+                return iconMap.putIfAbsent(key, icon);
             }
+            return iconMap.putIfAbsent(key, new LazyImageIcon(path, key, parentClass));
         }
 
-        // Icon not found or caching is disabled.
-
-        key.w = w; // Restore key.
+        // Caching is disabled.
         if (path.endsWith(".svg")) {
-            Icon icon = loadSVGIcon(path, w, h, themed);
-            cache(iconMap, key, icon);
-            return icon;
+            return loadSVGIcon(path, w, h, themed);
         } else {
-            Icon icon = new LazyImageIcon(path, key, parentClass);
-            cache(iconMap, key, icon);
-            return icon;
-        }
-    }
-
-    private <T extends Icon> void cache(final Map<IconKey, T> iconMap, final IconKey key, final T icon) {
-        if (cacheEnabled) {
-            iconMap.put(key, icon);
+            return new LazyImageIcon(path, key, parentClass);
         }
     }
 
@@ -394,11 +501,6 @@ public final class IconLoader {
             if (o == null || getClass() != o.getClass()) return false;
 
             IconKey iconKey = (IconKey) o;
-
-            if (iconKey.w == -1 || iconKey.h == -1) {
-                // Math any size.
-                return Objects.equals(path, iconKey.path);
-            }
             if (w != iconKey.w) return false;
             if (h != iconKey.h) return false;
             return Objects.equals(path, iconKey.path);
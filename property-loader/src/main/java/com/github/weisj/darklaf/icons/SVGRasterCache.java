@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.github.weisj.darklaf.util.CacheStatistics;
+import com.github.weisj.darklaf.util.LRUCache;
+
+/**
+ * Cache for the rendered images of svg icons. Images are shared between all icons showing the same svg document at
+ * the same pixel size, i.e. derived icons and icons painted on screens with different scaling share their images.
+ * <p>
+ * The total size of the images is limited by a memory budget. Additionally images are only softly referenced and may
+ * be reclaimed by the garbage collector.
+ *
+ * @author Jannis Weis
+ */
+public final class SVGRasterCache {
+
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final long DEFAULT_MEMORY_BUDGET = 16 * 1024 * 1024;
+    private static final LRUCache<Key, SoftReference<Image>> cache =
+        new LRUCache<>(DEFAULT_MEMORY_BUDGET, (key, image) -> key.width * key.height * BYTES_PER_PIXEL);
+
+    private SVGRasterCache() {}
+
+    /**
+     * Sets the maximum number of bytes used by cached images. If the budget is exceeded the least recently used images
+     * are evicted.
+     *
+     * @param bytes the memory budget in bytes.
+     */
+    public static void setMemoryBudget(final long bytes) {
+        cache.setMaximumWeight(bytes);
+    }
+
+    /**
+     * Returns the maximum number of bytes used by cached images.
+     *
+     * @return the memory budget in bytes.
+     */
+    public static long getMemoryBudget() {
+        return cache.getMaximumWeight();
+    }
+
+    /**
+     * Returns the statistics of the cache. The weight of the cache is the number of bytes occupied by cached images.
+     *
+     * @return the cache statistics.
+     */
+    public static CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Removes all cached images.
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+    static Image getImage(final Key key, final Supplier<Image> renderer) {
+        SoftReference<Image> ref = cache.get(key);
+        Image image = ref != null ? ref.get() : null;
+        if (image == null) {
+            image = renderer.get();
+            cache.put(key, new SoftReference<>(image));
+        }
+        return image;
+    }
+
+    static final class Key {
+        private final Object universe;
+        private final URI uri;
+        private final Object theme;
+        private final int width;
+        private final int height;
+
+        Key(final Object universe, final URI uri, final Object theme, final int width, final int height) {
+            this.universe = universe;
+            this.uri = uri;
+            this.theme = theme;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return width == key.width
+                   && height == key.height
+                   && universe == key.universe
+                   && theme == key.theme
+                   && Objects.equals(uri, key.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(universe);
+            result = 31 * result + Objects.hashCode(uri);
+            result = 31 * result + System.identityHashCode(theme);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            return result;
+        }
+    }
+}
@@ -26,17 +26,46 @@ package com.github.weisj.darklaf.icons;
 
 import java.awt.*;
 import java.net.URI;
+import java.util.*;
+import java.util.List;
 
 /**
  * @author Jannis Weis
  */
 public class ThemedSVGIcon extends DarkSVGIcon {
 
-    private Object currentTheme;
+    private static final Set<ThemedSVGIcon> liveIcons =
+        Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private volatile Object currentTheme;
 
     public ThemedSVGIcon(final URI uri, final int displayWidth, final int displayHeight) {
         super(uri, displayWidth, displayHeight);
         currentTheme = new Object();
+        liveIcons.add(this);
+    }
+
+    protected ThemedSVGIcon(final int width, final int height, final ThemedSVGIcon icon) {
+        super(width, height, icon);
+        currentTheme = new Object();
+        liveIcons.add(this);
+    }
+
+    /*
+     * Returns all themed icons which are still referenced and have already been loaded.
+     */
+    static List<ThemedSVGIcon> getLoadedIcons() {
+        List<ThemedSVGIcon> icons;
+        synchronized (liveIcons) {
+            icons = new ArrayList<>(liveIcons);
+        }
+        icons.removeIf(icon -> !icon.isLoaded());
+        return icons;
+    }
+
+    @Override
+    public ThemedSVGIcon derive(final int width, final int height) {
+        return new ThemedSVGIcon(width, height, this);
     }
 
     protected boolean ensureLoaded() {
@@ -49,13 +78,20 @@ public class ThemedSVGIcon extends DarkSVGIcon {
     protected boolean ensureTheme() {
         Object theme = IconLoader.getThemeStatus();
         if (currentTheme != theme) {
-            patchColors();
+            synchronized (getLoadLock()) {
+                patchColors();
+            }
             currentTheme = theme;
             return true;
         }
         return false;
     }
 
+    @Override
+    protected Object getThemeStatus() {
+        return currentTheme;
+    }
+
     protected void patchColors() {
         IconColorMapper.patchColors(getSVGIcon());
     }
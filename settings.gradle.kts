@@ -22,7 +22,8 @@ include(
     "utils",
     "platform-base",
     "windows",
-    "macos"
+    "macos",
+    "benchmarks"
 )
 
 for (p in rootProject.children) {
@@ -24,32 +24,148 @@
  */
 package com.github.weisj.darklaf.theme.event;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
+/**
+ * Stores listeners and dispatches events to them.
+ * <p>
+ * The listeners are kept in an immutable array, which is replaced on modification. Dispatching iterates over the array
+ * at the time of the dispatch without locking, hence listeners may be added or removed during a dispatch from any
+ * thread. Modifications only affect subsequent dispatches.
+ * <p>
+ * Listeners with a higher priority are notified first. Listeners with the same priority are notified in the order
+ * they have been added. Weak listeners are removed once they have been garbage collected. Note that the caller has to
+ * keep a strong reference to a weak listener, hence lambdas or anonymous classes shouldn't be added as weak listeners
+ * unless they are stored.
+ *
+ * @author Jannis Weis
+ */
 public class ThemeEventSupport<E extends ThemeEvent, T extends ThemeEventListener<E>> {
 
-    private final List<T> listenerList = Collections.synchronizedList(new ArrayList<>());
+    public static final int DEFAULT_PRIORITY = 0;
+
+    private static final ListenerEntry<?>[] EMPTY = new ListenerEntry<?>[0];
+
+    private final AtomicReference<ListenerEntry<?>[]> listeners = new AtomicReference<>(EMPTY);
 
     public void addListener(final T listener) {
-        listenerList.add(listener);
+        addListener(listener, DEFAULT_PRIORITY);
+    }
+
+    public void addListener(final T listener, final int priority) {
+        if (listener == null) return;
+        add(new ListenerEntry<>(listener, null, priority));
+    }
+
+    public void addWeakListener(final T listener) {
+        addWeakListener(listener, DEFAULT_PRIORITY);
+    }
+
+    public void addWeakListener(final T listener, final int priority) {
+        if (listener == null) return;
+        add(new ListenerEntry<>(null, new WeakReference<>(listener), priority));
     }
 
     public void removeListener(final T listener) {
-        listenerList.remove(listener);
+        if (listener == null) return;
+        ListenerEntry<?>[] current;
+        ListenerEntry<?>[] updated;
+        do {
+            current = listeners.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (listener.equals(current[i].get())) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) return;
+            updated = new ListenerEntry<?>[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        } while (!listeners.compareAndSet(current, updated));
+    }
+
+    /**
+     * Returns the number of listeners, which haven't been garbage collected.
+     *
+     * @return the number of listeners.
+     */
+    public int getListenerCount() {
+        int count = 0;
+        for (ListenerEntry<?> entry : listeners.get()) {
+            if (entry.get() != null) count++;
+        }
+        return count;
     }
 
     public void dispatchEvent(final E event) {
         dispatchEvent(event, ThemeEventListener::onEvent);
     }
 
+    @SuppressWarnings("unchecked")
     public void dispatchEvent(final E event, final BiConsumer<T, E> consumer) {
-        for (T listener : listenerList) {
+        boolean hasCollected = false;
+        for (ListenerEntry<?> entry : listeners.get()) {
+            T listener = (T) entry.get();
             if (listener != null) {
                 consumer.accept(listener, event);
+            } else {
+                hasCollected = true;
             }
         }
+        if (hasCollected) removeCollected();
+    }
+
+    private void add(final ListenerEntry<?> entry) {
+        ListenerEntry<?>[] current;
+        ListenerEntry<?>[] updated;
+        do {
+            current = listeners.get();
+            // Insert after all listeners with the same or a higher priority.
+            int index = current.length;
+            while (index > 0 && current[index - 1].priority < entry.priority) {
+                index--;
+            }
+            updated = new ListenerEntry<?>[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            updated[index] = entry;
+            System.arraycopy(current, index, updated, index + 1, current.length - index);
+        } while (!listeners.compareAndSet(current, updated));
+    }
+
+    private void removeCollected() {
+        ListenerEntry<?>[] current;
+        ListenerEntry<?>[] updated;
+        do {
+            current = listeners.get();
+            int count = 0;
+            ListenerEntry<?>[] alive = new ListenerEntry<?>[current.length];
+            for (ListenerEntry<?> entry : current) {
+                if (entry.get() != null) alive[count++] = entry;
+            }
+            if (count == current.length) return;
+            updated = new ListenerEntry<?>[count];
+            System.arraycopy(alive, 0, updated, 0, count);
+        } while (!listeners.compareAndSet(current, updated));
+    }
+
+    private static final class ListenerEntry<T> {
+
+        private final T listener;
+        private final WeakReference<T> weakListener;
+        private final int priority;
+
+        private ListenerEntry(final T listener, final WeakReference<T> weakListener, final int priority) {
+            this.listener = listener;
+            this.weakListener = weakListener;
+            this.priority = priority;
+        }
+
+        private T get() {
+            return weakListener != null ? weakListener.get() : listener;
+        }
     }
 }
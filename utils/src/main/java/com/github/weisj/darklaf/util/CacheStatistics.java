@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.util;
+
+/**
+ * Immutable snapshot of the statistics of a cache.
+ *
+ * @author Jannis Weis
+ * @see    LRUCache#getStatistics()
+ */
+public final class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long size;
+    private final long weight;
+    private final long maximumWeight;
+
+    public CacheStatistics(final long hitCount, final long missCount, final long evictionCount,
+                           final long size, final long weight, final long maximumWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weight = weight;
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Combines the statistics of two caches.
+     *
+     * @param  other the other statistics.
+     * @return       the sum of both statistics.
+     */
+    public CacheStatistics plus(final CacheStatistics other) {
+        return new CacheStatistics(hitCount + other.hitCount, missCount + other.missCount,
+                                   evictionCount + other.evictionCount, size + other.size,
+                                   weight + other.weight, maximumWeight + other.maximumWeight);
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the ratio of requests which have been hits. If no requests have been made this is 1.
+     *
+     * @return the hit rate.
+     */
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount
+               + ", size=" + size + ", weight=" + weight + "/" + maximumWeight + "}";
+    }
+}
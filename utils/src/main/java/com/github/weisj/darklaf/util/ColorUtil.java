@@ -34,11 +34,23 @@ public final class ColorUtil {
     public static Color blendColors(final Color color1, final Color color2, final double percent) {
         if (percent == 1) return color1;
         if (percent == 0) return color2;
+        return new Color(blendColors(color1.getRGB(), color2.getRGB(), percent));
+    }
+
+    /**
+     * Blends the rgb values of two colors. The result is opaque.
+     *
+     * @param  rgb1    the first rgb value.
+     * @param  rgb2    the second rgb value.
+     * @param  percent the weight of the first color.
+     * @return         the blended rgb value.
+     */
+    public static int blendColors(final int rgb1, final int rgb2, final double percent) {
         double inverse_percent = 1.0 - percent;
-        int redPart = (int) (color1.getRed() * percent + color2.getRed() * inverse_percent);
-        int greenPart = (int) (color1.getGreen() * percent + color2.getGreen() * inverse_percent);
-        int bluePart = (int) (color1.getBlue() * percent + color2.getBlue() * inverse_percent);
-        return new Color(redPart, greenPart, bluePart);
+        int redPart = (int) (((rgb1 >> 16) & 0xFF) * percent + ((rgb2 >> 16) & 0xFF) * inverse_percent);
+        int greenPart = (int) (((rgb1 >> 8) & 0xFF) * percent + ((rgb2 >> 8) & 0xFF) * inverse_percent);
+        int bluePart = (int) ((rgb1 & 0xFF) * percent + (rgb2 & 0xFF) * inverse_percent);
+        return 0xFF000000 | (redPart << 16) | (greenPart << 8) | bluePart;
     }
 
     public static Color shift(final Color c, final double d) {
@@ -56,7 +68,18 @@ public final class ColorUtil {
 
     public static Color toAlpha(final Color color, final int a) {
         Color c = color != null ? color : Color.black;
-        return new Color(c.getRed(), c.getGreen(), c.getBlue(), Math.min(Math.max(0, a), 255));
+        return new Color(toAlpha(c.getRGB(), a), true);
+    }
+
+    /**
+     * Replaces the alpha channel of the rgb value.
+     *
+     * @param  rgb the rgb value.
+     * @param  a   the new alpha value. Clamped to [0,255].
+     * @return     the rgb value with the new alpha.
+     */
+    public static int toAlpha(final int rgb, final int a) {
+        return (rgb & 0x00FFFFFF) | (Math.min(Math.max(0, a), 255) << 24);
     }
 
     public static Color fromHex(final String str, final Color defaultValue) {
@@ -0,0 +1,287 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A thread safe cache which evicts the least recently used entries once the total weight of its entries exceeds the
+ * maximum weight. By default every entry has a weight of one i.e. the maximum weight is the maximum number of
+ * entries.
+ * <p>
+ * Values are computed outside of the lock of the cache. If two threads compute the value for the same key at the same
+ * time the value computed first is kept and returned to both.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ * @author    Jannis Weis
+ */
+public class LRUCache<K, V> {
+
+    private final Map<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+    private Weigher<? super K, ? super V> weigher;
+    private long maximumWeight;
+    private long weight;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a cache holding at most the given number of entries.
+     *
+     * @param maximumSize the maximum number of entries.
+     */
+    public LRUCache(final long maximumSize) {
+        this(maximumSize, null);
+    }
+
+    /**
+     * Creates a cache whose entries have at most the given total weight.
+     *
+     * @param maximumWeight the maximum total weight.
+     * @param weigher       the weigher for the entries. If null every entry has a weight of one.
+     */
+    public LRUCache(final long maximumWeight, final Weigher<? super K, ? super V> weigher) {
+        this.maximumWeight = checkWeight(maximumWeight);
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the value for the given key.
+     *
+     * @param  key the key.
+     * @return     the value or null if the key isn't present.
+     */
+    public synchronized V get(final K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * Returns the value for the given key without recording a hit or miss.
+     *
+     * @param  key the key.
+     * @return     the value or null if the key isn't present.
+     */
+    public synchronized V peek(final K key) {
+        Entry<V> entry = map.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Returns the value for the given key or computes and caches it if it isn't present.
+     *
+     * @param  key             the key.
+     * @param  mappingFunction the function computing the value.
+     * @return                 the value.
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value != null) return value;
+        V computed = mappingFunction.apply(key);
+        if (computed == null) return null;
+        return putIfAbsent(key, computed);
+    }
+
+    /**
+     * Puts the value into the cache if the key isn't present yet.
+     *
+     * @param  key   the key.
+     * @param  value the value.
+     * @return       the value present in the cache after this call.
+     */
+    public synchronized V putIfAbsent(final K key, final V value) {
+        Entry<V> entry = map.get(key);
+        if (entry != null) return entry.value;
+        if (value != null) insert(key, value);
+        return value;
+    }
+
+    /**
+     * Puts the value into the cache.
+     *
+     * @param key   the key.
+     * @param value the value.
+     */
+    public synchronized void put(final K key, final V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        insert(key, value);
+    }
+
+    /**
+     * Removes the value of the given key.
+     *
+     * @param  key the key.
+     * @return     the removed value or null if the key wasn't present.
+     */
+    public synchronized V remove(final K key) {
+        Entry<V> entry = map.remove(key);
+        if (entry == null) return null;
+        weight -= entry.weight;
+        return entry.value;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+    }
+
+    /**
+     * Sets the maximum total weight. Entries are evicted immediately if the current weight exceeds it.
+     *
+     * @param maximumWeight the maximum weight.
+     */
+    public synchronized void setMaximumWeight(final long maximumWeight) {
+        this.maximumWeight = checkWeight(maximumWeight);
+        evict();
+    }
+
+    /**
+     * Returns the maximum total weight.
+     *
+     * @return the maximum weight.
+     */
+    public synchronized long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Sets the weigher for the entries. Clears the cache as the weights of the present entries would be inconsistent
+     * otherwise.
+     *
+     * @param weigher the weigher. If null every entry has a weight of one.
+     */
+    public synchronized void setWeigher(final Weigher<? super K, ? super V> weigher) {
+        this.weigher = weigher;
+        clear();
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries.
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the total weight of all entries.
+     *
+     * @return the total weight.
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    /**
+     * Returns the current statistics of the cache.
+     *
+     * @return the statistics.
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, map.size(), weight, maximumWeight);
+    }
+
+    /**
+     * Resets the hit, miss and eviction counts.
+     */
+    public synchronized void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    private void insert(final K key, final V value) {
+        int entryWeight = weigher != null ? weigher.weigh(key, value) : 1;
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Negative weight " + entryWeight + " for key " + key);
+        }
+        Entry<V> old = map.put(key, new Entry<>(value, entryWeight));
+        if (old != null) weight -= old.weight;
+        weight += entryWeight;
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Entry<V>> iterator = map.values().iterator();
+        while (weight > maximumWeight && iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+            iterator.remove();
+            weight -= entry.weight;
+            evictionCount++;
+        }
+    }
+
+    private static long checkWeight(final long weight) {
+        if (weight < 0) throw new IllegalArgumentException("Maximum weight must not be negative: " + weight);
+        return weight;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final int weight;
+
+        private Entry(final V value, final int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Computes the weight of cache entries.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+
+        /**
+         * Returns the weight of the entry. The weight must not be negative and must not change while the entry is
+         * cached.
+         *
+         * @param  key   the key.
+         * @param  value the value.
+         * @return       the weight of the entry.
+         */
+        int weigh(K key, V value);
+    }
+}